@@ -0,0 +1,82 @@
+/*
+ *  ApplicationErrorMapping.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Maps the error code of an {@code ApplicationException} to the HTTP status of its response, and
+ * its severity to the level it is logged at.
+ *
+ * <p>Both tables are built once from the {@code wms.exception.application} properties and copied
+ * into immutable maps, so a lookup is a hash probe without locks nor allocation. Unknown or
+ * missing error codes and severities resolve to the configured defaults. Severities are matched as
+ * configured, upper case or lower case.
+ */
+public final class ApplicationErrorMapping {
+
+  private final HttpStatus defaultStatus;
+  private final Map<String, HttpStatus> statuses;
+  private final LogLevel defaultLogLevel;
+  private final Map<String, LogLevel> logLevels;
+
+  /**
+   * Creates the mapping from the given properties.
+   *
+   * @param application the application exception properties
+   * @throws IllegalArgumentException if a configured status is not a known HTTP status
+   */
+  public ApplicationErrorMapping(final ExceptionProperties.Application application) {
+    this.defaultStatus = HttpStatus.valueOf(application.getDefaultStatus());
+    final Map<String, HttpStatus> statusTable = new HashMap<>();
+    application
+        .getStatuses()
+        .forEach((errorCode, status) -> statusTable.put(errorCode, HttpStatus.valueOf(status)));
+    this.statuses = Map.copyOf(statusTable);
+    this.defaultLogLevel = application.getDefaultLogLevel();
+    final Map<String, LogLevel> logLevelTable = new HashMap<>();
+    application
+        .getLogLevels()
+        .forEach(
+            (severity, logLevel) -> {
+              logLevelTable.put(severity.toLowerCase(Locale.ROOT), logLevel);
+              logLevelTable.put(severity.toUpperCase(Locale.ROOT), logLevel);
+              logLevelTable.put(severity, logLevel);
+            });
+    this.logLevels = Map.copyOf(logLevelTable);
+  }
+
+  /**
+   * Returns the HTTP status of the response to an application exception.
+   *
+   * @param errorCode the error code of the exception, may be {@code null}
+   * @return the status mapped to the error code, or the default status
+   */
+  public HttpStatus getStatus(final String errorCode) {
+    if (errorCode == null) {
+      return defaultStatus;
+    }
+    return statuses.getOrDefault(errorCode, defaultStatus);
+  }
+
+  /**
+   * Returns the level an application exception is logged at.
+   *
+   * @param severity the severity of the exception, may be {@code null}
+   * @return the level mapped to the severity, or the default level
+   */
+  public LogLevel getLogLevel(final String severity) {
+    if (severity == null) {
+      return defaultLogLevel;
+    }
+    return logLevels.getOrDefault(severity, defaultLogLevel);
+  }
+}
@@ -0,0 +1,350 @@
+/*
+ *  DirectExceptionResolver.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms;
+
+import az.supplychain.wms.exceptions.ApplicationException;
+import az.supplychain.wms.exceptions.EntitiesNotFoundException;
+import az.supplychain.wms.exceptions.EntityNotFoundException;
+import az.supplychain.wms.response.ErrorResponseWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.ValidationException;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.NoHandlerFoundException;
+import org.springframework.web.servlet.handler.AbstractHandlerMethodExceptionResolver;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+
+/**
+ * Resolves the exceptions of the controllers by calling the handlers of the {@link
+ * RestApiExceptionHandler} directly, ahead of the {@code @ExceptionHandler} dispatch of Spring
+ * MVC. Enabled by the {@code wms.exception.resolver.direct} property.
+ *
+ * <p>Spring MVC resolves every exception by looking up the handler method of its class, resolving
+ * the arguments of the method, invoking it by reflection and writing the returned entity through
+ * content negotiation and the message converters. This resolver looks up the handler of an
+ * exception class once, with the same {@link ExceptionHandlerMethodResolver} rules, and caches it
+ * on the class through a {@link ClassValue}. The handler is bound to a lambda calling the method
+ * directly, and the returned entity is serialized by the {@link ErrorResponseWriter}.
+ *
+ * <p>The exceptions this resolver cannot answer exactly like Spring MVC are left to Spring MVC,
+ * which then resolves them as usual:
+ *
+ * <ul>
+ *   <li>the exceptions of controllers declaring their own {@code @ExceptionHandler} methods, and
+ *       of handlers which are not controller methods;
+ *   <li>the requests whose {@code Accept} header asks for anything else than {@code
+ *       application/json} or any type;
+ *   <li>the exceptions resolved to a handler method of a subclass of {@code
+ *       RestApiExceptionHandler}, or to a handler of {@link ResponseEntityExceptionHandler} not
+ *       overridden by {@code RestApiExceptionHandler};
+ *   <li>the exceptions rethrown by their handler, such as the security exceptions;
+ *   <li>the exceptions {@code RestApiExceptionHandler} has no handler for, which the advices of the
+ *       application may handle before the catch-all {@link UnexpectedExceptionHandler}.
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(
+    prefix = ExceptionProperties.PREFIX,
+    name = "resolver.direct",
+    havingValue = "true")
+@Slf4j
+public class DirectExceptionResolver extends AbstractHandlerMethodExceptionResolver {
+
+  /** The binding of the exception classes left to Spring MVC. */
+  private static final Binding UNBOUND = (handler, exception, request) -> null;
+
+  /** The bindings of the handler methods of RestApiExceptionHandler, by signature. */
+  private static final Map<String, Binding> BINDINGS = bindings();
+
+  private final RestApiExceptionHandler handler;
+
+  private final ErrorResponseWriter errorResponseWriter;
+
+  private final ExceptionHandlerMethodResolver methodResolver;
+
+  private final ClassValue<Binding> bindingsByClass =
+      new ClassValue<>() {
+        @Override
+        protected Binding computeValue(final Class<?> exceptionClass) {
+          return bind(exceptionClass);
+        }
+      };
+
+  private final ClassValue<Boolean> localExceptionHandlers =
+      new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(final Class<?> beanType) {
+          return new ExceptionHandlerMethodResolver(beanType).hasExceptionMappings();
+        }
+      };
+
+  /**
+   * Creates a resolver calling the handlers of the given exception handler.
+   *
+   * @param handler the exception handler of the application
+   * @param errorResponseWriter the writer of the error responses
+   */
+  public DirectExceptionResolver(
+      final RestApiExceptionHandler handler, final ErrorResponseWriter errorResponseWriter) {
+    this.handler = handler;
+    this.errorResponseWriter = errorResponseWriter;
+    this.methodResolver = new ExceptionHandlerMethodResolver(ClassUtils.getUserClass(handler));
+    setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+  }
+
+  /**
+   * Resolves the exception by calling its handler directly.
+   *
+   * <p>The method performs the following steps:
+   *
+   * <ol>
+   *   <li>Leaves the exception to Spring MVC if the controller declares its own exception
+   *       handlers, if its class is not bound to a handler, or if the request does not accept
+   *       JSON.
+   *   <li>Calls the handler bound to the class of the exception.
+   *   <li>Leaves the exception to Spring MVC if the handler throws, logging the failure unless
+   *       the handler rethrew the exception or its cause, like Spring MVC does.
+   *   <li>Writes the headers, status and body of the returned entity to the response, unless the
+   *       handler already wrote the response and returned no entity.
+   * </ol>
+   *
+   * @param request the current request
+   * @param response the current response
+   * @param handlerMethod the controller method that threw the exception, if any
+   * @param exception the exception to resolve
+   * @return an empty ModelAndView if the exception was resolved, {@code null} otherwise
+   */
+  @Override
+  @Nullable
+  protected ModelAndView doResolveHandlerMethodException(
+      final HttpServletRequest request,
+      final HttpServletResponse response,
+      @Nullable final HandlerMethod handlerMethod,
+      final Exception exception) {
+    if (handlerMethod != null && localExceptionHandlers.get(handlerMethod.getBeanType())) {
+      return null;
+    }
+    final Binding binding = bindingsByClass.get(exception.getClass());
+    if (binding == UNBOUND || !acceptsJson(request)) {
+      return null;
+    }
+    try {
+      final ResponseEntity<Object> entity =
+          binding.handle(handler, exception, new ServletWebRequest(request, response));
+      if (entity != null) {
+        write(response, entity);
+      }
+    } catch (Exception handlerException) {
+      if (handlerException != exception && handlerException != exception.getCause()) {
+        log.warn(
+            "Failure in the exception handler of {}",
+            exception.getClass().getName(),
+            handlerException);
+      }
+      return null;
+    }
+    return new ModelAndView();
+  }
+
+  /**
+   * Looks up the handler method of an exception class with the rules of Spring MVC, and returns
+   * its binding.
+   */
+  private Binding bind(final Class<?> exceptionClass) {
+    if (!Throwable.class.isAssignableFrom(exceptionClass)) {
+      return UNBOUND;
+    }
+    final Method method =
+        methodResolver.resolveMethodByExceptionType(exceptionClass.asSubclass(Throwable.class));
+    if (method == null) {
+      return UNBOUND;
+    }
+    if (method.getDeclaringClass() == ResponseEntityExceptionHandler.class) {
+      return bindStandardException(exceptionClass);
+    }
+    if (method.getDeclaringClass() != RestApiExceptionHandler.class) {
+      return UNBOUND;
+    }
+    return BINDINGS.getOrDefault(signature(method), UNBOUND);
+  }
+
+  /**
+   * Returns the binding of an exception class resolved to {@code handleException}, which calls the
+   * handler of the first type the class is assignable to, in the order of {@code handleException},
+   * with the headers and status it passes.
+   */
+  private static Binding bindStandardException(final Class<?> exceptionClass) {
+    if (HttpMediaTypeNotSupportedException.class.isAssignableFrom(exceptionClass)) {
+      return (handler, exception, request) -> {
+        final HttpMediaTypeNotSupportedException ex =
+            (HttpMediaTypeNotSupportedException) exception;
+        return handler.handleHttpMediaTypeNotSupported(
+            ex, ex.getHeaders(), ex.getStatusCode(), request);
+      };
+    }
+    if (MissingServletRequestParameterException.class.isAssignableFrom(exceptionClass)) {
+      return (handler, exception, request) -> {
+        final MissingServletRequestParameterException ex =
+            (MissingServletRequestParameterException) exception;
+        return handler.handleMissingServletRequestParameter(
+            ex, ex.getHeaders(), ex.getStatusCode(), request);
+      };
+    }
+    if (MethodArgumentNotValidException.class.isAssignableFrom(exceptionClass)) {
+      return (handler, exception, request) -> {
+        final MethodArgumentNotValidException ex = (MethodArgumentNotValidException) exception;
+        return handler.handleMethodArgumentNotValid(
+            ex, ex.getHeaders(), ex.getStatusCode(), request);
+      };
+    }
+    if (NoHandlerFoundException.class.isAssignableFrom(exceptionClass)) {
+      return (handler, exception, request) -> {
+        final NoHandlerFoundException ex = (NoHandlerFoundException) exception;
+        return handler.handleNoHandlerFoundException(
+            ex, ex.getHeaders(), ex.getStatusCode(), request);
+      };
+    }
+    if (HttpMessageNotReadableException.class.isAssignableFrom(exceptionClass)) {
+      return (handler, exception, request) ->
+          handler.handleHttpMessageNotReadable(
+              (HttpMessageNotReadableException) exception,
+              new HttpHeaders(),
+              HttpStatus.BAD_REQUEST,
+              request);
+    }
+    if (HttpMessageNotWritableException.class.isAssignableFrom(exceptionClass)) {
+      return (handler, exception, request) ->
+          handler.handleHttpMessageNotWritable(
+              (HttpMessageNotWritableException) exception,
+              new HttpHeaders(),
+              HttpStatus.INTERNAL_SERVER_ERROR,
+              request);
+    }
+    return UNBOUND;
+  }
+
+  /** Binds the {@code @ExceptionHandler} methods of RestApiExceptionHandler. */
+  private static Map<String, Binding> bindings() {
+    final Map<String, Binding> bindings = new HashMap<>();
+    bindings.put(
+        signature("handleValidationException", ValidationException.class),
+        (handler, exception, request) ->
+            handler.handleValidationException((ValidationException) exception, request));
+    bindings.put(
+        signature("handleConstraintViolation", ConstraintViolationException.class),
+        (handler, exception, request) ->
+            handler.handleConstraintViolation((ConstraintViolationException) exception, request));
+    bindings.put(
+        signature("handleEntityNotFound", EntityNotFoundException.class),
+        (handler, exception, request) ->
+            handler.handleEntityNotFound((EntityNotFoundException) exception, request));
+    bindings.put(
+        signature("handleEntitiesNotFound", EntitiesNotFoundException.class),
+        (handler, exception, request) ->
+            handler.handleEntitiesNotFound((EntitiesNotFoundException) exception, request));
+    bindings.put(
+        signature("handleApplicationException", ApplicationException.class),
+        (handler, exception, request) ->
+            handler.handleApplicationException((ApplicationException) exception, request));
+    bindings.put(
+        signature("handleEntityNotFound", jakarta.persistence.EntityNotFoundException.class),
+        (handler, exception, request) ->
+            handler.handleEntityNotFound(
+                (jakarta.persistence.EntityNotFoundException) exception, request));
+    bindings.put(
+        signature("handleDataIntegrityViolation", DataIntegrityViolationException.class),
+        (handler, exception, request) ->
+            handler.handleDataIntegrityViolation(
+                (DataIntegrityViolationException) exception, request));
+    bindings.put(
+        signature("handleMethodArgumentTypeMismatch", MethodArgumentTypeMismatchException.class),
+        (handler, exception, request) ->
+            handler.handleMethodArgumentTypeMismatch(
+                (MethodArgumentTypeMismatchException) exception, request));
+    return Map.copyOf(bindings);
+  }
+
+  private static String signature(final Method method) {
+    return method.getName() + Arrays.toString(method.getParameterTypes());
+  }
+
+  private static String signature(final String name, final Class<?> exceptionClass) {
+    return name + Arrays.toString(new Class<?>[] {exceptionClass, WebRequest.class});
+  }
+
+  /**
+   * Returns whether the response may be written as {@code application/json} the way Spring MVC
+   * would: the request has no {@code Accept} header, or only accepts {@code application/json} or
+   * any type, without parameters such as a quality.
+   */
+  private static boolean acceptsJson(final HttpServletRequest request) {
+    final Enumeration<String> accept = request.getHeaders(HttpHeaders.ACCEPT);
+    if (accept == null) {
+      return true;
+    }
+    while (accept.hasMoreElements()) {
+      for (String mediaType : StringUtils.tokenizeToStringArray(accept.nextElement(), ",")) {
+        if (!mediaType.equals(MediaType.ALL_VALUE)
+            && !mediaType.equalsIgnoreCase(MediaType.APPLICATION_JSON_VALUE)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /** Writes the headers, status and body of the entity returned by a handler. */
+  private void write(final HttpServletResponse response, final ResponseEntity<Object> entity)
+      throws IOException {
+    entity
+        .getHeaders()
+        .forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+    final Object body = entity.getBody();
+    if (body == null) {
+      response.setStatus(entity.getStatusCode().value());
+      return;
+    }
+    errorResponseWriter.write(response, entity.getStatusCode().value(), body);
+  }
+
+  /** A handler method of RestApiExceptionHandler, bound to the exceptions it handles. */
+  @FunctionalInterface
+  private interface Binding {
+
+    ResponseEntity<Object> handle(
+        RestApiExceptionHandler handler, Exception exception, WebRequest request) throws Exception;
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ *  ErrorTimestampSource.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms;
+
+import java.time.Instant;
+import java.time.InstantSource;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Source of the formatted UTC timestamps included in the error responses.
+ *
+ * <p>The time is read from an {@link InstantSource}, the system clock unless an {@code
+ * InstantSource} bean is defined, which makes the timestamps deterministic in tests. Since the
+ * timestamps have a millisecond precision, the last formatted timestamp is cached together with
+ * its millisecond: every error handled within the same millisecond reuses the same string. The
+ * cache is an immutable holder published through a volatile field, so reading it never takes a
+ * lock; concurrent misses may format the same millisecond twice, which is harmless.
+ */
+@Component
+public class ErrorTimestampSource {
+
+  private final InstantSource instantSource;
+
+  private volatile CachedTimestamp cachedTimestamp = new CachedTimestamp(Long.MIN_VALUE, null);
+
+  /** Creates a timestamp source reading the system clock. */
+  public ErrorTimestampSource() {
+    this(InstantSource.system());
+  }
+
+  /**
+   * Creates a timestamp source reading the given instant source.
+   *
+   * @param instantSource the source of the current instant
+   */
+  public ErrorTimestampSource(final InstantSource instantSource) {
+    this.instantSource = instantSource;
+  }
+
+  /**
+   * Creates a timestamp source reading the application's instant source, or the system clock if
+   * there is none.
+   *
+   * @param instantSource the application's instant source
+   */
+  @Autowired
+  public ErrorTimestampSource(final ObjectProvider<InstantSource> instantSource) {
+    this(instantSource.getIfUnique(InstantSource::system));
+  }
+
+  /**
+   * Returns the current time in UTC, formatted with {@link RestApiExceptionHandler#dateFormatter}.
+   *
+   * @return the formatted current timestamp
+   */
+  public String now() {
+    final long millis = instantSource.millis();
+    final CachedTimestamp current = cachedTimestamp;
+    if (current.millis == millis) {
+      return current.formatted;
+    }
+    final String formatted =
+        OffsetDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC)
+            .format(RestApiExceptionHandler.dateFormatter);
+    cachedTimestamp = new CachedTimestamp(millis, formatted);
+    return formatted;
+  }
+
+  /** A formatted timestamp and the millisecond it was formatted for. */
+  private static final class CachedTimestamp {
+
+    private final long millis;
+    private final String formatted;
+
+    private CachedTimestamp(final long millis, final String formatted) {
+      this.millis = millis;
+      this.formatted = formatted;
+    }
+  }
+}
@@ -6,6 +6,7 @@
  */
 package az.supplychain.wms;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
@@ -19,8 +20,12 @@ import org.springframework.context.annotation.Configuration;
  *
  * <p>This configuration class is typically used to enable the automatic detection of components, such as
  * exception handlers or related classes, through component scanning.
+ *
+ * <p>The {@code @EnableConfigurationProperties} annotation registers {@link ExceptionProperties},
+ * which binds the {@code wms.exception.*} properties used to tune the exception handling.
  */
 @Configuration
 @ComponentScan
+@EnableConfigurationProperties(ExceptionProperties.class)
 public class ExceptionConfig {
 }
@@ -0,0 +1,252 @@
+/*
+ *  ExceptionProperties.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms;
+
+import az.supplychain.wms.exceptions.StackTracePolicy;
+import az.supplychain.wms.sanitizer.SensitiveDataMasker;
+import az.supplychain.wms.validation.RejectedValueRenderer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.logging.LogLevel;
+
+/**
+ * Configuration properties of the exception handling library, bound to the {@value #PREFIX}
+ * prefix.
+ *
+ * <p>Most properties default to the behaviour of the library before it became configurable, so
+ * services only need to declare the properties they want to change. The exceptions are {@code
+ * sanitizer.max-message-bytes}, which truncates the messages longer than 8 KiB, and {@code
+ * heavy-hitters.enabled} and {@code telemetry.latency-histograms}, which track the handled errors
+ * in memory; setting them to {@code 0}, {@code false} and {@code false} restores the former
+ * behaviour. The README lists these changes.
+ */
+@Data
+@ConfigurationProperties(prefix = ExceptionProperties.PREFIX)
+public class ExceptionProperties {
+
+  public static final String PREFIX = "wms.exception";
+
+  /**
+   * Whether the exceptions of the library capture their stack trace when created without an
+   * explicit policy. Defaults to the {@code wms.exception.stack-traces} system property, or
+   * capture.
+   */
+  private StackTracePolicy stackTraces = StackTracePolicy.getDefault();
+
+  /** Rules used to mask sensitive information in error messages. */
+  private final Sanitizer sanitizer = new Sanitizer();
+
+  /** Rendering of the error responses. */
+  private final Rendering rendering = new Rendering();
+
+  /** Details of the validation errors. */
+  private final Validation validation = new Validation();
+
+  /** Responses to the application exceptions. */
+  private final Application application = new Application();
+
+  /** Logging of the unexpected exceptions. */
+  private final Unexpected unexpected = new Unexpected();
+
+  /** Responses to the entities not found. */
+  private final NotFound notFound = new NotFound();
+
+  /** Tracking of the most frequent errors. */
+  private final HeavyHitters heavyHitters = new HeavyHitters();
+
+  /** Detection of the error storms. */
+  private final Storm storm = new Storm();
+
+  /** Resolution of the exceptions to their handlers. */
+  private final Resolver resolver = new Resolver();
+
+  /** Telemetry of the handled errors. */
+  private final Telemetry telemetry = new Telemetry();
+
+  /** Sensitive data masking rules, bound to {@code wms.exception.sanitizer}. */
+  @Data
+  public static class Sanitizer {
+
+    public static final String PREFIX = ExceptionProperties.PREFIX + ".sanitizer";
+
+    /** Keywords identifying a line of an error message as sensitive. */
+    private List<String> keywords = new ArrayList<>(SensitiveDataMasker.DEFAULT_KEYWORDS);
+
+    /**
+     * Maximum size, in UTF-8 bytes, of an error message before it is scanned. Longer messages are
+     * truncated first; zero or a negative value disables the truncation.
+     */
+    private int maxMessageBytes = 8192;
+  }
+
+  /** Rendering of the error responses, bound to {@code wms.exception.rendering}. */
+  @Data
+  public static class Rendering {
+
+    /**
+     * Whether errors without details are written from pre-encoded templates straight to the
+     * servlet response instead of going through a ResponseEntity and Jackson.
+     */
+    private boolean precompiledTemplates = false;
+
+    /**
+     * Whether only the root of a validation error carries the generic properties, its details
+     * holding only their code and message.
+     */
+    private boolean compactDetails = false;
+  }
+
+  /** Details of the validation errors, bound to {@code wms.exception.validation}. */
+  @Data
+  public static class Validation {
+
+    /**
+     * Maximum number of details of a validation error. The errors beyond it are summarized by a
+     * last "truncated: N more" detail; zero or a negative value disables the limit.
+     */
+    private int maxDetails = 0;
+
+    /**
+     * Whether errors on the same field, subscripts aside, with the same message are grouped into a
+     * single detail listing their subscripts.
+     */
+    private boolean groupDetails = false;
+
+    /**
+     * Maximum number of characters of a rejected value in a validation message. Longer values are
+     * cut and suffixed with "..."; zero or a negative value disables the limit.
+     */
+    private int maxRejectedValueLength = RejectedValueRenderer.DEFAULT_MAX_LENGTH;
+  }
+
+  /** Responses to the application exceptions, bound to {@code wms.exception.application}. */
+  @Data
+  public static class Application {
+
+    /** HTTP status of the application exceptions whose error code is not mapped. */
+    private int defaultStatus = 400;
+
+    /** HTTP status of the application exceptions, by error code. */
+    private Map<String, Integer> statuses = new LinkedHashMap<>();
+
+    /** Level the application exceptions whose severity is not mapped are logged at. */
+    private LogLevel defaultLogLevel = LogLevel.DEBUG;
+
+    /** Level the application exceptions are logged at, by severity. */
+    private Map<String, LogLevel> logLevels = new LinkedHashMap<>();
+  }
+
+  /** Logging of the unexpected exceptions, bound to {@code wms.exception.unexpected}. */
+  @Data
+  public static class Unexpected {
+
+    /**
+     * Number of stack traces logged per fingerprint and window. The other occurrences of the
+     * fingerprint in the window are only counted.
+     */
+    private int stackTracesPerWindow = 5;
+
+    /** Length of the window the stack traces are limited over. */
+    private Duration window = Duration.ofMinutes(1);
+
+    /**
+     * Number of top frames of the exception and of each of its causes hashed into its fingerprint.
+     */
+    private int fingerprintFrames = 5;
+
+    /**
+     * Maximum number of fingerprints limited and aggregated separately. Beyond it, the other
+     * fingerprints share a single limit, and the least recently seen aggregates are evicted.
+     */
+    private int maxFingerprints = 1024;
+  }
+
+  /**
+   * Tracking of the most frequent error messages, endpoints and sources, bound to {@code
+   * wms.exception.heavy-hitters}.
+   */
+  @Data
+  public static class HeavyHitters {
+
+    /** Whether the most frequent errors are tracked. */
+    private boolean enabled = true;
+
+    /** Number of messages, endpoints and sources counted per slot of the window. */
+    private int capacity = 32;
+
+    /** Length of the sliding window the errors are counted over. */
+    private Duration window = Duration.ofMinutes(10);
+
+    /** Number of slots the window is divided into; the window slides by whole slots. */
+    private int slots = 10;
+
+    /** Request header identifying the source of a request. */
+    private String sourceHeader = "User-Agent";
+  }
+
+  /**
+   * Detection of the error storms, during which errors are answered with minimal bodies, bound to
+   * {@code wms.exception.storm}.
+   */
+  @Data
+  public static class Storm {
+
+    /** Whether the error storms are detected. */
+    private boolean enabled = false;
+
+    /** Average error rate, per second, from which errors are answered with minimal bodies. */
+    private double enterRate = 1000;
+
+    /** Average error rate, per second, below which errors are answered in full again. */
+    private double exitRate = 500;
+
+    /** Interval the error rate is sampled at. */
+    private Duration interval = Duration.ofSeconds(1);
+
+    /** Time constant of the moving average of the error rate. */
+    private Duration averagingWindow = Duration.ofSeconds(10);
+  }
+
+  /** Resolution of the exceptions to their handlers, bound to {@code wms.exception.resolver}. */
+  @Data
+  public static class Resolver {
+
+    /**
+     * Whether the exceptions are resolved to the handlers of {@code RestApiExceptionHandler} by
+     * the {@code DirectExceptionResolver}, which caches the handler of every exception class and
+     * calls it without reflection, instead of the {@code @ExceptionHandler} dispatch of Spring MVC.
+     */
+    private boolean direct = false;
+  }
+
+  /** Responses to the entities not found, bound to {@code wms.exception.not-found}. */
+  @Data
+  public static class NotFound {
+
+    /**
+     * HTTP status of the response to an {@code EntitiesNotFoundException}, 404 (Not Found) or 207
+     * (Multi-Status); every miss is listed as a 404 detail either way.
+     */
+    private int bulkStatus = 404;
+  }
+
+  /** Telemetry of the handled errors, bound to {@code wms.exception.telemetry}. */
+  @Data
+  public static class Telemetry {
+
+    /**
+     * Whether the latency of every handler is recorded into a histogram. When disabled, the
+     * handlers do not read the clock.
+     */
+    private boolean latencyHistograms = true;
+  }
+}
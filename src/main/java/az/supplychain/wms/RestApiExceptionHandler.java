@@ -8,8 +8,25 @@ package az.supplychain.wms;
 
 import az.it.boot.web.api.WebApiError;
 import az.it.boot.web.api.WebApiErrorResponse;
+import az.supplychain.wms.exceptions.ApplicationException;
+import az.supplychain.wms.exceptions.EntitiesNotFoundException;
 import az.supplychain.wms.exceptions.EntityNotFoundException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import az.supplychain.wms.logging.SanitizedStackTrace;
+import az.supplychain.wms.logging.StackTraceFingerprinter;
+import az.supplychain.wms.logging.StackTraceLogLimiter;
+import az.supplychain.wms.message.MessageTemplate;
+import az.supplychain.wms.response.ErrorResponseTemplates;
+import az.supplychain.wms.response.ErrorResponseWriter;
+import az.supplychain.wms.sanitizer.SensitiveDataMasker;
+import az.supplychain.wms.sanitizer.SensitiveDataSanitizer;
+import az.supplychain.wms.telemetry.ErrorCounters;
+import az.supplychain.wms.telemetry.ErrorFingerprints;
+import az.supplychain.wms.telemetry.ErrorHeavyHitters;
+import az.supplychain.wms.telemetry.ErrorStormDetector;
+import az.supplychain.wms.telemetry.ErrorTrace;
+import az.supplychain.wms.telemetry.HandlerLatencies;
+import az.supplychain.wms.validation.RejectedValueRenderer;
+import az.supplychain.wms.validation.ValidationDetails;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -18,8 +35,6 @@ import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.ValidationException;
 
 import java.io.IOException;
-import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -28,7 +43,10 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.logging.LogLevel;
 import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.Order;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpHeaders;
@@ -48,8 +66,11 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.NoHandlerFoundException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
@@ -59,10 +80,22 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
  * <p>This class is annotated with {@code @ControllerAdvice} to indicate that it provides
  * centralized exception handling for all controllers. The
  * {@code @Order(Ordered.HIGHEST_PRECEDENCE)} annotation specifies the order in which the handler
- * should be executed, with the highest precedence.
+ * should be executed, with the highest precedence. The exceptions it has no handler for are left
+ * to the other advices, the last one being the catch-all {@link UnexpectedExceptionHandler}.
  *
  * <p>This class extends {@code ResponseEntityExceptionHandler}, which is a convenient base class
  * for handling exceptions and providing standardized responses in a RESTful manner.
+ *
+ * <p>Every handled error is counted by {@link ErrorCounters} and, by message, endpoint and source,
+ * by {@link ErrorHeavyHitters}, timed by {@link HandlerLatencies} unless disabled, and traced as
+ * a {@code wms.ErrorHandled} Flight Recorder event while a recording enables it, see {@link
+ * ErrorTrace}. For the handlers returning a ResponseEntity, the time covers building the response
+ * body; its serialization by Spring MVC happens after the handler returns. A handler throwing is
+ * still counted, timed and traced, with an INTERNAL_SERVER_ERROR status.
+ *
+ * <p>When enabled, the {@link ErrorStormDetector} tracks the error rate; while it reports an error
+ * storm, every handler answers a minimal body holding only the code and correlation ID of the
+ * error, skipping the messages, their sanitization and the details.
  */
 @Order(Ordered.HIGHEST_PRECEDENCE)
 @ControllerAdvice
@@ -73,10 +106,130 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
   public static final String TIMESTAMP_KEY = "timestamp";
   public static final String CORRELATION_ID_KEY = "correlationId";
   public static final String CORRELATION_ID_HEADER = "Correlation-Id";
+  public static final String ENTITY_KEY = "entity";
+  public static final String PARAM_KEY_PREFIX = "param.";
   static final DateTimeFormatter dateFormatter =
       DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
 
-  private final ObjectMapper objectMapper = new ObjectMapper();
+  private static final String UNEXPECTED_ERROR_MESSAGE =
+      "An unexpected error occurred, please contact support with the correlation id";
+  private static final MessageTemplate NO_HANDLER_FOUND_MESSAGE =
+      MessageTemplate.compile("Could not find the {} method for URL {}: {}");
+  private static final MessageTemplate TYPE_MISMATCH_MESSAGE =
+      MessageTemplate.compile(
+          "The parameter '{}' of value '{}' could not be converted to type '{}': {}");
+  private static final MessageTemplate INVALID_FIELD_MESSAGE =
+      MessageTemplate.compile("Invalid value {} on field {} for object {}: {}.");
+  private static final MessageTemplate INVALID_FIELDS_MESSAGE =
+      MessageTemplate.compile("Invalid values on field {} for object {} at {}: {}.");
+
+  private final SensitiveDataSanitizer sensitiveDataSanitizer;
+
+  private final ErrorResponseWriter errorResponseWriter;
+
+  private final ErrorTimestampSource errorTimestampSource;
+
+  private final ErrorCounters errorCounters;
+
+  private final HandlerLatencies handlerLatencies;
+
+  private final ErrorFingerprints errorFingerprints;
+
+  private final ErrorHeavyHitters errorHeavyHitters;
+
+  private final ErrorStormDetector errorStormDetector;
+
+  private final StackTraceLogLimiter stackTraceLogLimiter;
+
+  private final ErrorResponseTemplates errorResponseTemplates;
+
+  private final ErrorResponseTemplates stormResponseTemplates;
+
+  private final boolean compactDetails;
+
+  private final int maxDetails;
+
+  private final boolean groupDetails;
+
+  private final RejectedValueRenderer rejectedValueRenderer;
+
+  private final HttpStatus bulkNotFoundStatus;
+
+  private final ApplicationErrorMapping applicationErrorMapping;
+
+  /** Creates a handler with the default configuration. */
+  public RestApiExceptionHandler() {
+    this(
+        new SensitiveDataSanitizer(),
+        new ErrorResponseWriter(),
+        new ErrorTimestampSource(),
+        new ErrorCounters(),
+        new HandlerLatencies(),
+        new ErrorFingerprints(),
+        new ErrorHeavyHitters(),
+        new ErrorStormDetector(),
+        new StackTraceLogLimiter(),
+        new ExceptionProperties());
+  }
+
+  /**
+   * Creates a handler masking sensitive data with the given sanitizer.
+   *
+   * @param sensitiveDataSanitizer the sanitizer applied to every exception message
+   * @param errorResponseWriter the writer of the security error responses
+   * @param errorTimestampSource the source of the error timestamps
+   * @param errorCounters the counters of the handled errors
+   * @param handlerLatencies the latency histograms of the handlers
+   * @param errorFingerprints the statistics of the unexpected exceptions by fingerprint
+   * @param errorHeavyHitters the most frequent error messages, endpoints and sources
+   * @param errorStormDetector the detector of the error storms
+   * @param stackTraceLogLimiter the limiter of the stack traces logged for unexpected exceptions
+   * @param properties the exception handling properties
+   */
+  @Autowired
+  public RestApiExceptionHandler(
+      final SensitiveDataSanitizer sensitiveDataSanitizer,
+      final ErrorResponseWriter errorResponseWriter,
+      final ErrorTimestampSource errorTimestampSource,
+      final ErrorCounters errorCounters,
+      final HandlerLatencies handlerLatencies,
+      final ErrorFingerprints errorFingerprints,
+      final ErrorHeavyHitters errorHeavyHitters,
+      final ErrorStormDetector errorStormDetector,
+      final StackTraceLogLimiter stackTraceLogLimiter,
+      final ExceptionProperties properties) {
+    this.sensitiveDataSanitizer = sensitiveDataSanitizer;
+    this.errorResponseWriter = errorResponseWriter;
+    this.errorTimestampSource = errorTimestampSource;
+    this.errorCounters = errorCounters;
+    this.handlerLatencies = handlerLatencies;
+    this.errorFingerprints = errorFingerprints;
+    this.errorHeavyHitters = errorHeavyHitters;
+    this.errorStormDetector = errorStormDetector;
+    this.stackTraceLogLimiter = stackTraceLogLimiter;
+    this.compactDetails = properties.getRendering().isCompactDetails();
+    this.maxDetails = properties.getValidation().getMaxDetails();
+    this.groupDetails = properties.getValidation().isGroupDetails();
+    this.rejectedValueRenderer =
+        new RejectedValueRenderer(properties.getValidation().getMaxRejectedValueLength());
+    this.applicationErrorMapping = new ApplicationErrorMapping(properties.getApplication());
+    this.bulkNotFoundStatus = HttpStatus.valueOf(properties.getNotFound().getBulkStatus());
+    if (bulkNotFoundStatus != HttpStatus.NOT_FOUND
+        && bulkNotFoundStatus != HttpStatus.MULTI_STATUS) {
+      throw new IllegalArgumentException(
+          ExceptionProperties.PREFIX + ".not-found.bulk-status must be 404 or 207");
+    }
+    this.errorResponseTemplates =
+        properties.getRendering().isPrecompiledTemplates()
+            ? ErrorResponseTemplates.compile(
+                errorResponseWriter.getObjectWriter(), this::createErrorResponseBody)
+            : null;
+    this.stormResponseTemplates =
+        errorStormDetector.isEnabled()
+            ? ErrorResponseTemplates.compile(
+                errorResponseWriter.getObjectWriter(), this::createStormResponseBody)
+            : null;
+  }
 
   /**
    * Handles the MissingServletRequestParameterException that occurs when a required request
@@ -108,11 +261,34 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
       final HttpHeaders headers,
       final HttpStatusCode status,
       final WebRequest request) {
-    final String error = ex.getParameterName() + " parameter is missing";
     String correlationId = request.getHeader(CORRELATION_ID_HEADER);
-    HttpStatus httpStatusCode = HttpStatus.BAD_REQUEST;
-    WebApiError webApiError = buildWebApiError(error, httpStatusCode, correlationId, null);
-    return buildResponseEntity(webApiError, httpStatusCode);
+    final long start = startError();
+    try {
+      HttpStatus httpStatusCode = HttpStatus.BAD_REQUEST;
+      if (errorStormDetector.recordError()) {
+        return buildStormResponse(
+            ex,
+            "handleMissingServletRequestParameter",
+            httpStatusCode,
+            correlationId,
+            start,
+            request);
+      }
+      final String error = ex.getParameterName() + " parameter is missing";
+      final ResponseEntity<Object> response =
+          buildErrorResponse(error, httpStatusCode, correlationId, request);
+      recordError(
+          ex,
+          "handleMissingServletRequestParameter",
+          httpStatusCode,
+          correlationId,
+          start,
+          request);
+      return response;
+    } catch (final Exception failure) {
+      recordFailure(ex, "handleMissingServletRequestParameter", correlationId, start);
+      throw failure;
+    }
   }
 
   /**
@@ -147,15 +323,28 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
       final HttpHeaders headers,
       final HttpStatusCode status,
       final WebRequest request) {
-    final StringBuilder stringBuilder = new StringBuilder();
-    stringBuilder.append(ex.getContentType());
-    stringBuilder.append(" media type is not supported. Supported media types are ");
-    ex.getSupportedMediaTypes().forEach(t -> stringBuilder.append(t).append(", "));
     String correlationId = request.getHeader(CORRELATION_ID_HEADER);
-    HttpStatus httpStatusCode = HttpStatus.UNSUPPORTED_MEDIA_TYPE;
-    String errorMessage = stringBuilder.substring(0, stringBuilder.length() - 2);
-    WebApiError webApiError = buildWebApiError(errorMessage, httpStatusCode, correlationId, null);
-    return buildResponseEntity(webApiError, httpStatusCode);
+    final long start = startError();
+    try {
+      HttpStatus httpStatusCode = HttpStatus.UNSUPPORTED_MEDIA_TYPE;
+      if (errorStormDetector.recordError()) {
+        return buildStormResponse(
+            ex, "handleHttpMediaTypeNotSupported", httpStatusCode, correlationId, start, request);
+      }
+      final StringBuilder stringBuilder = new StringBuilder();
+      stringBuilder.append(ex.getContentType());
+      stringBuilder.append(" media type is not supported. Supported media types are ");
+      ex.getSupportedMediaTypes().forEach(t -> stringBuilder.append(t).append(", "));
+      String errorMessage = stringBuilder.substring(0, stringBuilder.length() - 2);
+      final ResponseEntity<Object> response =
+          buildErrorResponse(errorMessage, httpStatusCode, correlationId, request);
+      recordError(
+          ex, "handleHttpMediaTypeNotSupported", httpStatusCode, correlationId, start, request);
+      return response;
+    } catch (final Exception failure) {
+      recordFailure(ex, "handleHttpMediaTypeNotSupported", correlationId, start);
+      throw failure;
+    }
   }
 
   /**
@@ -190,16 +379,30 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
       final HttpStatusCode status,
       final WebRequest webRequest) {
     String correlationId = webRequest.getHeader(CORRELATION_ID_HEADER);
-    HttpStatus httpStatusCode = HttpStatus.BAD_REQUEST;
-    final String errorMessage = "Validation error";
-    List<WebApiError> webApiErrors = null;
-    if (ex.getBindingResult() != null && ex.getBindingResult().getFieldErrors() != null) {
-      webApiErrors =
-          getApiErrorsFromFieldErrors(ex.getBindingResult().getFieldErrors(), correlationId);
+    final long start = startError();
+    try {
+      HttpStatus httpStatusCode = HttpStatus.BAD_REQUEST;
+      if (errorStormDetector.recordError()) {
+        return buildStormResponse(
+            ex, "handleMethodArgumentNotValid", httpStatusCode, correlationId, start, webRequest);
+      }
+      final String errorMessage = "Validation error";
+      final Map<String, String> genericProperties = getGenericErrorProperties(correlationId);
+      List<WebApiError> webApiErrors = null;
+      if (ex.getBindingResult() != null && ex.getBindingResult().getFieldErrors() != null) {
+        webApiErrors =
+            getApiErrorsFromFieldErrors(ex.getBindingResult().getFieldErrors(), genericProperties);
+      }
+      WebApiError webApiError =
+          buildWebApiError(errorMessage, httpStatusCode, genericProperties, webApiErrors);
+      final ResponseEntity<Object> response = buildResponseEntity(webApiError, httpStatusCode);
+      recordError(
+          ex, "handleMethodArgumentNotValid", httpStatusCode, correlationId, start, webRequest);
+      return response;
+    } catch (final Exception failure) {
+      recordFailure(ex, "handleMethodArgumentNotValid", correlationId, start);
+      throw failure;
     }
-    WebApiError webApiError =
-        buildWebApiError(errorMessage, httpStatusCode, correlationId, webApiErrors);
-    return buildResponseEntity(webApiError, httpStatusCode);
   }
 
   /**
@@ -227,11 +430,23 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
   protected ResponseEntity<Object> handleValidationException(
       final ValidationException ex, final WebRequest webRequest) {
     String correlationId = webRequest.getHeader(CORRELATION_ID_HEADER);
-    HttpStatus httpStatusCode = HttpStatus.BAD_REQUEST;
-    WebApiError webApiError =
-        buildWebApiError(
-            sanitizeErrorMessage(ex.getMessage()), httpStatusCode, correlationId, null);
-    return buildResponseEntity(webApiError, httpStatusCode);
+    final long start = startError();
+    try {
+      HttpStatus httpStatusCode = HttpStatus.BAD_REQUEST;
+      if (errorStormDetector.recordError()) {
+        return buildStormResponse(
+            ex, "handleValidationException", httpStatusCode, correlationId, start, webRequest);
+      }
+      final ResponseEntity<Object> response =
+          buildErrorResponse(
+              sanitizeErrorMessage(ex.getMessage()), httpStatusCode, correlationId, webRequest);
+      recordError(
+          ex, "handleValidationException", httpStatusCode, correlationId, start, webRequest);
+      return response;
+    } catch (final Exception failure) {
+      recordFailure(ex, "handleValidationException", correlationId, start);
+      throw failure;
+    }
   }
 
   /**
@@ -261,14 +476,29 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
   protected ResponseEntity<Object> handleConstraintViolation(
       final ConstraintViolationException ex, final WebRequest webRequest) {
     String correlationId = webRequest.getHeader(CORRELATION_ID_HEADER);
-    HttpStatus httpStatusCode = HttpStatus.BAD_REQUEST;
-    WebApiError webApiError =
-        buildWebApiError(
-            sanitizeErrorMessage(ex.getMessage()),
-            httpStatusCode,
-            correlationId,
-            getApiErrorsFromConstraintViolations(ex.getConstraintViolations(), correlationId));
-    return buildResponseEntity(webApiError, httpStatusCode);
+    final long start = startError();
+    try {
+      HttpStatus httpStatusCode = HttpStatus.BAD_REQUEST;
+      if (errorStormDetector.recordError()) {
+        return buildStormResponse(
+            ex, "handleConstraintViolation", httpStatusCode, correlationId, start, webRequest);
+      }
+      final Map<String, String> genericProperties = getGenericErrorProperties(correlationId);
+      WebApiError webApiError =
+          buildWebApiError(
+              sanitizeErrorMessage(ex.getMessage()),
+              httpStatusCode,
+              genericProperties,
+              getApiErrorsFromConstraintViolations(
+                  ex.getConstraintViolations(), genericProperties));
+      final ResponseEntity<Object> response = buildResponseEntity(webApiError, httpStatusCode);
+      recordError(
+          ex, "handleConstraintViolation", httpStatusCode, correlationId, start, webRequest);
+      return response;
+    } catch (final Exception failure) {
+      recordFailure(ex, "handleConstraintViolation", correlationId, start);
+      throw failure;
+    }
   }
 
   /**
@@ -284,7 +514,10 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
    *   <li>Retrieves the correlation ID from the request headers.
    *   <li>Sets the HTTP status code to NOT_FOUND.
    *   <li>Extracts the error message from the EntityNotFoundException.
-   *   <li>Builds a WebApiError object with the error message, HTTP status code, and correlation ID.
+   *   <li>Adds the entity name as the {@code entity} property and every search parameter as a
+   *       {@code param.<name>} property, masking the values of the sensitive parameters.
+   *   <li>Builds a WebApiError object with the error message, HTTP status code, correlation ID and
+   *       these properties.
    *   <li>Creates a ResponseEntity with the WebApiError and the corresponding HTTP status code.
    * </ol>
    *
@@ -296,11 +529,131 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
   protected ResponseEntity<Object> handleEntityNotFound(
       final EntityNotFoundException ex, final WebRequest webRequest) {
     String correlationId = webRequest.getHeader(CORRELATION_ID_HEADER);
-    HttpStatus httpStatusCode = HttpStatus.NOT_FOUND;
-    WebApiError webApiError =
-        buildWebApiError(
-            sanitizeErrorMessage(ex.getMessage()), httpStatusCode, correlationId, null);
-    return buildResponseEntity(webApiError, httpStatusCode);
+    final long start = startError();
+    try {
+      HttpStatus httpStatusCode = HttpStatus.NOT_FOUND;
+      if (errorStormDetector.recordError()) {
+        return buildStormResponse(
+            ex, "handleEntityNotFound", httpStatusCode, correlationId, start, webRequest);
+      }
+      final Map<String, String> properties = getGenericErrorProperties(correlationId);
+      putEntityProperties(properties, ex.getEntityName(), ex.getSearchParameters());
+      WebApiError webApiError =
+          buildWebApiError(sanitizeErrorMessage(ex.getMessage()), httpStatusCode, properties, null);
+      final ResponseEntity<Object> response = buildResponseEntity(webApiError, httpStatusCode);
+      recordError(ex, "handleEntityNotFound", httpStatusCode, correlationId, start, webRequest);
+      return response;
+    } catch (final Exception failure) {
+      recordFailure(ex, "handleEntityNotFound", correlationId, start);
+      throw failure;
+    }
+  }
+
+  /**
+   * Handles the EntitiesNotFoundException that occurs when several entities of a batch lookup are
+   * not found.
+   *
+   * <p>This method is invoked when an EntitiesNotFoundException is thrown, listing every entity a
+   * batch lookup could not find. It builds a single error response listing every miss, so that
+   * clients do not have to retry the lookup once per missing key.
+   *
+   * <p>The method performs the following steps:
+   *
+   * <ol>
+   *   <li>Retrieves the correlation ID from the request headers.
+   *   <li>Sets the HTTP status code to the configured bulk status, NOT_FOUND or MULTI_STATUS.
+   *   <li>Builds a NOT_FOUND detail for every miss, with its message and the same {@code entity}
+   *       and {@code param.<name>} properties as an EntityNotFoundException.
+   *   <li>Builds a WebApiError object with the number of misses, HTTP status code, correlation ID
+   *       and the details.
+   *   <li>Creates a ResponseEntity with the WebApiError and the corresponding HTTP status code.
+   * </ol>
+   *
+   * @param ex the EntitiesNotFoundException that triggered the exception handling
+   * @param webRequest the WebRequest object representing the current request
+   * @return a ResponseEntity containing the WebApiError object and the appropriate HTTP status code
+   */
+  @ExceptionHandler(EntitiesNotFoundException.class)
+  protected ResponseEntity<Object> handleEntitiesNotFound(
+      final EntitiesNotFoundException ex, final WebRequest webRequest) {
+    String correlationId = webRequest.getHeader(CORRELATION_ID_HEADER);
+    final long start = startError();
+    try {
+      HttpStatus httpStatusCode = bulkNotFoundStatus;
+      if (errorStormDetector.recordError()) {
+        return buildStormResponse(
+            ex, "handleEntitiesNotFound", httpStatusCode, correlationId, start, webRequest);
+      }
+      final Map<String, String> genericProperties = getGenericErrorProperties(correlationId);
+      List<WebApiError> webApiErrors = new ArrayList<>(ex.size());
+      for (int i = 0; i < ex.size(); i++) {
+        Map<String, String> properties =
+            compactDetails ? new HashMap<>() : new HashMap<>(genericProperties);
+        putEntityProperties(properties, ex.getEntityName(i), ex.getSearchParameters(i));
+        webApiErrors.add(
+            buildWebApiError(
+                sanitizeErrorMessage(ex.getMessage(i)), HttpStatus.NOT_FOUND, properties, null));
+      }
+      final ErrorTrace trace = ErrorTrace.current();
+      if (trace != null) {
+        trace.setDetails(webApiErrors.size());
+      }
+      WebApiError webApiError =
+          buildWebApiError(ex.getMessage(), httpStatusCode, genericProperties, webApiErrors);
+      final ResponseEntity<Object> response = buildResponseEntity(webApiError, httpStatusCode);
+      recordError(ex, "handleEntitiesNotFound", httpStatusCode, correlationId, start, webRequest);
+      return response;
+    } catch (final Exception failure) {
+      recordFailure(ex, "handleEntitiesNotFound", correlationId, start);
+      throw failure;
+    }
+  }
+
+  /**
+   * Handles the ApplicationException thrown by the application code.
+   *
+   * <p>This method is invoked when an ApplicationException is thrown. The HTTP status of the
+   * response and the level the exception is logged at are looked up in the {@link
+   * ApplicationErrorMapping} built at startup, from the error code and the severity of the
+   * exception respectively.
+   *
+   * <p>The method performs the following steps:
+   *
+   * <ol>
+   *   <li>Retrieves the correlation ID from the request headers.
+   *   <li>Resolves the HTTP status code from the error code, BAD_REQUEST unless configured.
+   *   <li>Logs the exception at the level resolved from its severity, DEBUG unless configured.
+   *   <li>Builds a WebApiError object with the error message, HTTP status code, and correlation ID.
+   *   <li>Creates a ResponseEntity with the WebApiError and the corresponding HTTP status code.
+   * </ol>
+   *
+   * @param ex the ApplicationException that triggered the exception handling
+   * @param webRequest the WebRequest object representing the current request
+   * @return a ResponseEntity containing the WebApiError object and the appropriate HTTP status code
+   */
+  @ExceptionHandler(ApplicationException.class)
+  protected ResponseEntity<Object> handleApplicationException(
+      final ApplicationException ex, final WebRequest webRequest) {
+    String correlationId = webRequest.getHeader(CORRELATION_ID_HEADER);
+    final long start = startError();
+    try {
+      HttpStatus httpStatusCode = applicationErrorMapping.getStatus(ex.getErrorCode());
+      if (errorStormDetector.recordError()) {
+        return buildStormResponse(
+            ex, "handleApplicationException", httpStatusCode, correlationId, start, webRequest);
+      }
+      final String error = sanitizeErrorMessage(ex.getMessage());
+      logApplicationException(
+          ex, applicationErrorMapping.getLogLevel(ex.getSeverity()), error, correlationId);
+      final ResponseEntity<Object> response =
+          buildErrorResponse(error, httpStatusCode, correlationId, webRequest);
+      recordError(
+          ex, "handleApplicationException", httpStatusCode, correlationId, start, webRequest);
+      return response;
+    } catch (final Exception failure) {
+      recordFailure(ex, "handleApplicationException", correlationId, start);
+      throw failure;
+    }
   }
 
   /**
@@ -329,11 +682,22 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
   protected ResponseEntity<Object> handleEntityNotFound(
       final jakarta.persistence.EntityNotFoundException ex, final WebRequest webRequest) {
     String correlationId = webRequest.getHeader(CORRELATION_ID_HEADER);
-    HttpStatus httpStatusCode = HttpStatus.NOT_FOUND;
-    WebApiError webApiError =
-        buildWebApiError(
-            sanitizeErrorMessage(ex.getMessage()), httpStatusCode, correlationId, null);
-    return buildResponseEntity(webApiError, httpStatusCode);
+    final long start = startError();
+    try {
+      HttpStatus httpStatusCode = HttpStatus.NOT_FOUND;
+      if (errorStormDetector.recordError()) {
+        return buildStormResponse(
+            ex, "handleEntityNotFound", httpStatusCode, correlationId, start, webRequest);
+      }
+      final ResponseEntity<Object> response =
+          buildErrorResponse(
+              sanitizeErrorMessage(ex.getMessage()), httpStatusCode, correlationId, webRequest);
+      recordError(ex, "handleEntityNotFound", httpStatusCode, correlationId, start, webRequest);
+      return response;
+    } catch (final Exception failure) {
+      recordFailure(ex, "handleEntityNotFound", correlationId, start);
+      throw failure;
+    }
   }
 
   /**
@@ -367,10 +731,23 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
       final HttpStatusCode status,
       final WebRequest webRequest) {
     String correlationId = webRequest.getHeader(CORRELATION_ID_HEADER);
-    HttpStatus httpStatusCode = HttpStatus.BAD_REQUEST;
-    final String error = "Malformed JSON request: " + sanitizeErrorMessage(ex.getMessage());
-    WebApiError webApiError = buildWebApiError(error, httpStatusCode, correlationId, null);
-    return buildResponseEntity(webApiError, httpStatusCode);
+    final long start = startError();
+    try {
+      HttpStatus httpStatusCode = HttpStatus.BAD_REQUEST;
+      if (errorStormDetector.recordError()) {
+        return buildStormResponse(
+            ex, "handleHttpMessageNotReadable", httpStatusCode, correlationId, start, webRequest);
+      }
+      final String error = "Malformed JSON request: " + sanitizeErrorMessage(ex.getMessage());
+      final ResponseEntity<Object> response =
+          buildErrorResponse(error, httpStatusCode, correlationId, webRequest);
+      recordError(
+          ex, "handleHttpMessageNotReadable", httpStatusCode, correlationId, start, webRequest);
+      return response;
+    } catch (final Exception failure) {
+      recordFailure(ex, "handleHttpMessageNotReadable", correlationId, start);
+      throw failure;
+    }
   }
 
   /**
@@ -404,10 +781,23 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
       final HttpStatusCode status,
       final WebRequest webRequest) {
     String correlationId = webRequest.getHeader(CORRELATION_ID_HEADER);
-    HttpStatus httpStatusCode = HttpStatus.INTERNAL_SERVER_ERROR;
-    final String error = "Error writing JSON output: " + sanitizeErrorMessage(ex.getMessage());
-    WebApiError webApiError = buildWebApiError(error, httpStatusCode, correlationId, null);
-    return buildResponseEntity(webApiError, httpStatusCode);
+    final long start = startError();
+    try {
+      HttpStatus httpStatusCode = HttpStatus.INTERNAL_SERVER_ERROR;
+      if (errorStormDetector.recordError()) {
+        return buildStormResponse(
+            ex, "handleHttpMessageNotWritable", httpStatusCode, correlationId, start, webRequest);
+      }
+      final String error = "Error writing JSON output: " + sanitizeErrorMessage(ex.getMessage());
+      final ResponseEntity<Object> response =
+          buildErrorResponse(error, httpStatusCode, correlationId, webRequest);
+      recordError(
+          ex, "handleHttpMessageNotWritable", httpStatusCode, correlationId, start, webRequest);
+      return response;
+    } catch (final Exception failure) {
+      recordFailure(ex, "handleHttpMessageNotWritable", correlationId, start);
+      throw failure;
+    }
   }
 
   /**
@@ -442,13 +832,25 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
       final HttpStatusCode status,
       final WebRequest request) {
     String correlationId = request.getHeader(CORRELATION_ID_HEADER);
-    HttpStatus httpStatusCode = HttpStatus.BAD_REQUEST;
-    final String error =
-        String.format(
-            "Could not find the %s method for URL %s: %s",
-            ex.getHttpMethod(), ex.getRequestURL(), sanitizeErrorMessage(ex.getMessage()));
-    WebApiError webApiError = buildWebApiError(error, httpStatusCode, correlationId, null);
-    return buildResponseEntity(webApiError, httpStatusCode);
+    final long start = startError();
+    try {
+      HttpStatus httpStatusCode = HttpStatus.BAD_REQUEST;
+      if (errorStormDetector.recordError()) {
+        return buildStormResponse(
+            ex, "handleNoHandlerFoundException", httpStatusCode, correlationId, start, request);
+      }
+      final String error =
+          NO_HANDLER_FOUND_MESSAGE.format(
+              ex.getHttpMethod(), ex.getRequestURL(), sanitizeErrorMessage(ex.getMessage()));
+      final ResponseEntity<Object> response =
+          buildErrorResponse(error, httpStatusCode, correlationId, request);
+      recordError(
+          ex, "handleNoHandlerFoundException", httpStatusCode, correlationId, start, request);
+      return response;
+    } catch (final Exception failure) {
+      recordFailure(ex, "handleNoHandlerFoundException", correlationId, start);
+      throw failure;
+    }
   }
 
   /**
@@ -477,17 +879,27 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
   protected ResponseEntity<Object> handleDataIntegrityViolation(
       final DataIntegrityViolationException ex, final WebRequest webRequest) {
     String correlationId = webRequest.getHeader(CORRELATION_ID_HEADER);
-    HttpStatus httpStatusCode = null;
-    String error = null;
-    if (ex.getCause() instanceof ConstraintViolationException) {
-      httpStatusCode = HttpStatus.CONFLICT;
-      error = "Database error: " + sanitizeErrorMessage(ex.getMessage());
-    } else {
-      httpStatusCode = HttpStatus.INTERNAL_SERVER_ERROR;
-      error = "Server error: " + sanitizeErrorMessage(ex.getMessage());
+    final long start = startError();
+    try {
+      final boolean constraintViolation = ex.getCause() instanceof ConstraintViolationException;
+      HttpStatus httpStatusCode =
+          constraintViolation ? HttpStatus.CONFLICT : HttpStatus.INTERNAL_SERVER_ERROR;
+      if (errorStormDetector.recordError()) {
+        return buildStormResponse(
+            ex, "handleDataIntegrityViolation", httpStatusCode, correlationId, start, webRequest);
+      }
+      final String error =
+          (constraintViolation ? "Database error: " : "Server error: ")
+              + sanitizeErrorMessage(ex.getMessage());
+      final ResponseEntity<Object> response =
+          buildErrorResponse(error, httpStatusCode, correlationId, webRequest);
+      recordError(
+          ex, "handleDataIntegrityViolation", httpStatusCode, correlationId, start, webRequest);
+      return response;
+    } catch (final Exception failure) {
+      recordFailure(ex, "handleDataIntegrityViolation", correlationId, start);
+      throw failure;
     }
-    WebApiError webApiError = buildWebApiError(error, httpStatusCode, correlationId, null);
-    return buildResponseEntity(webApiError, httpStatusCode);
   }
 
   /**
@@ -519,102 +931,215 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
   @ExceptionHandler(MethodArgumentTypeMismatchException.class)
   protected ResponseEntity<Object> handleMethodArgumentTypeMismatch(
       final MethodArgumentTypeMismatchException ex, final WebRequest webRequest) {
-    Optional<Class<?>> requiredType = Optional.ofNullable(ex.getRequiredType());
-    String simpleName = "";
-    if (requiredType.isPresent()) {
-      simpleName = requiredType.get().getSimpleName();
+    String correlationId = webRequest.getHeader(CORRELATION_ID_HEADER);
+    final long start = startError();
+    try {
+      HttpStatus httpStatusCode = HttpStatus.BAD_REQUEST;
+      if (errorStormDetector.recordError()) {
+        return buildStormResponse(
+            ex,
+            "handleMethodArgumentTypeMismatch",
+            httpStatusCode,
+            correlationId,
+            start,
+            webRequest);
+      }
+      Optional<Class<?>> requiredType = Optional.ofNullable(ex.getRequiredType());
+      String simpleName = "";
+      if (requiredType.isPresent()) {
+        simpleName = requiredType.get().getSimpleName();
+      }
+      final String error =
+          TYPE_MISMATCH_MESSAGE.format(
+              ex.getName(), ex.getValue(), simpleName, sanitizeErrorMessage(ex.getMessage()));
+      final ResponseEntity<Object> response =
+          buildErrorResponse(error, httpStatusCode, correlationId, webRequest);
+      recordError(
+          ex, "handleMethodArgumentTypeMismatch", httpStatusCode, correlationId, start, webRequest);
+      return response;
+    } catch (final Exception failure) {
+      recordFailure(ex, "handleMethodArgumentTypeMismatch", correlationId, start);
+      throw failure;
+    }
+  }
+
+  /**
+   * Handles any exception not handled by a more specific handler.
+   *
+   * <p>This method is invoked for the unexpected exceptions, such as a failing database or a bug,
+   * which would otherwise be forwarded to the {@code /error} page, dispatching the request a second
+   * time. It answers with a generic error, the details of the exception being only logged. It is
+   * not mapped to {@code Exception} here but by the {@link UnexpectedExceptionHandler}, which runs
+   * with the lowest precedence, so that the advices of the application resolve their exceptions
+   * first.
+   *
+   * <p>The method performs the following steps:
+   *
+   * <ol>
+   *   <li>Rethrows the security exceptions and the exceptions annotated with {@code
+   *       ResponseStatus}, so that Spring Security and Spring MVC resolve them as usual.
+   *   <li>Retrieves the correlation ID from the request headers.
+   *   <li>Records the exception into the statistics of its fingerprint, see {@link
+   *       ErrorFingerprints}.
+   *   <li>Logs the exception with its fingerprint and stack trace, the messages of the exception
+   *       and of its causes being sanitized, unless the first occurrences of its fingerprint in
+   *       the current window were already logged, see {@link StackTraceLogLimiter}.
+   *   <li>Builds a WebApiError object with a generic message, INTERNAL_SERVER_ERROR status code,
+   *       and correlation ID.
+   *   <li>Creates a ResponseEntity with the WebApiError and the corresponding HTTP status code.
+   * </ol>
+   *
+   * @param ex the exception that triggered the exception handling
+   * @param webRequest the WebRequest object representing the current request
+   * @return a ResponseEntity containing the WebApiError object and the appropriate HTTP status code
+   * @throws Exception the given exception, if it is resolved elsewhere
+   */
+  protected ResponseEntity<Object> handleUnexpectedException(
+      final Exception ex, final WebRequest webRequest) throws Exception {
+    if (ex instanceof AccessDeniedException
+        || ex instanceof AuthenticationException
+        || AnnotatedElementUtils.hasAnnotation(ex.getClass(), ResponseStatus.class)) {
+      throw ex;
     }
     String correlationId = webRequest.getHeader(CORRELATION_ID_HEADER);
-    HttpStatus httpStatusCode = HttpStatus.BAD_REQUEST;
-    final String error =
-        String.format(
-            "The parameter '%s' of value '%s' could not be converted to type '%s': %s",
-            ex.getName(), ex.getValue(), simpleName, sanitizeErrorMessage(ex.getMessage()));
-    WebApiError webApiError = buildWebApiError(error, httpStatusCode, correlationId, null);
-    return buildResponseEntity(webApiError, httpStatusCode);
+    final long start = startError();
+    try {
+      HttpStatus httpStatusCode = HttpStatus.INTERNAL_SERVER_ERROR;
+      logUnexpectedException(ex, correlationId);
+      if (errorStormDetector.recordError()) {
+        return buildStormResponse(
+            ex, "handleUnexpectedException", httpStatusCode, correlationId, start, webRequest);
+      }
+      final ResponseEntity<Object> response =
+          buildErrorResponse(UNEXPECTED_ERROR_MESSAGE, httpStatusCode, correlationId, webRequest);
+      recordError(
+          ex, "handleUnexpectedException", httpStatusCode, correlationId, start, webRequest);
+      return response;
+    } catch (final Exception failure) {
+      recordFailure(ex, "handleUnexpectedException", correlationId, start);
+      throw failure;
+    }
   }
 
   /**
    * Builds a list of WebApiError objects from the given list of FieldError objects.
    *
-   * <p>This method iterates over the list of FieldError objects and constructs a WebApiError object
-   * for each field error. The WebApiError object contains the error message, HTTP status code,
-   * correlation ID, and null details.
+   * <p>This method collects the field errors into ValidationDetails, which caps the number of
+   * details and optionally groups identical errors, and constructs a WebApiError object for each
+   * collected detail.
    *
-   * <p>The method performs the following steps for each FieldError:
+   * <p>The method performs the following steps:
    *
    * <ol>
-   *   <li>Retrieves the error message for the invalid field using the
-   *       getErrorMessageForInvalidField method.
-   *   <li>Builds a WebApiError object with the error message, HTTP status code (BAD_REQUEST),
-   *       correlation ID, and null details.
-   *   <li>Adds the WebApiError object to the list of webApiErrors.
+   *   <li>Adds the object name, field, rejected value and default message of each FieldError to a
+   *       new ValidationDetails.
+   *   <li>Builds the WebApiError objects of the collected details using the buildDetailErrors
+   *       method.
    * </ol>
    *
    * @param fieldErrors the list of FieldError objects representing the field validation errors
-   * @param correlationId the correlation ID associated with the request
+   * @param genericProperties the generic properties shared with the enclosing error
    * @return a list of WebApiError objects constructed from the field errors
    */
   private List<WebApiError> getApiErrorsFromFieldErrors(
-      final List<FieldError> fieldErrors, final String correlationId) {
-    List<WebApiError> webApiErrors = new ArrayList<>();
-    WebApiError webApiError = null;
-    HttpStatusCode statusCode = HttpStatus.BAD_REQUEST;
-    String errorMessage = null;
+      final List<FieldError> fieldErrors, final Map<String, String> genericProperties) {
+    ValidationDetails validationDetails = new ValidationDetails(maxDetails, groupDetails);
     for (FieldError fieldError : fieldErrors) {
-      errorMessage =
-          getErrorMessageForInvalidField(
-              fieldError.getObjectName(),
-              fieldError.getField(),
-              fieldError.getRejectedValue() != null
-                  ? fieldError.getRejectedValue().toString()
-                  : "null",
-              fieldError.getDefaultMessage());
-      webApiError = buildWebApiError(errorMessage, statusCode, correlationId, null);
-      webApiErrors.add(webApiError);
+      validationDetails.add(
+          fieldError.getObjectName(),
+          fieldError.getField(),
+          fieldError.getRejectedValue(),
+          fieldError.getDefaultMessage());
     }
-    return webApiErrors;
+    return buildDetailErrors(validationDetails, genericProperties);
   }
 
   /**
    * Builds a list of WebApiError objects from the given set of ConstraintViolation objects.
    *
-   * <p>This method iterates over the set of ConstraintViolation objects and constructs a
-   * WebApiError object for each constraint violation. The WebApiError object contains the error
-   * message, HTTP status code, correlation ID, and null details.
+   * <p>This method collects the constraint violations into ValidationDetails, which caps the
+   * number of details and optionally groups identical violations, and constructs a WebApiError
+   * object for each collected detail.
    *
-   * <p>The method performs the following steps for each ConstraintViolation:
+   * <p>The method performs the following steps:
    *
    * <ol>
-   *   <li>Retrieves the error message for the invalid field using the
-   *       getErrorMessageForInvalidField method.
-   *   <li>Builds a WebApiError object with the error message, HTTP status code (BAD_REQUEST),
-   *       correlation ID, and null details.
-   *   <li>Adds the WebApiError object to the list of webApiErrors.
+   *   <li>Adds the root bean name, property path, invalid value and message of each
+   *       ConstraintViolation to a new ValidationDetails.
+   *   <li>Builds the WebApiError objects of the collected details using the buildDetailErrors
+   *       method.
    * </ol>
    *
    * @param constraintViolations the set of ConstraintViolation objects representing the constraint
    *     violations
-   * @param correlationId the correlation ID associated with the request
+   * @param genericProperties the generic properties shared with the enclosing error
    * @return a list of WebApiError objects constructed from the constraint violations
    */
   private List<WebApiError> getApiErrorsFromConstraintViolations(
-      final Set<ConstraintViolation<?>> constraintViolations, final String correlationId) {
-    List<WebApiError> webApiErrors = new ArrayList<>();
-    WebApiError webApiError = null;
+      final Set<ConstraintViolation<?>> constraintViolations,
+      final Map<String, String> genericProperties) {
+    ValidationDetails validationDetails = new ValidationDetails(maxDetails, groupDetails);
+    for (ConstraintViolation<?> constraintViolation : constraintViolations) {
+      validationDetails.add(
+          constraintViolation.getRootBeanClass().getSimpleName(),
+          constraintViolation.getPropertyPath().toString(),
+          constraintViolation.getInvalidValue(),
+          constraintViolation.getMessage());
+    }
+    return buildDetailErrors(validationDetails, genericProperties);
+  }
+
+  /**
+   * Builds the WebApiError objects of the given validation details.
+   *
+   * <p>The method performs the following steps:
+   *
+   * <ol>
+   *   <li>For each detail, retrieves the error message using the getErrorMessageForInvalidFields
+   *       method when it groups errors on several subscripts, the getErrorMessageForInvalidField
+   *       method otherwise, the rejected value being rendered by the RejectedValueRenderer.
+   *   <li>Builds a WebApiError object with the error message, HTTP status code (BAD_REQUEST),
+   *       generic properties (none in compact mode), and null details.
+   *   <li>If errors were omitted because the maximum number of details was reached, adds a last
+   *       WebApiError object with the message "truncated: N more".
+   * </ol>
+   *
+   * @param validationDetails the collected validation details
+   * @param genericProperties the generic properties shared with the enclosing error
+   * @return a list of WebApiError objects constructed from the validation details
+   */
+  private List<WebApiError> buildDetailErrors(
+      final ValidationDetails validationDetails, final Map<String, String> genericProperties) {
+    List<WebApiError> webApiErrors = new ArrayList<>(validationDetails.getDetails().size() + 1);
     HttpStatusCode statusCode = HttpStatus.BAD_REQUEST;
     String errorMessage = null;
-    for (ConstraintViolation<?> constraintViolation : constraintViolations) {
-      errorMessage =
-          getErrorMessageForInvalidField(
-              constraintViolation.getRootBeanClass().getSimpleName(),
-              constraintViolation.getLeafBean().toString(),
-              constraintViolation.getInvalidValue() != null
-                  ? constraintViolation.getInvalidValue().toString()
-                  : "null",
-              constraintViolation.getMessage());
-      webApiError = buildWebApiError(errorMessage, statusCode, correlationId, null);
-      webApiErrors.add(webApiError);
+    final Map<String, String> detailProperties = compactDetails ? null : genericProperties;
+    for (ValidationDetails.Detail detail : validationDetails.getDetails()) {
+      if (detail.getCount() > 1 && !detail.getSubscripts().isEmpty()) {
+        errorMessage =
+            getErrorMessageForInvalidFields(
+                detail.getObjectName(),
+                detail.getNormalizedField(),
+                detail.getSubscripts(),
+                detail.getOmittedSubscripts(),
+                detail.getMessage());
+      } else {
+        errorMessage =
+            getErrorMessageForInvalidField(
+                detail.getObjectName(),
+                detail.getField(),
+                rejectedValueRenderer.render(detail.getRejectedValue()),
+                detail.getMessage());
+      }
+      webApiErrors.add(buildWebApiError(errorMessage, statusCode, detailProperties, null));
+    }
+    if (validationDetails.getOmitted() > 0) {
+      errorMessage = "truncated: " + validationDetails.getOmitted() + " more";
+      webApiErrors.add(buildWebApiError(errorMessage, statusCode, detailProperties, null));
+    }
+    final ErrorTrace trace = ErrorTrace.current();
+    if (trace != null) {
+      trace.setDetails(webApiErrors.size());
     }
     return webApiErrors;
   }
@@ -623,8 +1148,8 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
    * Generates an error message for an invalid field.
    *
    * <p>This method constructs an error message string that includes the object name, field name,
-   * rejected value, and the default error message. The error message is formatted using the
-   * String.format method.
+   * rejected value, and the default error message. The error message is rendered from a
+   * precompiled MessageTemplate.
    *
    * <p>The error message format is as follows: "Invalid value {rejectedValue} on field {field} for
    * object {objectName}: {defaultMessage}."
@@ -640,9 +1165,34 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
       final String field,
       final String rejectedValue,
       final String defaultMessage) {
-    return String.format(
-        "Invalid value %s on field %s for object %s: %s.",
-        rejectedValue, field, objectName, defaultMessage);
+    return INVALID_FIELD_MESSAGE.format(rejectedValue, field, objectName, defaultMessage);
+  }
+
+  /**
+   * Generates an error message for a field that is invalid at several subscripts.
+   *
+   * <p>The error message format is as follows: "Invalid values on field {field} for object
+   * {objectName} at {subscripts}: {defaultMessage}.", the subscripts being separated by commas and
+   * followed by " and N more" when some of them were left out of the group.
+   *
+   * @param objectName the name of the object containing the invalid fields
+   * @param field the name of the invalid field, without its subscripts
+   * @param subscripts the subscripts of the invalid fields, in order
+   * @param omittedSubscripts the number of subscripts left out of the group
+   * @param defaultMessage the default error message associated with the fields
+   * @return the formatted error message string
+   */
+  private String getErrorMessageForInvalidFields(
+      final String objectName,
+      final String field,
+      final List<String> subscripts,
+      final int omittedSubscripts,
+      final String defaultMessage) {
+    String listedSubscripts = String.join(", ", subscripts);
+    if (omittedSubscripts > 0) {
+      listedSubscripts += " and " + omittedSubscripts + " more";
+    }
+    return INVALID_FIELDS_MESSAGE.format(field, objectName, listedSubscripts, defaultMessage);
   }
 
   /**
@@ -660,8 +1210,8 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
    *
    * <ol>
    *   <li>Creates a new HashMap to store the generic error properties.
-   *   <li>Retrieves the current timestamp in UTC format using OffsetDateTime.now(ZoneOffset.UTC)
-   *       and formats it using the dateFormatter.
+   *   <li>Retrieves the current timestamp in UTC format from the ErrorTimestampSource, which
+   *       formats it using the dateFormatter.
    *   <li>Adds the formatted timestamp to the map with the key "timestamp".
    *   <li>Adds the correlation ID to the map with the key "correlationId".
    *   <li>Returns the map of generic error properties.
@@ -671,12 +1221,33 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
    * @return a map of generic error properties containing the timestamp and correlation ID
    */
   private Map<String, String> getGenericErrorProperties(final String correlationId) {
+    return getGenericErrorProperties(correlationId, currentTimestamp());
+  }
+
+  /**
+   * Generates a map of generic error properties holding the given timestamp.
+   *
+   * @param correlationId the correlation ID associated with the request
+   * @param timestamp the formatted timestamp of the error
+   * @return a map of generic error properties containing the timestamp and correlation ID
+   */
+  private Map<String, String> getGenericErrorProperties(
+      final String correlationId, final String timestamp) {
     Map<String, String> genericProperties = new HashMap<>();
-    genericProperties.put(TIMESTAMP_KEY, OffsetDateTime.now(ZoneOffset.UTC).format(dateFormatter));
+    genericProperties.put(TIMESTAMP_KEY, timestamp);
     genericProperties.put(CORRELATION_ID_KEY, correlationId);
     return genericProperties;
   }
 
+  /**
+   * Returns the current timestamp in UTC, formatted using the dateFormatter.
+   *
+   * @return the formatted current timestamp
+   */
+  private String currentTimestamp() {
+    return errorTimestampSource.now();
+  }
+
   /**
    * Builds a WebApiError object with the provided error details.
    *
@@ -707,11 +1278,29 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
       final HttpStatusCode httpStatusCode,
       final String correlationId,
       final List<WebApiError> details) {
+    return buildWebApiError(
+        errorMessage, httpStatusCode, getGenericErrorProperties(correlationId), details);
+  }
+
+  /**
+   * Builds a WebApiError object with the provided error details and generic properties.
+   *
+   * @param errorMessage the error message to be included in the WebApiError
+   * @param httpStatusCode the HTTP status code associated with the error
+   * @param properties the generic error properties of the WebApiError, or null to omit them
+   * @param details an optional list of WebApiError objects representing additional error details
+   * @return the constructed WebApiError object
+   */
+  private WebApiError buildWebApiError(
+      final String errorMessage,
+      final HttpStatusCode httpStatusCode,
+      final Map<String, String> properties,
+      final List<WebApiError> details) {
     WebApiError.Builder builder =
-        WebApiError.builder()
-            .code(String.valueOf(httpStatusCode.value()))
-            .message(errorMessage)
-            .properties(getGenericErrorProperties(correlationId));
+        WebApiError.builder().code(String.valueOf(httpStatusCode.value())).message(errorMessage);
+    if (properties != null) {
+      builder.properties(properties);
+    }
     if (!ObjectUtils.isEmpty(details)) {
       builder.details(details);
     }
@@ -747,36 +1336,363 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
   }
 
   /**
-   * Sanitizes the error message by masking sensitive information based on predefined patterns.
+   * Builds the response of an error without details.
    *
-   * <p>This method takes an error message as input and applies a set of predefined patterns or
-   * rules to identify sensitive information. The sensitive patterns are defined as an array of
-   * regular expressions that match common sensitive data such as passwords, secrets, tokens, or
-   * connection strings.
+   * <p>When {@code wms.exception.rendering.precompiled-templates} is enabled, the response is
+   * written directly to the servlet response from the pre-encoded {@link ErrorResponseTemplates}
+   * and {@code null} is returned, telling Spring MVC the response is already handled. Otherwise,
+   * or when no template applies, the error is rendered through a ResponseEntity as usual.
    *
-   * <p>The method iterates over each sensitive pattern and replaces any matches found in the error
-   * message with a masked value, such as "[MASKED]". This ensures that sensitive information is not
-   * exposed in the error messages returned to the client.
+   * @param errorMessage the error message to be included in the response
+   * @param httpStatus the HTTP status code of the response
+   * @param correlationId the correlation ID associated with the request
+   * @param webRequest the WebRequest object representing the current request
+   * @return the ResponseEntity to render, or {@code null} if the response was already written
+   */
+  private ResponseEntity<Object> buildErrorResponse(
+      final String errorMessage,
+      final HttpStatus httpStatus,
+      final String correlationId,
+      final WebRequest webRequest) {
+    if (errorResponseTemplates != null && webRequest instanceof ServletWebRequest servletRequest) {
+      HttpServletResponse response = servletRequest.getResponse();
+      if (response != null && !response.isCommitted()) {
+        final ErrorTrace trace = ErrorTrace.current();
+        final long serializationStart = trace != null ? System.nanoTime() : 0L;
+        try {
+          if (errorResponseTemplates.write(
+              response, httpStatus.value(), errorMessage, currentTimestamp(), correlationId)) {
+            if (trace != null) {
+              trace.addSerializationTime(System.nanoTime() - serializationStart);
+            }
+            return null;
+          }
+        } catch (IOException e) {
+          log.debug("Could not write the error response, the client may have gone away", e);
+          return null;
+        }
+      }
+    }
+    WebApiError webApiError = buildWebApiError(errorMessage, httpStatus, correlationId, null);
+    return buildResponseEntity(webApiError, httpStatus);
+  }
+
+  /**
+   * Creates the body of an error response without details, as rendered through a ResponseEntity.
+   * Used to compile the {@link ErrorResponseTemplates}.
    *
-   * <p>The predefined sensitive patterns can be extended or modified by adding more regular
-   * expressions to the {@code sensitivePatterns} array.
+   * @param status the HTTP status code of the error
+   * @param errorMessage the error message
+   * @param timestamp the formatted timestamp of the error
+   * @param correlationId the correlation ID associated with the request
+   * @return the WebApiErrorResponse body
+   */
+  private Object createErrorResponseBody(
+      final int status,
+      final String errorMessage,
+      final String timestamp,
+      final String correlationId) {
+    return new WebApiErrorResponse(
+        buildWebApiError(
+            errorMessage,
+            HttpStatusCode.valueOf(status),
+            getGenericErrorProperties(correlationId, timestamp),
+            null));
+  }
+
+  /**
+   * Builds the response of an error during an error storm, see {@link ErrorStormDetector}.
+   *
+   * <p>The body only holds the code of the error and the correlation ID, so that no message is
+   * built nor sanitized and no details are listed. It is written directly to the servlet response
+   * from pre-encoded templates, {@code null} being returned, or rendered through a ResponseEntity
+   * when no template applies.
+   *
+   * @param ex the handled exception
+   * @param handler the name of the handler method
+   * @param httpStatus the HTTP status code of the response
+   * @param correlationId the correlation ID associated with the request
+   * @param start the start time of the handler
+   * @param webRequest the WebRequest object representing the current request
+   * @return the ResponseEntity to render, or {@code null} if the response was already written
+   */
+  private ResponseEntity<Object> buildStormResponse(
+      final Exception ex,
+      final String handler,
+      final HttpStatus httpStatus,
+      final String correlationId,
+      final long start,
+      final WebRequest webRequest) {
+    ResponseEntity<Object> response = null;
+    if (!(webRequest instanceof ServletWebRequest servletRequest)
+        || !writeStormBody(servletRequest.getResponse(), httpStatus, correlationId)) {
+      response = buildResponseEntity(buildStormError(httpStatus, correlationId), httpStatus);
+    }
+    recordError(ex, handler, httpStatus, correlationId, start, webRequest);
+    return response;
+  }
+
+  /**
+   * Writes the response of a security error during an error storm, see {@link
+   * #buildStormResponse}. Like the regular security responses, the body is the bare WebApiError,
+   * so the storm templates, which wrap it in a WebApiErrorResponse, do not apply.
+   */
+  private void writeStormResponse(
+      final Exception ex,
+      final String handler,
+      final HttpStatus httpStatus,
+      final String correlationId,
+      final long start,
+      final HttpServletRequest request,
+      final HttpServletResponse response)
+      throws IOException {
+    errorResponseWriter.write(
+        response, httpStatus.value(), buildStormError(httpStatus, correlationId));
+    recordError(ex, handler, httpStatus, correlationId, start, request);
+  }
+
+  private boolean writeStormBody(
+      final HttpServletResponse response, final HttpStatus httpStatus, final String correlationId) {
+    if (stormResponseTemplates == null || response == null || response.isCommitted()) {
+      return false;
+    }
+    try {
+      // The storm templates hold neither the message nor the timestamp.
+      return stormResponseTemplates.write(response, httpStatus.value(), "", "", correlationId);
+    } catch (IOException e) {
+      log.debug("Could not write the error response, the client may have gone away", e);
+      return true;
+    }
+  }
+
+  private WebApiError buildStormError(
+      final HttpStatusCode httpStatusCode, final String correlationId) {
+    final Map<String, String> properties = new HashMap<>();
+    properties.put(CORRELATION_ID_KEY, correlationId);
+    return buildWebApiError(null, httpStatusCode, properties, null);
+  }
+
+  /**
+   * Creates the body of an error response during an error storm, as rendered through a
+   * ResponseEntity. Used to compile the storm {@link ErrorResponseTemplates}.
+   *
+   * @param status the HTTP status code of the error
+   * @param errorMessage ignored, the body holds no message
+   * @param timestamp ignored, the body holds no timestamp
+   * @param correlationId the correlation ID associated with the request
+   * @return the WebApiErrorResponse body
+   */
+  private Object createStormResponseBody(
+      final int status,
+      final String errorMessage,
+      final String timestamp,
+      final String correlationId) {
+    return new WebApiErrorResponse(buildStormError(HttpStatusCode.valueOf(status), correlationId));
+  }
+
+  /**
+   * Starts the handling of an error: begins its Flight Recorder trace and reads the clock for its
+   * latency, unless the latency histograms are disabled.
+   *
+   * @return the start time to pass to recordError, in nanoseconds, or 0 if not timed
+   */
+  private long startError() {
+    ErrorTrace.begin();
+    return handlerLatencies.start();
+  }
+
+  /**
+   * Records a handled error: counts it by message, endpoint and source when the heavy hitters are
+   * enabled, then counts it, records its latency and ends its trace, see {@link
+   * #recordError(Exception, String, HttpStatus, String, long)}.
+   *
+   * @param ex the handled exception
+   * @param handler the name of the handler method
+   * @param httpStatusCode the HTTP status of the error response
+   * @param correlationId the correlation ID associated with the request
+   * @param start the start time returned by startError
+   * @param webRequest the WebRequest object representing the current request
+   */
+  private void recordError(
+      final Exception ex,
+      final String handler,
+      final HttpStatus httpStatusCode,
+      final String correlationId,
+      final long start,
+      final WebRequest webRequest) {
+    if (errorHeavyHitters.isEnabled()) {
+      if (webRequest instanceof ServletWebRequest servletWebRequest) {
+        recordHeavyHitters(ex, servletWebRequest.getRequest());
+      } else {
+        errorHeavyHitters.record(
+            ex,
+            webRequest.getDescription(false),
+            webRequest.getHeader(errorHeavyHitters.getSourceHeader()));
+      }
+    }
+    recordError(ex, handler, httpStatusCode, correlationId, start);
+  }
+
+  /**
+   * Records a handled error of the security handlers, which have no WebRequest, see {@link
+   * #recordError(Exception, String, HttpStatus, String, long, WebRequest)}.
+   *
+   * @param ex the handled exception
+   * @param handler the name of the handler method
+   * @param httpStatusCode the HTTP status of the error response
+   * @param correlationId the correlation ID associated with the request
+   * @param start the start time returned by startError
+   * @param request the current request
+   */
+  private void recordError(
+      final Exception ex,
+      final String handler,
+      final HttpStatus httpStatusCode,
+      final String correlationId,
+      final long start,
+      final HttpServletRequest request) {
+    if (errorHeavyHitters.isEnabled()) {
+      recordHeavyHitters(ex, request);
+    }
+    recordError(ex, handler, httpStatusCode, correlationId, start);
+  }
+
+  /**
+   * Counts the handled error in {@link ErrorCounters}, records the latency of its handler in
+   * {@link HandlerLatencies} and ends its Flight Recorder trace, see {@link ErrorTrace}.
+   *
+   * @param ex the handled exception
+   * @param handler the name of the handler method
+   * @param httpStatusCode the HTTP status of the error response
+   * @param correlationId the correlation ID associated with the request
+   * @param start the start time returned by startError
+   */
+  private void recordError(
+      final Exception ex,
+      final String handler,
+      final HttpStatus httpStatusCode,
+      final String correlationId,
+      final long start) {
+    errorCounters.increment(ex.getClass(), handler, httpStatusCode.value());
+    handlerLatencies.record(handler, start);
+    ErrorTrace.end(ex.getClass(), handler, httpStatusCode.value(), correlationId);
+  }
+
+  /**
+   * Records an error whose handler threw before recording it, so that its trace is not left open
+   * on the thread and its latency is not lost. The error is counted with an
+   * INTERNAL_SERVER_ERROR status, whatever status the resolvers coming after the handler answer.
+   *
+   * @param ex the handled exception
+   * @param handler the name of the handler method
+   * @param correlationId the correlation ID associated with the request
+   * @param start the start time returned by startError
+   */
+  private void recordFailure(
+      final Exception ex, final String handler, final String correlationId, final long start) {
+    recordError(ex, handler, HttpStatus.INTERNAL_SERVER_ERROR, correlationId, start);
+  }
+
+  /**
+   * Counts the error by message, endpoint and source. The endpoint is the matched URL pattern
+   * rather than the URL, when the request reached a controller, so that path variables do not
+   * scatter the endpoint into as many keys as identifiers.
+   */
+  private void recordHeavyHitters(final Exception ex, final HttpServletRequest request) {
+    final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    final String path = pattern != null ? pattern.toString() : request.getRequestURI();
+    errorHeavyHitters.record(
+        ex,
+        request.getMethod() + ' ' + path,
+        request.getHeader(errorHeavyHitters.getSourceHeader()));
+  }
+
+  private void logUnexpectedException(final Exception ex, final String correlationId) {
+    final long fingerprint = errorFingerprints.record(ex);
+    final long suppressed = stackTraceLogLimiter.tryAcquire(fingerprint);
+    if (suppressed == StackTraceLogLimiter.SUPPRESSED) {
+      return;
+    }
+    log.error(
+        "Unexpected exception {} (correlation id {}, {} similar exceptions suppressed since the"
+            + " last one logged): {}",
+        StackTraceFingerprinter.toHex(fingerprint),
+        correlationId,
+        suppressed,
+        SanitizedStackTrace.render(ex, this::sanitizeErrorMessage));
+  }
+
+  private void logApplicationException(
+      final ApplicationException ex,
+      final LogLevel logLevel,
+      final String error,
+      final String correlationId) {
+    final String format = "Application exception {} (severity {}, correlation id {}): {}";
+    switch (logLevel) {
+      case TRACE:
+        log.trace(format, ex.getErrorCode(), ex.getSeverity(), correlationId, error);
+        break;
+      case DEBUG:
+        log.debug(format, ex.getErrorCode(), ex.getSeverity(), correlationId, error);
+        break;
+      case INFO:
+        log.info(format, ex.getErrorCode(), ex.getSeverity(), correlationId, error);
+        break;
+      case WARN:
+        log.warn(format, ex.getErrorCode(), ex.getSeverity(), correlationId, error);
+        break;
+      case ERROR:
+      case FATAL:
+        log.error(format, ex.getErrorCode(), ex.getSeverity(), correlationId, error, ex);
+        break;
+      default:
+        break;
+    }
+  }
+
+  private void putEntityProperties(
+      final Map<String, String> properties,
+      final String entityName,
+      final Map<String, String> searchParameters) {
+    properties.put(ENTITY_KEY, entityName);
+    searchParameters.forEach(
+        (name, value) -> properties.put(PARAM_KEY_PREFIX + name, sanitizeParameter(name, value)));
+  }
+
+  private String sanitizeParameter(final String name, final String value) {
+    final SensitiveDataMasker masker = sensitiveDataSanitizer.getMasker();
+    if ((name != null && masker.matches(name)) || (value != null && masker.matches(value))) {
+      return SensitiveDataMasker.MASK;
+    }
+    return value;
+  }
+
+  /**
+   * Sanitizes the error message by masking sensitive information based on configured keywords.
+   *
+   * <p>This method takes an error message as input and masks every line that contains one of the
+   * keywords identifying sensitive data, by default passwords, secrets, tokens, or connection
+   * strings. Each such line is replaced with a masked value, "[MASKED]". This ensures that
+   * sensitive information is not exposed in the error messages returned to the client.
+   *
+   * <p>The keywords are configured under {@code wms.exception.sanitizer.keywords} and compiled once
+   * by the {@link SensitiveDataSanitizer}, which scans the message in a single pass for all of them
+   * and returns the message unchanged, without copying it, when nothing has to be masked. Messages
+   * larger than {@code wms.exception.sanitizer.max-message-bytes}, such as Jackson parse errors
+   * embedding the request payload, are truncated before being scanned.
    *
    * @param errorMessage the error message to be sanitized
    * @return the sanitized error message with sensitive information masked
    */
   private String sanitizeErrorMessage(String errorMessage) {
-    // Define patterns or rules to identify sensitive information
-    String[] sensitivePatterns = {
-      ".*password.*", ".*secret.*", ".*token.*", ".*connection string.*",
-      // Add more patterns as needed
-    };
-
-    // Iterate over the sensitive patterns and replace matches with a masked value
-    for (String pattern : sensitivePatterns) {
-      errorMessage = errorMessage.replaceAll(pattern, "[MASKED]");
+    final ErrorTrace trace = ErrorTrace.current();
+    if (trace == null) {
+      return sensitiveDataSanitizer.sanitize(errorMessage);
     }
-
-    return errorMessage;
+    final long sanitizationStart = System.nanoTime();
+    final String sanitized = sensitiveDataSanitizer.sanitize(errorMessage);
+    trace.addSanitizationTime(System.nanoTime() - sanitizationStart);
+    return sanitized;
   }
 
   /**
@@ -796,10 +1712,11 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
    * </ul>
    *
    * <p>The error message is sanitized using the {@link #sanitizeErrorMessage(String)} method to
-   * mask any sensitive information based on predefined patterns.
+   * mask any sensitive information based on the configured keywords.
    *
-   * <p>The response is set with the appropriate HTTP status code, content type, and the JSON
-   * representation of the {@link WebApiError} object.
+   * <p>The response is set with the appropriate HTTP status code, content type, content length and
+   * the JSON representation of the {@link WebApiError} object, streamed by the {@link
+   * ErrorResponseWriter}.
    *
    * @param request the HTTP request
    * @param response the HTTP response
@@ -813,12 +1730,27 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
       AuthenticationException authException)
       throws IOException, ServletException {
     String correlationId = request.getHeader(CORRELATION_ID_HEADER);
-    HttpStatus httpStatusCode = HttpStatus.UNAUTHORIZED;
-    String error = sanitizeErrorMessage(authException.getMessage());
-    WebApiError webApiError = buildWebApiError(error, httpStatusCode, correlationId, null);
-    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-    response.setContentType("application/json");
-    response.getOutputStream().println(objectMapper.writeValueAsString(webApiError));
+    final long start = startError();
+    try {
+      HttpStatus httpStatusCode = HttpStatus.UNAUTHORIZED;
+      if (errorStormDetector.recordError()) {
+        writeStormResponse(
+            authException, "commence", httpStatusCode, correlationId, start, request, response);
+        return;
+      }
+      String error = sanitizeErrorMessage(authException.getMessage());
+      WebApiError webApiError = buildWebApiError(error, httpStatusCode, correlationId, null);
+      final ErrorTrace trace = ErrorTrace.current();
+      final long serializationStart = trace != null ? System.nanoTime() : 0L;
+      errorResponseWriter.write(response, HttpServletResponse.SC_UNAUTHORIZED, webApiError);
+      if (trace != null) {
+        trace.addSerializationTime(System.nanoTime() - serializationStart);
+      }
+      recordError(authException, "commence", httpStatusCode, correlationId, start, request);
+    } catch (final Exception failure) {
+      recordFailure(authException, "commence", correlationId, start);
+      throw failure;
+    }
   }
 
   /**
@@ -835,11 +1767,12 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
    * </ul>
    *
    * <p>The error message is sanitized using the {@link #sanitizeErrorMessage(String)} method to
-   * mask any sensitive information based on predefined patterns.
+   * mask any sensitive information based on the configured keywords.
    *
    * <p>The response is set with the appropriate HTTP status code ({@link
-   * HttpServletResponse#SC_FORBIDDEN}), content type ({@code "application/json"}), and the JSON
-   * representation of the {@link WebApiError} object is written to the response's output stream.
+   * HttpServletResponse#SC_FORBIDDEN}), content type ({@code "application/json"}) and content
+   * length, and the JSON representation of the {@link WebApiError} object is streamed to the
+   * response's output stream by the {@link ErrorResponseWriter}.
    *
    * @param request the {@link HttpServletRequest} object representing the current request
    * @param response the {@link HttpServletResponse} object representing the current response
@@ -854,11 +1787,32 @@ public class RestApiExceptionHandler extends ResponseEntityExceptionHandler
       AccessDeniedException accessDeniedException)
       throws IOException, ServletException {
     String correlationId = request.getHeader(CORRELATION_ID_HEADER);
-    HttpStatus httpStatusCode = HttpStatus.FORBIDDEN;
-    String error = sanitizeErrorMessage(accessDeniedException.getMessage());
-    WebApiError webApiError = buildWebApiError(error, httpStatusCode, correlationId, null);
-    response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-    response.setContentType("application/json");
-    response.getOutputStream().println(objectMapper.writeValueAsString(webApiError));
+    final long start = startError();
+    try {
+      HttpStatus httpStatusCode = HttpStatus.FORBIDDEN;
+      if (errorStormDetector.recordError()) {
+        writeStormResponse(
+            accessDeniedException,
+            "handle",
+            httpStatusCode,
+            correlationId,
+            start,
+            request,
+            response);
+        return;
+      }
+      String error = sanitizeErrorMessage(accessDeniedException.getMessage());
+      WebApiError webApiError = buildWebApiError(error, httpStatusCode, correlationId, null);
+      final ErrorTrace trace = ErrorTrace.current();
+      final long serializationStart = trace != null ? System.nanoTime() : 0L;
+      errorResponseWriter.write(response, HttpServletResponse.SC_FORBIDDEN, webApiError);
+      if (trace != null) {
+        trace.addSerializationTime(System.nanoTime() - serializationStart);
+      }
+      recordError(accessDeniedException, "handle", httpStatusCode, correlationId, start, request);
+    } catch (final Exception failure) {
+      recordFailure(accessDeniedException, "handle", correlationId, start);
+      throw failure;
+    }
   }
 }
@@ -0,0 +1,30 @@
+/*
+ *  StackTracePolicyConfigurer.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms;
+
+import az.supplychain.wms.exceptions.StackTracePolicy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the {@code wms.exception.stack-traces} property as the default {@link StackTracePolicy}
+ * of the exceptions of the library when the application context starts.
+ *
+ * <p>Exceptions created before, while the context is being refreshed, use the policy of the
+ * system property of the same name.
+ */
+@Component
+public class StackTracePolicyConfigurer {
+
+  /**
+   * Sets the default stack trace policy from the given properties.
+   *
+   * @param properties the exception handling properties
+   */
+  public StackTracePolicyConfigurer(final ExceptionProperties properties) {
+    StackTracePolicy.setDefault(properties.getStackTraces());
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ *  UnexpectedExceptionHandler.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Catch-all exception handler answering the exceptions no other handler resolved with a generic
+ * {@code 500} error.
+ *
+ * <p>Spring MVC resolves an exception with the first {@code @ControllerAdvice} declaring a handler
+ * for it, whatever the handlers of the advices coming next. The catch-all handler is therefore kept
+ * out of the {@link RestApiExceptionHandler}, which runs with the highest precedence, and declared
+ * by this advice with the {@code @Order(Ordered.LOWEST_PRECEDENCE)} annotation instead: the
+ * exceptions handled by the advices of the application reach them, and only the exceptions none of
+ * them handles fall through to this one. The advices without {@code @Order} share the lowest
+ * precedence with this one, in no defined order, so an advice of the application has to declare a
+ * higher precedence to be sure to come first.
+ */
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ControllerAdvice
+public class UnexpectedExceptionHandler {
+
+  private final RestApiExceptionHandler restApiExceptionHandler;
+
+  /**
+   * Creates the catch-all handler.
+   *
+   * @param restApiExceptionHandler the handler building, logging and recording the error responses
+   */
+  public UnexpectedExceptionHandler(final RestApiExceptionHandler restApiExceptionHandler) {
+    this.restApiExceptionHandler = restApiExceptionHandler;
+  }
+
+  /**
+   * Handles any exception not handled by a more specific handler, see {@link
+   * RestApiExceptionHandler#handleUnexpectedException}.
+   *
+   * @param ex the exception that triggered the exception handling
+   * @param webRequest the WebRequest object representing the current request
+   * @return a ResponseEntity containing the WebApiError object and the appropriate HTTP status code
+   * @throws Exception the given exception, if it is resolved elsewhere
+   */
+  @ExceptionHandler(Exception.class)
+  public ResponseEntity<Object> handleUnexpectedException(
+      final Exception ex, final WebRequest webRequest) throws Exception {
+    return restApiExceptionHandler.handleUnexpectedException(ex, webRequest);
+  }
+}
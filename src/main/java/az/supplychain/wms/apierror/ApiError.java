@@ -121,7 +121,7 @@ public class ApiError {
     private void addValidationError(final ConstraintViolation<?> cv) {
         this.addValidationError(
                 cv.getRootBeanClass().getSimpleName(),
-                cv.getLeafBean().toString(),
+                cv.getPropertyPath().toString(),
                 cv.getInvalidValue(),
                 cv.getMessage());
     }
@@ -45,10 +45,7 @@ public class ApplicationException extends RuntimeException {
      * @param message the detail message
      */
     public ApplicationException(final String message) {
-        super(message);
-        this.message = message;
-        severity = null;
-        errorCode = null;
+        this(StackTracePolicy.getDefault(), null, message, null, null);
     }
 
 
@@ -59,10 +56,7 @@ public class ApplicationException extends RuntimeException {
      * @param t       the cause of the exception
      */
     public ApplicationException(final String message, final Throwable t) {
-        super(message, t);
-        this.message = message;
-        errorCode = null;
-        severity = null;
+        this(StackTracePolicy.getDefault(), null, message, null, t);
     }
 
 
@@ -74,10 +68,7 @@ public class ApplicationException extends RuntimeException {
      * @param t         the cause of the exception
      */
     public ApplicationException(final String errorCode, final String message, final Throwable t) {
-        super(message, t);
-        this.errorCode = errorCode;
-        this.message = message;
-        severity = null;
+        this(StackTracePolicy.getDefault(), errorCode, message, null, t);
     }
 
 
@@ -88,10 +79,7 @@ public class ApplicationException extends RuntimeException {
      * @param message   the detail message
      */
     public ApplicationException(final String errorCode, final String message) {
-        super(message);
-        this.errorCode = errorCode;
-        this.message = message;
-        severity = null;
+        this(StackTracePolicy.getDefault(), errorCode, message, null, null);
     }
 
     /**
@@ -102,9 +90,54 @@ public class ApplicationException extends RuntimeException {
      * @param severity  the severity level of the exception
      */
     public ApplicationException(final String errorCode, final String message, final String severity) {
-        super(message);
+        this(StackTracePolicy.getDefault(), errorCode, message, severity, null);
+    }
+
+    /**
+     * Constructs a new {@code ApplicationException} with the specified stack trace policy, error code, message,
+     * severity and cause.
+     *
+     * @param stackTracePolicy whether the exception captures its stack trace
+     * @param errorCode        the error code associated with the exception, may be {@code null}
+     * @param message          the detail message
+     * @param severity         the severity level of the exception, may be {@code null}
+     * @param t                the cause of the exception, may be {@code null}
+     */
+    public ApplicationException(
+            final StackTracePolicy stackTracePolicy,
+            final String errorCode,
+            final String message,
+            final String severity,
+            final Throwable t) {
+        super(message, t, stackTracePolicy.isSuppressionEnabled(), stackTracePolicy.isWritableStackTrace());
         this.errorCode = errorCode;
         this.message = message;
         this.severity = severity;
     }
+
+    /**
+     * Creates an {@code ApplicationException} without a stack trace with the specified error code and message,
+     * whatever the default {@link StackTracePolicy}.
+     *
+     * @param errorCode the error code associated with the exception
+     * @param message   the detail message
+     * @return the exception
+     */
+    public static ApplicationException stackless(final String errorCode, final String message) {
+        return new ApplicationException(StackTracePolicy.OMIT, errorCode, message, null, null);
+    }
+
+    /**
+     * Creates an {@code ApplicationException} without a stack trace with the specified error code, message and
+     * severity, whatever the default {@link StackTracePolicy}.
+     *
+     * @param errorCode the error code associated with the exception
+     * @param message   the detail message
+     * @param severity  the severity level of the exception
+     * @return the exception
+     */
+    public static ApplicationException stackless(
+            final String errorCode, final String message, final String severity) {
+        return new ApplicationException(StackTracePolicy.OMIT, errorCode, message, severity, null);
+    }
 }
@@ -0,0 +1,235 @@
+/*
+ *  EntitiesNotFoundException.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.exceptions;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+
+/**
+ * Custom exception class representing the scenario where several entities of a batch lookup are not found
+ * in the system.
+ *
+ * <p>The misses are gathered by a {@link Collector} while the batch is resolved, and thrown together once it
+ * is complete, so that a single error response lists every missing key instead of the first one only:
+ * <pre>{@code
+ * EntitiesNotFoundException.Collector misses = EntitiesNotFoundException.collector();
+ * for (String sku : skus) {
+ *     if (!stock.containsKey(sku)) {
+ *         misses.add(Sku.class, "sku", sku, "distributionCenter", dc);
+ *     }
+ * }
+ * misses.throwIfAny();
+ * }</pre>
+ *
+ * <p>Like {@link EntityNotFoundException}, the misses are kept as entity classes and flat arrays of
+ * alternating parameter names and values, and messages are only built when they are rendered.
+ */
+public class EntitiesNotFoundException extends RuntimeException {
+    private static final long serialVersionUID = -2215873042468190377L;
+
+    /**
+     * The entity class of every miss.
+     */
+    private final Class<?>[] entityClasses;
+
+    /**
+     * The index following the last search parameter of every miss in {@link #searchParams}.
+     */
+    private final int[] searchParamEnds;
+
+    /**
+     * The search parameters of all the misses, as alternating names and values.
+     */
+    private final String[] searchParams;
+
+    /**
+     * The message, built on first use.
+     */
+    private transient String message;
+
+
+    private EntitiesNotFoundException(final StackTracePolicy stackTracePolicy, final Collector collector) {
+        super(
+                null,
+                null,
+                stackTracePolicy.isSuppressionEnabled(),
+                stackTracePolicy.isWritableStackTrace());
+        this.entityClasses = Arrays.copyOf(collector.entityClasses, collector.size);
+        this.searchParamEnds = Arrays.copyOf(collector.searchParamEnds, collector.size);
+        final int searchParamCount = collector.size == 0 ? 0 : collector.searchParamEnds[collector.size - 1];
+        this.searchParams = Arrays.copyOf(collector.searchParams, searchParamCount);
+    }
+
+    /**
+     * Creates a collector of the misses of a batch lookup.
+     *
+     * @return an empty collector
+     */
+    public static Collector collector() {
+        return new Collector();
+    }
+
+    /**
+     * Returns the message of the exception, built on the first call.
+     *
+     * @return the number of entities not found
+     */
+    @Override
+    public String getMessage() {
+        String result = message;
+        if (result == null) {
+            result = entityClasses.length == 1
+                    ? "1 entity was not found"
+                    : entityClasses.length + " entities were not found";
+            message = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of entities not found.
+     *
+     * @return the number of misses
+     */
+    public int size() {
+        return entityClasses.length;
+    }
+
+    /**
+     * Returns the entity class of a miss.
+     *
+     * @param index the index of the miss, in the order the misses were added
+     * @return the entity class
+     */
+    public Class<?> getEntityClass(final int index) {
+        return entityClasses[index];
+    }
+
+    /**
+     * Returns the simple name of the entity class of a miss.
+     *
+     * @param index the index of the miss, in the order the misses were added
+     * @return the entity name
+     */
+    public String getEntityName(final int index) {
+        return entityClasses[index].getSimpleName();
+    }
+
+    /**
+     * Returns the search parameters of a miss, in the order they were given.
+     *
+     * @param index the index of the miss, in the order the misses were added
+     * @return an unmodifiable map of the parameter names to their values
+     */
+    public Map<String, String> getSearchParameters(final int index) {
+        return EntityNotFoundException.searchParameters(
+                searchParams, searchParamStart(index), searchParamEnds[index]);
+    }
+
+    /**
+     * Returns the message of a miss, identical to the message of an {@link EntityNotFoundException} thrown for
+     * the same entity and search parameters.
+     *
+     * @param index the index of the miss, in the order the misses were added
+     * @return the message of the miss
+     */
+    public String getMessage(final int index) {
+        return EntityNotFoundException.generateMessage(
+                entityClasses[index], searchParams, searchParamStart(index), searchParamEnds[index]);
+    }
+
+    private int searchParamStart(final int index) {
+        return index == 0 ? 0 : searchParamEnds[index - 1];
+    }
+
+    /**
+     * Collects the misses of a batch lookup into growable arrays, then throws them as a single
+     * {@code EntitiesNotFoundException}. A collector is not thread-safe.
+     */
+    public static final class Collector {
+
+        private static final int INITIAL_CAPACITY = 8;
+
+        private Class<?>[] entityClasses = new Class<?>[INITIAL_CAPACITY];
+        private int[] searchParamEnds = new int[INITIAL_CAPACITY];
+        private String[] searchParams = new String[INITIAL_CAPACITY * 2];
+        private int size;
+
+        private Collector() {
+        }
+
+        /**
+         * Adds a miss.
+         *
+         * @param clazz           the entity class for which an instance was not found
+         * @param searchParamsMap the search parameters used in the unsuccessful attempt
+         * @return this collector
+         * @throws IllegalArgumentException if the number of search parameters is not even
+         */
+        public Collector add(final Class<?> clazz, final String... searchParamsMap) {
+            Objects.requireNonNull(clazz, "clazz");
+            if (Objects.isNull(searchParamsMap) || searchParamsMap.length % 2 == 1) {
+                throw new IllegalArgumentException("Invalid entries");
+            }
+            if (size == entityClasses.length) {
+                entityClasses = Arrays.copyOf(entityClasses, size * 2);
+                searchParamEnds = Arrays.copyOf(searchParamEnds, size * 2);
+            }
+            final int start = size == 0 ? 0 : searchParamEnds[size - 1];
+            final int end = start + searchParamsMap.length;
+            if (end > searchParams.length) {
+                searchParams = Arrays.copyOf(searchParams, Math.max(end, searchParams.length * 2));
+            }
+            System.arraycopy(searchParamsMap, 0, searchParams, start, searchParamsMap.length);
+            entityClasses[size] = clazz;
+            searchParamEnds[size] = end;
+            size++;
+            return this;
+        }
+
+        /**
+         * Returns the number of misses collected so far.
+         *
+         * @return the number of misses
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns whether no miss was collected.
+         *
+         * @return {@code true} if no miss was collected
+         */
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Throws the collected misses, if any, as an exception following the default {@link StackTracePolicy}.
+         *
+         * @throws EntitiesNotFoundException if at least one miss was collected
+         */
+        public void throwIfAny() {
+            if (size > 0) {
+                throw toException(StackTracePolicy.getDefault());
+            }
+        }
+
+        /**
+         * Returns the collected misses as an exception.
+         *
+         * @param stackTracePolicy whether the exception captures its stack trace
+         * @return the exception, listing the misses collected so far
+         */
+        public EntitiesNotFoundException toException(final StackTracePolicy stackTracePolicy) {
+            return new EntitiesNotFoundException(stackTracePolicy, this);
+        }
+    }
+}
@@ -6,10 +6,11 @@
  */
 package az.supplychain.wms.exceptions;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.IntStream;
 
 import org.springframework.util.StringUtils;
 
@@ -21,57 +22,164 @@ import org.springframework.util.StringUtils;
  * an entity that does not exist.
  * <p>The exception provides information about the entity class and the search parameters that were used in
  * the unsuccessful attempt to find the entity.
+ * <p>The exception only keeps the entity class and the search parameters, as alternating names and values.
+ * Its message is built the first time {@link #getMessage()} is called and then cached, so that exceptions
+ * thrown and caught without being rendered never format it.
  */
 public class EntityNotFoundException extends RuntimeException {
     private static final long serialVersionUID = 4351639179569687589L;
 
+    /**
+     * The entity class for which an instance was not found.
+     */
+    private final Class<?> entityClass;
+
+    /**
+     * The search parameters, as alternating names and values.
+     */
+    private final String[] searchParams;
+
+    /**
+     * The message, built on first use.
+     */
+    private transient String message;
+
 
     /**
      * Constructs a new {@code EntityNotFoundException} with the specified entity class and search parameters.
      *
      * @param clazz           the entity class for which an instance was not found
      * @param searchParamsMap the search parameters used in the unsuccessful attempt
+     * @throws IllegalArgumentException if the number of search parameters is not even
      */
     public <T> EntityNotFoundException(final Class<T> clazz, final String... searchParamsMap) {
+        this(StackTracePolicy.getDefault(), clazz, searchParamsMap);
+    }
+
+    /**
+     * Constructs a new {@code EntityNotFoundException} with the specified stack trace policy, entity class
+     * and search parameters.
+     *
+     * @param stackTracePolicy whether the exception captures its stack trace
+     * @param clazz            the entity class for which an instance was not found
+     * @param searchParamsMap  the search parameters used in the unsuccessful attempt
+     * @throws IllegalArgumentException if the number of search parameters is not even
+     */
+    public <T> EntityNotFoundException(
+            final StackTracePolicy stackTracePolicy, final Class<T> clazz, final String... searchParamsMap) {
         super(
-                EntityNotFoundException.generateMessage(
-                        clazz.getSimpleName(), toMap(String.class, String.class, searchParamsMap)));
+                null,
+                null,
+                stackTracePolicy.isSuppressionEnabled(),
+                stackTracePolicy.isWritableStackTrace());
+        if (Objects.isNull(searchParamsMap) || searchParamsMap.length % 2 == 1) {
+            throw new IllegalArgumentException("Invalid entries");
+        }
+        this.entityClass = Objects.requireNonNull(clazz, "clazz");
+        this.searchParams = searchParamsMap.clone();
+    }
+
+    /**
+     * Creates an {@code EntityNotFoundException} without a stack trace, for routine lookups finding
+     * nothing, whatever the default {@link StackTracePolicy}.
+     *
+     * @param clazz           the entity class for which an instance was not found
+     * @param searchParamsMap the search parameters used in the unsuccessful attempt
+     * @return the exception
+     */
+    public static <T> EntityNotFoundException stackless(
+            final Class<T> clazz, final String... searchParamsMap) {
+        return new EntityNotFoundException(StackTracePolicy.OMIT, clazz, searchParamsMap);
+    }
+
+    /**
+     * Returns the message of the exception, built on the first call.
+     *
+     * @return the entity name followed by the search parameters
+     */
+    @Override
+    public String getMessage() {
+        String result = message;
+        if (result == null) {
+            result = generateMessage(entityClass, searchParams, 0, searchParams.length);
+            message = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the entity class for which an instance was not found.
+     *
+     * @return the entity class
+     */
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * Returns the simple name of the entity class for which an instance was not found.
+     *
+     * @return the entity name
+     */
+    public String getEntityName() {
+        return entityClass.getSimpleName();
+    }
+
+    /**
+     * Returns the search parameters used in the unsuccessful attempt, in the order they were given.
+     *
+     * @return an unmodifiable map of the parameter names to their values
+     */
+    public Map<String, String> getSearchParameters() {
+        return searchParameters(searchParams, 0, searchParams.length);
+    }
+
+    /**
+     * Returns a range of an array of alternating names and values as a map, in the order of the array.
+     *
+     * @param searchParams an array holding the search parameters as alternating names and values
+     * @param from         the index of the first name of the search parameters in the array
+     * @param to           the index following the last value of the search parameters in the array
+     * @return an unmodifiable map of the parameter names to their values
+     */
+    static Map<String, String> searchParameters(final String[] searchParams, final int from, final int to) {
+        final Map<String, String> parameters = new LinkedHashMap<>();
+        for (int i = from; i < to; i += 2) {
+            parameters.put(searchParams[i], searchParams[i + 1]);
+        }
+        return Collections.unmodifiableMap(parameters);
     }
 
     /**
      * Generates a detailed message for the exception, including the entity name and search parameters.
      *
-     * @param entity       the name of the entity
-     * @param searchParams the search parameters used in the unsuccessful attempt
+     * @param entityClass  the entity class for which an instance was not found
+     * @param searchParams an array holding the search parameters as alternating names and values
+     * @param from         the index of the first name of the search parameters in the array
+     * @param to           the index following the last value of the search parameters in the array
      * @return a detailed error message
      */
-    private static String generateMessage(
-            final String entity, final Map<String, String> searchParams) {
-        return StringUtils.capitalize(entity) + " was not found for parameters " + searchParams;
+    static String generateMessage(
+            final Class<?> entityClass, final String[] searchParams, final int from, final int to) {
+        return StringUtils.capitalize(entityClass.getSimpleName())
+                + " was not found for parameters "
+                + toMap(searchParams, from, to);
     }
 
     /**
-     * Converts an array of entries into a map with alternating key-value pairs.
+     * Converts a range of an array of alternating names and values into a map. A {@code HashMap} is used so
+     * that the message lists the parameters in the same order as it always has.
      *
-     * @param keyType   the class type of the keys
-     * @param valueType the class type of the values
-     * @param entries   an array of key-value pairs
-     * @param <K>       the type of keys
-     * @param <V>       the type of values
-     * @return a map created from the input array
-     * @throws IllegalArgumentException if the number of entries is not even
+     * @param entries an array of name-value pairs
+     * @param from    the index of the first name
+     * @param to      the index following the last value
+     * @return a map created from the range of the input array
      */
-    private static <K, V> Map<K, V> toMap(
-            final Class<K> keyType, final Class<V> valueType, final Object... entries) {
-
-        if ( Objects.isNull(entries) ||  entries.length % 2 == 1) {
-            throw new IllegalArgumentException("Invalid entries");
+    private static Map<String, String> toMap(final String[] entries, final int from, final int to) {
+        final Map<String, String> map = new HashMap<>();
+        for (int i = from; i < to; i += 2) {
+            map.put(entries[i], entries[i + 1]);
         }
-        return IntStream.range(0, entries.length / 2)
-                .map(i -> i * 2)
-                .collect(
-                        HashMap::new,
-                        (m, i) -> m.put(keyType.cast(entries[i]), valueType.cast(entries[i + 1])),
-                        Map::putAll);
+        return map;
     }
 }
@@ -0,0 +1,98 @@
+/*
+ *  StackTracePolicy.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.exceptions;
+
+import java.util.Locale;
+import java.util.Objects;
+
+
+/**
+ * Whether the exceptions of the library capture their stack trace when they are created.
+ *
+ * <p>Filling in the stack trace walks every frame of the current thread, which over deep
+ * Spring and Hibernate stacks dominates the cost of throwing routine exceptions such as a lookup
+ * finding nothing. Exceptions created with {@link #OMIT} skip it, and also ignore suppressed
+ * exceptions; their stack trace is empty, so they should be reserved for exceptions whose message
+ * alone identifies the failure.
+ *
+ * <p>The constructors that take no policy use the {@linkplain #getDefault() default policy}, read
+ * from the {@value #PROPERTY} system property and replaced by the Spring property of the same name
+ * once the application context is started. It is {@link #CAPTURE} unless configured otherwise.
+ */
+public enum StackTracePolicy {
+
+    /**
+     * Exceptions capture their stack trace and record suppressed exceptions, like any
+     * {@code Throwable}.
+     */
+    CAPTURE,
+
+    /**
+     * Exceptions are created without a stack trace and ignore suppressed exceptions.
+     */
+    OMIT;
+
+    /**
+     * The system and Spring property selecting the default policy, {@code capture} or {@code omit}.
+     */
+    public static final String PROPERTY = "wms.exception.stack-traces";
+
+    private static volatile StackTracePolicy defaultPolicy = fromSystemProperty();
+
+    /**
+     * Returns the policy of the exceptions created without an explicit policy.
+     *
+     * @return the default policy
+     */
+    public static StackTracePolicy getDefault() {
+        return defaultPolicy;
+    }
+
+    /**
+     * Sets the policy of the exceptions created without an explicit policy.
+     *
+     * @param policy the default policy
+     */
+    public static void setDefault(final StackTracePolicy policy) {
+        defaultPolicy = Objects.requireNonNull(policy, "policy");
+    }
+
+    /**
+     * Returns whether the exceptions created with this policy capture their stack trace.
+     *
+     * @return {@code true} for {@link #CAPTURE}
+     */
+    public boolean isWritableStackTrace() {
+        return this == CAPTURE;
+    }
+
+    /**
+     * Returns whether the exceptions created with this policy record suppressed exceptions.
+     *
+     * @return {@code true} for {@link #CAPTURE}
+     */
+    public boolean isSuppressionEnabled() {
+        return this == CAPTURE;
+    }
+
+    /**
+     * Reads the default policy from the system property. An unknown value falls back to
+     * {@link #CAPTURE} rather than failing, since failing here would break the class
+     * initialization of every exception of the library.
+     */
+    private static StackTracePolicy fromSystemProperty() {
+        final String value = System.getProperty(PROPERTY);
+        if (value == null || value.isBlank()) {
+            return CAPTURE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return CAPTURE;
+        }
+    }
+}
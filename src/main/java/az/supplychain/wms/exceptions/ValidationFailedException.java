@@ -25,6 +25,32 @@ public class ValidationFailedException extends Exception {
      * @param exception the detail message explaining the reason for the validation failure
      */
     public ValidationFailedException(final String exception) {
-        super(exception);
+        this(StackTracePolicy.getDefault(), exception);
+    }
+
+    /**
+     * Constructs a new {@code ValidationFailedException} with the specified stack trace policy and
+     * exception message.
+     *
+     * @param stackTracePolicy whether the exception captures its stack trace
+     * @param exception        the detail message explaining the reason for the validation failure
+     */
+    public ValidationFailedException(final StackTracePolicy stackTracePolicy, final String exception) {
+        super(
+                exception,
+                null,
+                stackTracePolicy.isSuppressionEnabled(),
+                stackTracePolicy.isWritableStackTrace());
+    }
+
+    /**
+     * Creates a {@code ValidationFailedException} without a stack trace, whatever the default
+     * {@link StackTracePolicy}.
+     *
+     * @param exception the detail message explaining the reason for the validation failure
+     * @return the exception
+     */
+    public static ValidationFailedException stackless(final String exception) {
+        return new ValidationFailedException(StackTracePolicy.OMIT, exception);
     }
 }
@@ -0,0 +1,103 @@
+/*
+ *  SanitizedStackTrace.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.logging;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Renders the stack trace of an exception like {@link Throwable#printStackTrace()}, with the
+ * message of the exception and of each of its causes and suppressed exceptions passed through a
+ * sanitizer.
+ *
+ * <p>Handing the exception itself to the logger would let the logging framework print the
+ * messages as they are, including the passwords or tokens the error response masks. The frames
+ * are kept as they are; like the JDK, the frames a cause shares with the exception enclosing it
+ * are elided as {@code ... N more}.
+ */
+public final class SanitizedStackTrace {
+
+  private static final String CAUSE_CAPTION = "Caused by: ";
+  private static final String SUPPRESSED_CAPTION = "Suppressed: ";
+  private static final int INITIAL_BUFFER_SIZE = 2048;
+
+  private SanitizedStackTrace() {}
+
+  /**
+   * Renders the stack trace of an exception with sanitized messages.
+   *
+   * @param throwable the exception
+   * @param sanitizer the sanitizer applied to the {@code toString()} of every exception printed
+   * @return the stack trace, without trailing line separator
+   */
+  public static String render(final Throwable throwable, final UnaryOperator<String> sanitizer) {
+    final StringBuilder out = new StringBuilder(INITIAL_BUFFER_SIZE);
+    final Set<Throwable> printed = Collections.newSetFromMap(new IdentityHashMap<>());
+    printed.add(throwable);
+    out.append(sanitizer.apply(throwable.toString()));
+    final StackTraceElement[] trace = throwable.getStackTrace();
+    for (StackTraceElement frame : trace) {
+      out.append(System.lineSeparator()).append("\tat ").append(frame);
+    }
+    for (Throwable suppressed : throwable.getSuppressed()) {
+      appendEnclosed(out, suppressed, trace, SUPPRESSED_CAPTION, "\t", printed, sanitizer);
+    }
+    final Throwable cause = throwable.getCause();
+    if (cause != null) {
+      appendEnclosed(out, cause, trace, CAUSE_CAPTION, "", printed, sanitizer);
+    }
+    return out.toString();
+  }
+
+  private static void appendEnclosed(
+      final StringBuilder out,
+      final Throwable throwable,
+      final StackTraceElement[] enclosingTrace,
+      final String caption,
+      final String prefix,
+      final Set<Throwable> printed,
+      final UnaryOperator<String> sanitizer) {
+    out.append(System.lineSeparator());
+    if (!printed.add(throwable)) {
+      out.append(prefix)
+          .append(caption)
+          .append("[CIRCULAR REFERENCE: ")
+          .append(sanitizer.apply(throwable.toString()))
+          .append(']');
+      return;
+    }
+    final StackTraceElement[] trace = throwable.getStackTrace();
+    int m = trace.length - 1;
+    int n = enclosingTrace.length - 1;
+    while (m >= 0 && n >= 0 && trace[m].equals(enclosingTrace[n])) {
+      m--;
+      n--;
+    }
+    final int framesInCommon = trace.length - 1 - m;
+    out.append(prefix).append(caption).append(sanitizer.apply(throwable.toString()));
+    for (int i = 0; i <= m; i++) {
+      out.append(System.lineSeparator()).append(prefix).append("\tat ").append(trace[i]);
+    }
+    if (framesInCommon != 0) {
+      out.append(System.lineSeparator())
+          .append(prefix)
+          .append("\t... ")
+          .append(framesInCommon)
+          .append(" more");
+    }
+    for (Throwable suppressed : throwable.getSuppressed()) {
+      appendEnclosed(
+          out, suppressed, trace, SUPPRESSED_CAPTION, prefix + "\t", printed, sanitizer);
+    }
+    final Throwable cause = throwable.getCause();
+    if (cause != null) {
+      appendEnclosed(out, cause, trace, CAUSE_CAPTION, prefix, printed, sanitizer);
+    }
+  }
+}
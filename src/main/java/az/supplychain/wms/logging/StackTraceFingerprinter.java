@@ -0,0 +1,133 @@
+/*
+ *  StackTraceFingerprinter.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.logging;
+
+import az.supplychain.wms.ExceptionProperties;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Computes the fingerprint of an exception: a 64-bit FNV-1a hash of its class and the top frames
+ * of its stack trace, then of the class and top frames of each of its causes. Exceptions thrown
+ * by the same code path share a fingerprint whatever their message, which usually embeds
+ * identifiers or timestamps.
+ *
+ * <p>The hash of a class is cached on the class through a {@link ClassValue}, and the hashes of
+ * the frames in a bounded map, so that fingerprinting an exception seen before only combines a
+ * few cached values. The hash is not cryptographic; two different failures may collide, which
+ * only merges their statistics.
+ */
+@Component
+public class StackTraceFingerprinter {
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+  private static final int MAX_CAUSES = 8;
+  private static final int MAX_CACHED_FRAMES = 8192;
+
+  private static final ClassValue<Long> CLASS_HASHES =
+      new ClassValue<>() {
+        @Override
+        protected Long computeValue(final Class<?> type) {
+          return hash(FNV_OFFSET_BASIS, type.getName());
+        }
+      };
+
+  private final int frames;
+
+  private final Map<StackTraceElement, Long> frameHashes = new ConcurrentHashMap<>();
+
+  /** Creates a fingerprinter with the default configuration. */
+  public StackTraceFingerprinter() {
+    this(new ExceptionProperties.Unexpected().getFingerprintFrames());
+  }
+
+  /**
+   * Creates a fingerprinter configured by the given properties.
+   *
+   * @param properties the exception handling properties
+   */
+  @Autowired
+  public StackTraceFingerprinter(final ExceptionProperties properties) {
+    this(properties.getUnexpected().getFingerprintFrames());
+  }
+
+  /**
+   * Creates a fingerprinter hashing the given number of frames per exception.
+   *
+   * @param frames the number of top frames of each exception of the cause chain to hash
+   */
+  public StackTraceFingerprinter(final int frames) {
+    this.frames = Math.max(0, frames);
+  }
+
+  /**
+   * Returns the fingerprint of an exception.
+   *
+   * @param throwable the exception
+   * @return the hash of the class and top frames of the exception and of its causes
+   */
+  public long fingerprint(final Throwable throwable) {
+    long hash = FNV_OFFSET_BASIS;
+    Throwable current = throwable;
+    for (int depth = 0; current != null && depth < MAX_CAUSES; depth++) {
+      hash = combine(hash, CLASS_HASHES.get(current.getClass()));
+      final StackTraceElement[] stackTrace = current.getStackTrace();
+      final int length = Math.min(frames, stackTrace.length);
+      for (int i = 0; i < length; i++) {
+        hash = combine(hash, frameHash(stackTrace[i]));
+      }
+      final Throwable cause = current.getCause();
+      current = cause == current ? null : cause;
+    }
+    return hash;
+  }
+
+  /**
+   * Returns the fingerprint as the 16 hexadecimal digits it is logged and exposed with.
+   *
+   * @param fingerprint the fingerprint
+   * @return the fingerprint in hexadecimal
+   */
+  public static String toHex(final long fingerprint) {
+    final String hex = Long.toHexString(fingerprint);
+    return "0".repeat(16 - hex.length()) + hex;
+  }
+
+  private long frameHash(final StackTraceElement frame) {
+    final Long cached = frameHashes.get(frame);
+    if (cached != null) {
+      return cached;
+    }
+    long hash = hash(FNV_OFFSET_BASIS, frame.getClassName());
+    hash = hash(hash, frame.getMethodName());
+    hash = combine(hash, frame.getLineNumber());
+    if (frameHashes.size() < MAX_CACHED_FRAMES) {
+      frameHashes.put(frame, hash);
+    }
+    return hash;
+  }
+
+  private static long hash(final long seed, final String value) {
+    long hash = seed;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+    }
+    return hash;
+  }
+
+  private static long combine(final long seed, final long value) {
+    long hash = seed;
+    for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+      hash = (hash ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+    }
+    return hash;
+  }
+}
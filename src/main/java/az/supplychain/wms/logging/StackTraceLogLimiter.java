@@ -0,0 +1,134 @@
+/*
+ *  StackTraceLogLimiter.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.logging;
+
+import az.supplychain.wms.ExceptionProperties;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits the stack traces logged for unexpected exceptions to the first occurrences of each
+ * fingerprint per time window, so that an outage failing every request the same way logs a few
+ * stack traces per minute instead of millions.
+ *
+ * <p>Every fingerprint has a token bucket holding {@code stackTracesPerWindow} tokens, refilled
+ * at the start of every window. The bucket is a single {@link AtomicLong} packing the index of the
+ * current window with the number of tokens taken in it, updated by compare-and-set, so concurrent
+ * threads never block. Occurrences finding the bucket empty only increment a counter; the number
+ * of occurrences suppressed since the last logged one is handed to the next logged occurrence.
+ *
+ * <p>At most {@code maxFingerprints} fingerprints get their own bucket; the occurrences of the
+ * others share a single overflow bucket.
+ */
+@Component
+public class StackTraceLogLimiter {
+
+  /** Returned by {@link #tryAcquire} when the occurrence must not be logged. */
+  public static final long SUPPRESSED = -1;
+
+  private static final int COUNT_BITS = 20;
+  private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+  private final int stackTracesPerWindow;
+  private final long windowNanos;
+  private final int maxFingerprints;
+  private final LongSupplier nanoClock;
+  private final long origin;
+
+  private final Map<Long, Bucket> buckets = new ConcurrentHashMap<>();
+  private final Bucket overflowBucket = new Bucket();
+  private final LongAdder suppressedCount = new LongAdder();
+
+  /** Creates a limiter with the default configuration. */
+  public StackTraceLogLimiter() {
+    this(new ExceptionProperties.Unexpected(), System::nanoTime);
+  }
+
+  /**
+   * Creates a limiter configured by the given properties.
+   *
+   * @param properties the exception handling properties
+   */
+  @Autowired
+  public StackTraceLogLimiter(final ExceptionProperties properties) {
+    this(properties.getUnexpected(), System::nanoTime);
+  }
+
+  /**
+   * Creates a limiter reading the time from the given clock.
+   *
+   * @param unexpected the unexpected exception properties
+   * @param nanoClock the clock, in nanoseconds, such as {@link System#nanoTime()}
+   */
+  public StackTraceLogLimiter(
+      final ExceptionProperties.Unexpected unexpected, final LongSupplier nanoClock) {
+    this.stackTracesPerWindow = (int) Math.min(COUNT_MASK, unexpected.getStackTracesPerWindow());
+    this.windowNanos = Math.max(1, unexpected.getWindow().toNanos());
+    this.maxFingerprints = unexpected.getMaxFingerprints();
+    this.nanoClock = nanoClock;
+    this.origin = nanoClock.getAsLong();
+  }
+
+  /**
+   * Takes a token from the bucket of the given fingerprint.
+   *
+   * @param fingerprint the fingerprint of the exception, see {@link StackTraceFingerprinter}
+   * @return {@link #SUPPRESSED} if the bucket is empty and the occurrence must not be logged, the
+   *     number of occurrences suppressed since the last logged one otherwise
+   */
+  public long tryAcquire(final long fingerprint) {
+    final Bucket bucket = bucket(fingerprint);
+    final long window = (nanoClock.getAsLong() - origin) / windowNanos;
+    while (true) {
+      final long state = bucket.state.get();
+      final long taken = (state >>> COUNT_BITS) == window ? state & COUNT_MASK : 0;
+      if (taken >= stackTracesPerWindow) {
+        bucket.suppressed.increment();
+        suppressedCount.increment();
+        return SUPPRESSED;
+      }
+      if (bucket.state.compareAndSet(state, (window << COUNT_BITS) | (taken + 1))) {
+        return bucket.suppressed.sumThenReset();
+      }
+    }
+  }
+
+  /**
+   * Returns the number of occurrences whose stack trace was not logged since the limiter was
+   * created.
+   *
+   * @return the total number of suppressed occurrences
+   */
+  public long getSuppressedCount() {
+    return suppressedCount.sum();
+  }
+
+  private Bucket bucket(final long fingerprint) {
+    final Bucket bucket = buckets.get(fingerprint);
+    if (bucket != null) {
+      return bucket;
+    }
+    if (buckets.size() >= maxFingerprints) {
+      return overflowBucket;
+    }
+    return buckets.computeIfAbsent(fingerprint, k -> new Bucket());
+  }
+
+  /** The token bucket of a fingerprint. */
+  private static final class Bucket {
+
+    /** The index of the current window shifted left by 20 bits, ored with the tokens taken. */
+    private final AtomicLong state = new AtomicLong(-1L << COUNT_BITS);
+
+    private final LongAdder suppressed = new LongAdder();
+  }
+}
@@ -0,0 +1,254 @@
+/*
+ *  MessageTemplate.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.message;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precompiled error message template with {@code {}} placeholders, such as {@code "Could not find
+ * the {} method for URL {}: {}"}.
+ *
+ * <p>The template is parsed once, when it is compiled, typically into a constant. Rendering then
+ * only appends the literal parts and the arguments, each argument being rendered with {@link
+ * String#valueOf(Object)} like the {@code %s} conversion of {@link String#format}. The message is
+ * built in a per-thread {@link StringBuilder} reused across calls and sized from the template, so
+ * the only allocation of a rendering is the resulting string. Fixed-arity overloads avoid the
+ * varargs array on the common paths.
+ *
+ * <p>A template cannot contain a literal {@code {}}. Instances are immutable and thread-safe, and
+ * can be used by custom handlers as well:
+ *
+ * <pre>{@code
+ * private static final MessageTemplate LOCATION_LOCKED =
+ *     MessageTemplate.compile("Location {} is locked by task {}");
+ * ...
+ * String message = LOCATION_LOCKED.format(locationId, taskId);
+ * }</pre>
+ */
+public final class MessageTemplate {
+
+  private static final String PLACEHOLDER = "{}";
+
+  /** Expected length of a rendered argument, used to size the builder. */
+  private static final int ARGUMENT_LENGTH_HINT = 16;
+
+  private static final int INITIAL_CAPACITY = 256;
+
+  /** Builders grown beyond this capacity are not kept for reuse. */
+  private static final int MAX_REUSED_CAPACITY = 8 * 1024;
+
+  private static final ThreadLocal<ReusableBuilder> BUILDER =
+      ThreadLocal.withInitial(ReusableBuilder::new);
+
+  private final String template;
+  private final String[] literals;
+  private final int lengthHint;
+
+  private MessageTemplate(final String template, final String[] literals) {
+    this.template = template;
+    this.literals = literals;
+    this.lengthHint = template.length() + (literals.length - 1) * ARGUMENT_LENGTH_HINT;
+  }
+
+  /**
+   * Compiles the given template.
+   *
+   * @param template the template, whose {@code {}} are replaced by the arguments in order
+   * @return the compiled template
+   */
+  public static MessageTemplate compile(final String template) {
+    final List<String> literals = new ArrayList<>();
+    int start = 0;
+    int placeholder = template.indexOf(PLACEHOLDER);
+    while (placeholder >= 0) {
+      literals.add(template.substring(start, placeholder));
+      start = placeholder + PLACEHOLDER.length();
+      placeholder = template.indexOf(PLACEHOLDER, start);
+    }
+    literals.add(template.substring(start));
+    return new MessageTemplate(template, literals.toArray(new String[0]));
+  }
+
+  /**
+   * Returns the number of placeholders of the template.
+   *
+   * @return the number of arguments the template expects
+   */
+  public int getArgumentCount() {
+    return literals.length - 1;
+  }
+
+  /**
+   * Renders the template with a single argument.
+   *
+   * @param arg0 the first argument
+   * @return the rendered message
+   */
+  public String format(final Object arg0) {
+    final StringBuilder builder = acquire();
+    try {
+      append(builder, 0, arg0);
+      return finish(builder, 1);
+    } finally {
+      release(builder);
+    }
+  }
+
+  /**
+   * Renders the template with two arguments.
+   *
+   * @param arg0 the first argument
+   * @param arg1 the second argument
+   * @return the rendered message
+   */
+  public String format(final Object arg0, final Object arg1) {
+    final StringBuilder builder = acquire();
+    try {
+      append(builder, 0, arg0);
+      append(builder, 1, arg1);
+      return finish(builder, 2);
+    } finally {
+      release(builder);
+    }
+  }
+
+  /**
+   * Renders the template with three arguments.
+   *
+   * @param arg0 the first argument
+   * @param arg1 the second argument
+   * @param arg2 the third argument
+   * @return the rendered message
+   */
+  public String format(final Object arg0, final Object arg1, final Object arg2) {
+    final StringBuilder builder = acquire();
+    try {
+      append(builder, 0, arg0);
+      append(builder, 1, arg1);
+      append(builder, 2, arg2);
+      return finish(builder, 3);
+    } finally {
+      release(builder);
+    }
+  }
+
+  /**
+   * Renders the template with four arguments.
+   *
+   * @param arg0 the first argument
+   * @param arg1 the second argument
+   * @param arg2 the third argument
+   * @param arg3 the fourth argument
+   * @return the rendered message
+   */
+  public String format(
+      final Object arg0, final Object arg1, final Object arg2, final Object arg3) {
+    final StringBuilder builder = acquire();
+    try {
+      append(builder, 0, arg0);
+      append(builder, 1, arg1);
+      append(builder, 2, arg2);
+      append(builder, 3, arg3);
+      return finish(builder, 4);
+    } finally {
+      release(builder);
+    }
+  }
+
+  /**
+   * Renders the template with any number of arguments.
+   *
+   * @param args the arguments
+   * @return the rendered message
+   */
+  public String format(final Object... args) {
+    final StringBuilder builder = acquire();
+    try {
+      for (int i = 0; i < args.length; i++) {
+        append(builder, i, args[i]);
+      }
+      return finish(builder, args.length);
+    } finally {
+      release(builder);
+    }
+  }
+
+  /**
+   * Appends the template rendered with the given arguments to a builder.
+   *
+   * @param builder the builder to append to
+   * @param args the arguments
+   * @return the given builder
+   */
+  public StringBuilder appendTo(final StringBuilder builder, final Object... args) {
+    builder.ensureCapacity(builder.length() + lengthHint);
+    for (int i = 0; i < args.length; i++) {
+      append(builder, i, args[i]);
+    }
+    appendRemaining(builder, args.length);
+    return builder;
+  }
+
+  @Override
+  public String toString() {
+    return template;
+  }
+
+  /**
+   * Returns the builder of the current thread, or a new builder if it is already in use because an
+   * argument renders itself with a template.
+   */
+  private StringBuilder acquire() {
+    final ReusableBuilder reusable = BUILDER.get();
+    if (reusable.inUse) {
+      return new StringBuilder(lengthHint);
+    }
+    reusable.inUse = true;
+    final StringBuilder builder = reusable.builder;
+    builder.setLength(0);
+    builder.ensureCapacity(lengthHint);
+    return builder;
+  }
+
+  private static void release(final StringBuilder builder) {
+    final ReusableBuilder reusable = BUILDER.get();
+    if (reusable.builder == builder) {
+      reusable.inUse = false;
+      if (builder.capacity() > MAX_REUSED_CAPACITY) {
+        reusable.builder = new StringBuilder(INITIAL_CAPACITY);
+      }
+    }
+  }
+
+  private void append(final StringBuilder builder, final int index, final Object arg) {
+    if (index < literals.length - 1) {
+      builder.append(literals[index]).append(arg);
+    }
+  }
+
+  /** Appends the literals following the given number of arguments, placeholders left as is. */
+  private void appendRemaining(final StringBuilder builder, final int argumentCount) {
+    final int rendered = Math.min(argumentCount, literals.length - 1);
+    builder.append(literals[rendered]);
+    for (int i = rendered + 1; i < literals.length; i++) {
+      builder.append(PLACEHOLDER).append(literals[i]);
+    }
+  }
+
+  private String finish(final StringBuilder builder, final int argumentCount) {
+    appendRemaining(builder, argumentCount);
+    return builder.toString();
+  }
+
+  /** The builder reused by the renderings of a thread. */
+  private static final class ReusableBuilder {
+
+    private StringBuilder builder = new StringBuilder(INITIAL_CAPACITY);
+    private boolean inUse;
+  }
+}
@@ -0,0 +1,423 @@
+/*
+ *  ErrorResponseTemplates.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+/**
+ * Pre-encoded UTF-8 templates of the error responses without details.
+ *
+ * <p>Apart from the message, the timestamp and the correlation id, the JSON body of an error
+ * without details only depends on its status code. For every status code, this class serializes
+ * once, at startup, a body holding sentinel values with the same {@link ObjectWriter} that renders
+ * the regular responses, and splits the resulting bytes around the sentinels. At request time only
+ * the variable values are JSON escaped and encoded, and the constant fragments are written as is
+ * to the servlet output stream, without building a {@code ResponseEntity} nor going through
+ * Jackson.
+ *
+ * <p>Since the templates are cut out of the writer's own output, field names, field order and the
+ * handling of a missing correlation id are exactly the ones of the writer. The escaping of the
+ * variable values is checked against the writer when the templates are compiled; if the writer is
+ * configured to escape differently, the templates are disabled and every response falls back to
+ * the regular rendering.
+ */
+@Slf4j
+public final class ErrorResponseTemplates {
+
+  private static final int MAX_STATUS = 600;
+
+  private static final int MESSAGE = 0;
+  private static final int TIMESTAMP = 1;
+  private static final int CORRELATION_ID = 2;
+
+  private static final String[] SENTINELS = {
+    "wmsTemplateMessage9c1f", "wmsTemplateTimestamp9c1f", "wmsTemplateCorrelationId9c1f"
+  };
+
+  private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+  private static final String SELF_CHECK_MESSAGE =
+      "Quote \" backslash \\ slash / tab \t newline \n nul \u0000 unit \u001f del \u007f"
+          + " latin \u00e9 cjk \u4e2d separator \u2028 emoji \ud83d\ude00";
+
+  private final Template[] withCorrelationId;
+  private final Template[] withoutCorrelationId;
+
+  private ErrorResponseTemplates(
+      final Template[] withCorrelationId, final Template[] withoutCorrelationId) {
+    this.withCorrelationId = withCorrelationId;
+    this.withoutCorrelationId = withoutCorrelationId;
+  }
+
+  /**
+   * Creates the body of an error response without details, exactly as the regular rendering does.
+   * A body may leave out the message, the timestamp or the correlation id; its templates then have
+   * no slot for them.
+   */
+  @FunctionalInterface
+  public interface ErrorBodyFactory {
+
+    /**
+     * Creates the error body.
+     *
+     * @param status the HTTP status code
+     * @param message the error message
+     * @param timestamp the formatted timestamp
+     * @param correlationId the correlation id, may be {@code null}
+     * @return the body to serialize
+     */
+    Object create(int status, String message, String timestamp, String correlationId);
+  }
+
+  /**
+   * Compiles the templates of every standard HTTP status code.
+   *
+   * @param objectWriter the writer rendering the regular error responses
+   * @param bodyFactory the factory of the regular error bodies
+   * @return the templates, or {@code null} if they cannot reproduce the writer's output
+   */
+  public static ErrorResponseTemplates compile(
+      final ObjectWriter objectWriter, final ErrorBodyFactory bodyFactory) {
+    final Template[] withCorrelationId = new Template[MAX_STATUS];
+    final Template[] withoutCorrelationId = new Template[MAX_STATUS];
+    try {
+      for (HttpStatus status : HttpStatus.values()) {
+        final int code = status.value();
+        withCorrelationId[code] =
+            Template.parse(
+                objectWriter.writeValueAsBytes(
+                    bodyFactory.create(
+                        code,
+                        SENTINELS[MESSAGE],
+                        SENTINELS[TIMESTAMP],
+                        SENTINELS[CORRELATION_ID])));
+        withoutCorrelationId[code] =
+            Template.parse(
+                objectWriter.writeValueAsBytes(
+                    bodyFactory.create(code, SENTINELS[MESSAGE], SENTINELS[TIMESTAMP], null)));
+      }
+      final ErrorResponseTemplates templates =
+          new ErrorResponseTemplates(withCorrelationId, withoutCorrelationId);
+      if (!templates.matches(objectWriter, bodyFactory)) {
+        log.warn("Error response templates do not match the configured JSON writer, disabling them");
+        return null;
+      }
+      return templates;
+    } catch (JsonProcessingException e) {
+      log.warn("Error response templates could not be compiled, disabling them", e);
+      return null;
+    }
+  }
+
+  /**
+   * Writes the error response of the given status code if a template is available for it.
+   *
+   * <p>The method performs the following steps:
+   *
+   * <ol>
+   *   <li>Selects the template of the status code, with or without correlation id.
+   *   <li>JSON escapes and encodes the message, timestamp and correlation id.
+   *   <li>Sets the status, the JSON content type and the content length of the response.
+   *   <li>Writes the constant fragments and the encoded values to the servlet output stream.
+   * </ol>
+   *
+   * @param response the response to write to
+   * @param status the HTTP status code
+   * @param message the error message
+   * @param timestamp the formatted timestamp
+   * @param correlationId the correlation id, may be {@code null}
+   * @return {@code true} if the response was written, {@code false} if the caller has to fall
+   *     back to the regular rendering
+   * @throws IOException if the response cannot be written
+   */
+  public boolean write(
+      final HttpServletResponse response,
+      final int status,
+      final String message,
+      final String timestamp,
+      final String correlationId)
+      throws IOException {
+    final Rendering rendering = prepare(status, message, timestamp, correlationId);
+    if (rendering == null) {
+      return false;
+    }
+    response.setStatus(status);
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setContentLength(rendering.length);
+    rendering.writeTo(response.getOutputStream());
+    return true;
+  }
+
+  private Rendering prepare(
+      final int status, final String message, final String timestamp, final String correlationId) {
+    if (status < 0 || status >= MAX_STATUS || message == null || timestamp == null) {
+      return null;
+    }
+    final Template template =
+        correlationId != null ? withCorrelationId[status] : withoutCorrelationId[status];
+    if (template == null) {
+      return null;
+    }
+    final byte[][] values = new byte[template.slots.length][];
+    int length = template.fixedLength;
+    for (int i = 0; i < values.length; i++) {
+      final String value;
+      switch (template.slots[i]) {
+        case MESSAGE:
+          value = message;
+          break;
+        case TIMESTAMP:
+          value = timestamp;
+          break;
+        default:
+          value = correlationId;
+          break;
+      }
+      values[i] = quote(value);
+      if (values[i] == null) {
+        return null;
+      }
+      length += values[i].length;
+    }
+    return new Rendering(template, values, length);
+  }
+
+  private boolean matches(final ObjectWriter objectWriter, final ErrorBodyFactory bodyFactory)
+      throws JsonProcessingException {
+    for (String correlationId : new String[] {"corr-\"1\"\u00e9", null}) {
+      final Rendering rendering =
+          prepare(400, SELF_CHECK_MESSAGE, "2024-01-01T00:00:00.000Z", correlationId);
+      if (rendering == null) {
+        return false;
+      }
+      final ByteArrayOutputStream rendered = new ByteArrayOutputStream(rendering.length);
+      try {
+        rendering.writeTo(rendered);
+      } catch (IOException e) {
+        return false;
+      }
+      final byte[] expected =
+          objectWriter.writeValueAsBytes(
+              bodyFactory.create(
+                  400, SELF_CHECK_MESSAGE, "2024-01-01T00:00:00.000Z", correlationId));
+      if (!Arrays.equals(expected, rendered.toByteArray())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Encodes the value as a quoted JSON string in UTF-8, escaping it like Jackson does by default:
+   * short escapes for quotes, backslashes and common control characters, unicode escapes for
+   * the other control characters and for surrogate pairs. Returns {@code null} for values holding
+   * an unpaired surrogate, left to Jackson.
+   */
+  static byte[] quote(final String value) {
+    final int length = value.length();
+    int size = 2;
+    for (int i = 0; i < length; i++) {
+      final char c = value.charAt(i);
+      if (c < 0x80) {
+        size += escapedAsciiLength(c);
+      } else if (c < 0x800) {
+        size += 2;
+      } else if (Character.isSurrogate(c)) {
+        if (!Character.isHighSurrogate(c)
+            || i + 1 >= length
+            || !Character.isLowSurrogate(value.charAt(i + 1))) {
+          return null;
+        }
+        size += 12;
+        i++;
+      } else {
+        size += 3;
+      }
+    }
+    final byte[] bytes = new byte[size];
+    int pos = 0;
+    bytes[pos++] = '"';
+    for (int i = 0; i < length; i++) {
+      final char c = value.charAt(i);
+      if (c < 0x80) {
+        pos = writeAscii(bytes, pos, c);
+      } else if (c < 0x800) {
+        bytes[pos++] = (byte) (0xC0 | (c >> 6));
+        bytes[pos++] = (byte) (0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c)) {
+        // Jackson writes characters outside the basic plane as escaped surrogate pairs.
+        pos = writeUnicodeEscape(bytes, pos, c);
+        pos = writeUnicodeEscape(bytes, pos, value.charAt(++i));
+      } else {
+        bytes[pos++] = (byte) (0xE0 | (c >> 12));
+        bytes[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        bytes[pos++] = (byte) (0x80 | (c & 0x3F));
+      }
+    }
+    bytes[pos] = '"';
+    return bytes;
+  }
+
+  private static int escapedAsciiLength(final char c) {
+    if (c == '"' || c == '\\' || c == '\b' || c == '\t' || c == '\n' || c == '\f' || c == '\r') {
+      return 2;
+    }
+    return c < 0x20 ? 6 : 1;
+  }
+
+  private static int writeAscii(final byte[] bytes, final int start, final char c) {
+    int pos = start;
+    switch (c) {
+      case '"':
+      case '\\':
+        bytes[pos++] = '\\';
+        bytes[pos++] = (byte) c;
+        return pos;
+      case '\b':
+        bytes[pos++] = '\\';
+        bytes[pos++] = 'b';
+        return pos;
+      case '\t':
+        bytes[pos++] = '\\';
+        bytes[pos++] = 't';
+        return pos;
+      case '\n':
+        bytes[pos++] = '\\';
+        bytes[pos++] = 'n';
+        return pos;
+      case '\f':
+        bytes[pos++] = '\\';
+        bytes[pos++] = 'f';
+        return pos;
+      case '\r':
+        bytes[pos++] = '\\';
+        bytes[pos++] = 'r';
+        return pos;
+      default:
+        if (c < 0x20) {
+          return writeUnicodeEscape(bytes, pos, c);
+        }
+        bytes[pos++] = (byte) c;
+        return pos;
+    }
+  }
+
+  private static int writeUnicodeEscape(final byte[] bytes, final int start, final char c) {
+    int pos = start;
+    bytes[pos++] = '\\';
+    bytes[pos++] = 'u';
+    bytes[pos++] = HEX[c >> 12];
+    bytes[pos++] = HEX[(c >> 8) & 0xF];
+    bytes[pos++] = HEX[(c >> 4) & 0xF];
+    bytes[pos++] = HEX[c & 0xF];
+    return pos;
+  }
+
+  /** Constant fragments of a body, interleaved with the slots of its variable values. */
+  private static final class Template {
+
+    private final byte[][] fragments;
+    private final int[] slots;
+    private final int fixedLength;
+
+    private Template(final byte[][] fragments, final int[] slots) {
+      this.fragments = fragments;
+      this.slots = slots;
+      int length = 0;
+      for (byte[] fragment : fragments) {
+        length += fragment.length;
+      }
+      this.fixedLength = length;
+    }
+
+    /** Splits the probe body around the quoted sentinels, or returns null if one is ambiguous. */
+    private static Template parse(final byte[] probe) {
+      final int[] positions = new int[SENTINELS.length];
+      final byte[][] quotedSentinels = new byte[SENTINELS.length][];
+      int found = 0;
+      for (int slot = 0; slot < SENTINELS.length; slot++) {
+        quotedSentinels[slot] =
+            ('"' + SENTINELS[slot] + '"').getBytes(StandardCharsets.UTF_8);
+        positions[slot] = indexOf(probe, quotedSentinels[slot], 0);
+        if (positions[slot] >= 0) {
+          if (indexOf(probe, quotedSentinels[slot], positions[slot] + 1) >= 0) {
+            return null;
+          }
+          found++;
+        }
+      }
+      final int[] slots = new int[found];
+      int next = 0;
+      for (int slot = 0; slot < SENTINELS.length; slot++) {
+        if (positions[slot] >= 0) {
+          slots[next++] = slot;
+        }
+      }
+      // Order the slots by their position in the body.
+      for (int i = 1; i < slots.length; i++) {
+        for (int j = i; j > 0 && positions[slots[j - 1]] > positions[slots[j]]; j--) {
+          final int swap = slots[j];
+          slots[j] = slots[j - 1];
+          slots[j - 1] = swap;
+        }
+      }
+      final byte[][] fragments = new byte[slots.length + 1][];
+      int from = 0;
+      for (int i = 0; i < slots.length; i++) {
+        fragments[i] = Arrays.copyOfRange(probe, from, positions[slots[i]]);
+        from = positions[slots[i]] + quotedSentinels[slots[i]].length;
+      }
+      fragments[slots.length] = Arrays.copyOfRange(probe, from, probe.length);
+      return new Template(fragments, slots);
+    }
+
+    private static int indexOf(final byte[] bytes, final byte[] target, final int from) {
+      outer:
+      for (int i = from; i <= bytes.length - target.length; i++) {
+        for (int j = 0; j < target.length; j++) {
+          if (bytes[i + j] != target[j]) {
+            continue outer;
+          }
+        }
+        return i;
+      }
+      return -1;
+    }
+  }
+
+  /** The encoded values of one response, ready to be written with their template. */
+  private static final class Rendering {
+
+    private final Template template;
+    private final byte[][] values;
+    private final int length;
+
+    private Rendering(final Template template, final byte[][] values, final int length) {
+      this.template = template;
+      this.values = values;
+      this.length = length;
+    }
+
+    private void writeTo(final OutputStream out) throws IOException {
+      for (int i = 0; i < values.length; i++) {
+        out.write(template.fragments[i]);
+        out.write(values[i]);
+      }
+      out.write(template.fragments[values.length]);
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ *  ErrorResponseWriter.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.response;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes error bodies as JSON directly to the servlet response.
+ *
+ * <p>This writer is used where there is no {@code ResponseEntity} and message converter to rely
+ * on, such as the security entry point and access denied handler. The body is serialized through a
+ * {@link JsonGenerator} as UTF-8 bytes into a small buffer, which gives the content length of the
+ * response, and the buffer is then copied as is to the servlet output stream. No intermediate
+ * {@code String} is built and no character encoding happens on the way out.
+ *
+ * <p>The application's {@link ObjectMapper} is used when there is a single one in the context, so
+ * error bodies are serialized like every other response; otherwise a shared default writer is
+ * used.
+ */
+@Component
+public class ErrorResponseWriter {
+
+  private static final ObjectWriter DEFAULT_WRITER = new ObjectMapper().writer();
+
+  private static final int INITIAL_BUFFER_SIZE = 512;
+
+  private final ObjectWriter objectWriter;
+
+  /** Creates a writer using the shared default object writer. */
+  public ErrorResponseWriter() {
+    this(DEFAULT_WRITER);
+  }
+
+  /**
+   * Creates a writer serializing with the given object writer.
+   *
+   * @param objectWriter the writer used to serialize error bodies
+   */
+  public ErrorResponseWriter(final ObjectWriter objectWriter) {
+    this.objectWriter = objectWriter;
+  }
+
+  /**
+   * Creates a writer serializing with the application's object mapper, if there is a single one.
+   *
+   * @param objectMapper the application's object mapper
+   */
+  @Autowired
+  public ErrorResponseWriter(final ObjectProvider<ObjectMapper> objectMapper) {
+    final ObjectMapper applicationMapper = objectMapper.getIfUnique();
+    this.objectWriter = applicationMapper != null ? applicationMapper.writer() : DEFAULT_WRITER;
+  }
+
+  /**
+   * Returns the object writer error bodies are serialized with.
+   *
+   * @return the object writer
+   */
+  public ObjectWriter getObjectWriter() {
+    return objectWriter;
+  }
+
+  /**
+   * Serializes the body as JSON and writes it to the response with the given status.
+   *
+   * <p>The method performs the following steps:
+   *
+   * <ol>
+   *   <li>Serializes the body through a JSON generator into a byte buffer.
+   *   <li>Sets the status, the JSON content type and the content length of the response.
+   *   <li>Copies the buffer to the servlet output stream.
+   * </ol>
+   *
+   * @param response the response to write to
+   * @param status the HTTP status code of the response
+   * @param body the error body to serialize
+   * @throws IOException if the body cannot be serialized or written
+   */
+  public void write(final HttpServletResponse response, final int status, final Object body)
+      throws IOException {
+    final ByteArrayOutputStream buffer = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+    try (JsonGenerator generator = objectWriter.createGenerator(buffer, JsonEncoding.UTF8)) {
+      objectWriter.writeValue(generator, body);
+    }
+    response.setStatus(status);
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setContentLength(buffer.size());
+    buffer.writeTo(response.getOutputStream());
+  }
+}
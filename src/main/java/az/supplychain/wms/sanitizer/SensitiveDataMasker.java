@@ -0,0 +1,341 @@
+/*
+ *  SensitiveDataMasker.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.sanitizer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Immutable multi-keyword matcher used to mask sensitive information in error messages.
+ *
+ * <p>The keywords are compiled once into an Aho-Corasick automaton, stored as a dense transition
+ * table over the (compressed) alphabet of the keywords. A message is then scanned in a single
+ * pass regardless of the number of keywords, without compiling any {@link java.util.regex.Pattern}
+ * and without allocating when the message contains no keyword.
+ *
+ * <p>The masking result is identical to applying {@code message.replaceAll(".*keyword.*",
+ * "[MASKED]")} for every keyword: each line that contains at least one keyword is replaced by
+ * {@link #MASK}, line terminators being the ones recognised by the regular expression {@code .}
+ * construct. Matching is case-sensitive.
+ */
+public final class SensitiveDataMasker {
+
+  /** The value every line containing sensitive information is replaced with. */
+  public static final String MASK = "[MASKED]";
+
+  /** The keywords masked when no explicit rule set is configured. */
+  public static final List<String> DEFAULT_KEYWORDS =
+      List.of("password", "secret", "token", "connection string");
+
+  private static final int ASCII_LIMIT = 128;
+  private static final int ROOT = 0;
+
+  private final int[] asciiClasses;
+  private final char[] extendedChars;
+  private final int[] extendedClasses;
+  private final int alphabetSize;
+  private final int[] transitions;
+  private final boolean[] accepting;
+  private final List<String> keywords;
+  private final int longestKeyword;
+
+  private SensitiveDataMasker(
+      final int[] asciiClasses,
+      final char[] extendedChars,
+      final int[] extendedClasses,
+      final int alphabetSize,
+      final int[] transitions,
+      final boolean[] accepting,
+      final List<String> keywords) {
+    this.asciiClasses = asciiClasses;
+    this.extendedChars = extendedChars;
+    this.extendedClasses = extendedClasses;
+    this.alphabetSize = alphabetSize;
+    this.transitions = transitions;
+    this.accepting = accepting;
+    this.keywords = keywords;
+    int longest = 0;
+    for (String keyword : keywords) {
+      longest = Math.max(longest, keyword.length());
+    }
+    this.longestKeyword = longest;
+  }
+
+  /**
+   * Compiles the given keywords into a masker. Null and empty keywords are ignored.
+   *
+   * @param keywords the literal keywords identifying sensitive lines
+   * @return the compiled masker
+   */
+  public static SensitiveDataMasker of(final Collection<String> keywords) {
+    final List<String> effectiveKeywords = new ArrayList<>();
+    final TreeSet<Character> alphabet = new TreeSet<>();
+    for (String keyword : keywords) {
+      if (keyword == null || keyword.isEmpty() || effectiveKeywords.contains(keyword)) {
+        continue;
+      }
+      effectiveKeywords.add(keyword);
+      for (int i = 0; i < keyword.length(); i++) {
+        alphabet.add(keyword.charAt(i));
+      }
+    }
+
+    // Class 0 stands for every character that does not occur in any keyword.
+    final int alphabetSize = alphabet.size() + 1;
+    final int[] asciiClasses = new int[ASCII_LIMIT];
+    final List<Character> extended = new ArrayList<>();
+    int nextClass = 1;
+    for (char c : alphabet) {
+      if (c < ASCII_LIMIT) {
+        asciiClasses[c] = nextClass++;
+      } else {
+        extended.add(c);
+      }
+    }
+    final char[] extendedChars = new char[extended.size()];
+    final int[] extendedClasses = new int[extended.size()];
+    for (int i = 0; i < extendedChars.length; i++) {
+      extendedChars[i] = extended.get(i);
+      extendedClasses[i] = nextClass++;
+    }
+
+    // Build the keyword trie; -1 marks a missing edge.
+    final List<int[]> trie = new ArrayList<>();
+    final List<Boolean> terminal = new ArrayList<>();
+    trie.add(newRow(alphabetSize));
+    terminal.add(Boolean.FALSE);
+    for (String keyword : effectiveKeywords) {
+      int state = ROOT;
+      for (int i = 0; i < keyword.length(); i++) {
+        final int charClass =
+            classOf(keyword.charAt(i), asciiClasses, extendedChars, extendedClasses);
+        if (trie.get(state)[charClass] < 0) {
+          trie.get(state)[charClass] = trie.size();
+          trie.add(newRow(alphabetSize));
+          terminal.add(Boolean.FALSE);
+        }
+        state = trie.get(state)[charClass];
+      }
+      terminal.set(state, Boolean.TRUE);
+    }
+
+    // Resolve failure links breadth first and turn the trie into a complete automaton.
+    final int stateCount = trie.size();
+    final int[] transitions = new int[stateCount * alphabetSize];
+    final boolean[] accepting = new boolean[stateCount];
+    final int[] failure = new int[stateCount];
+    final Deque<Integer> queue = new ArrayDeque<>();
+    for (int charClass = 0; charClass < alphabetSize; charClass++) {
+      final int next = trie.get(ROOT)[charClass];
+      if (next > 0) {
+        failure[next] = ROOT;
+        transitions[charClass] = next;
+        queue.add(next);
+      } else {
+        transitions[charClass] = ROOT;
+      }
+    }
+    accepting[ROOT] = terminal.get(ROOT);
+    while (!queue.isEmpty()) {
+      final int state = queue.poll();
+      accepting[state] = terminal.get(state) || accepting[failure[state]];
+      for (int charClass = 0; charClass < alphabetSize; charClass++) {
+        final int next = trie.get(state)[charClass];
+        if (next > 0) {
+          failure[next] = transitions[failure[state] * alphabetSize + charClass];
+          transitions[state * alphabetSize + charClass] = next;
+          queue.add(next);
+        } else {
+          transitions[state * alphabetSize + charClass] =
+              transitions[failure[state] * alphabetSize + charClass];
+        }
+      }
+    }
+
+    return new SensitiveDataMasker(
+        asciiClasses,
+        extendedChars,
+        extendedClasses,
+        alphabetSize,
+        transitions,
+        accepting,
+        List.copyOf(effectiveKeywords));
+  }
+
+  /**
+   * Returns the keywords this masker was compiled from.
+   *
+   * @return an immutable list of keywords
+   */
+  public List<String> getKeywords() {
+    return keywords;
+  }
+
+  /**
+   * Returns whether the given message contains at least one keyword.
+   *
+   * @param message the message to scan, may be {@code null}
+   * @return {@code true} if a keyword occurs in the message
+   */
+  public boolean matches(final CharSequence message) {
+    if (message == null) {
+      return false;
+    }
+    return matches(message, 0, message.length());
+  }
+
+  /**
+   * Returns whether the given range of a message contains at least one keyword.
+   *
+   * @param message the message to scan
+   * @param start the index of the first character of the range
+   * @param end the index following the last character of the range
+   * @return {@code true} if a keyword occurs in the range
+   */
+  public boolean matches(final CharSequence message, final int start, final int end) {
+    int state = ROOT;
+    for (int i = start; i < end; i++) {
+      state = transitions[state * alphabetSize + classOf(message.charAt(i))];
+      if (accepting[state]) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Masks every line of the message that contains at least one keyword.
+   *
+   * <p>The message is returned as is, without any copy, when no keyword occurs in it.
+   *
+   * @param message the message to mask, may be {@code null}
+   * @return the masked message, or {@code null} if the message was {@code null}
+   */
+  public String mask(final String message) {
+    if (message == null || transitions.length == alphabetSize) {
+      return message;
+    }
+    final int length = message.length();
+    StringBuilder masked = null;
+    int copied = 0;
+    int lineStart = 0;
+    int state = ROOT;
+    for (int i = 0; i < length; i++) {
+      final char c = message.charAt(i);
+      if (isLineTerminator(c)) {
+        state = ROOT;
+        lineStart = i + 1;
+        continue;
+      }
+      state = transitions[state * alphabetSize + classOf(c)];
+      if (accepting[state]) {
+        final int lineEnd = endOfLine(message, i + 1);
+        if (masked == null) {
+          masked = new StringBuilder(length);
+        }
+        masked.append(message, copied, lineStart).append(MASK);
+        copied = lineEnd;
+        state = ROOT;
+        // Resume on the line terminator, if any, so the next line starts afresh.
+        i = lineEnd - 1;
+      }
+    }
+    if (masked == null) {
+      return message;
+    }
+    return masked.append(message, copied, length).toString();
+  }
+
+  /**
+   * Cuts the message at the given index, replacing the kept part of the line it is cut in by
+   * {@link #MASK} if that line contains a keyword ending at most the length of the longest keyword
+   * minus one characters past the cut. The other lines are not masked.
+   *
+   * <p>A keyword straddling the cut is not found in the kept part alone, which {@link #mask} would
+   * then return unmasked; a message has to be cut with this method before it is masked. The scan
+   * past the cut is bounded, so that cutting a single-line message of several megabytes, such as
+   * a Jackson parse error embedding the payload, costs no more than scanning the kept part.
+   *
+   * @param message the message to cut
+   * @param end the index the message is cut at
+   * @return the first {@code end} characters of the message, with the cut line masked if needed
+   */
+  public String truncate(final String message, final int end) {
+    final int lineStart = startOfLine(message, end);
+    final int scanEnd = Math.min(message.length(), end + Math.max(0, longestKeyword - 1));
+    if (lineStart < end && matches(message, lineStart, endOfLine(message, end, scanEnd))) {
+      return message.substring(0, lineStart) + MASK;
+    }
+    return message.substring(0, end);
+  }
+
+  private int classOf(final char c) {
+    if (c < ASCII_LIMIT) {
+      return asciiClasses[c];
+    }
+    if (extendedChars.length == 0) {
+      return 0;
+    }
+    final int index = Arrays.binarySearch(extendedChars, c);
+    return index < 0 ? 0 : extendedClasses[index];
+  }
+
+  private static int classOf(
+      final char c,
+      final int[] asciiClasses,
+      final char[] extendedChars,
+      final int[] extendedClasses) {
+    if (c < ASCII_LIMIT) {
+      return asciiClasses[c];
+    }
+    final int index = Arrays.binarySearch(extendedChars, c);
+    return index < 0 ? 0 : extendedClasses[index];
+  }
+
+  private static int[] newRow(final int alphabetSize) {
+    final int[] row = new int[alphabetSize];
+    Arrays.fill(row, -1);
+    return row;
+  }
+
+  /** Returns the index of the first line terminator at or after {@code from}, or the length. */
+  private static int endOfLine(final String message, final int from) {
+    return endOfLine(message, from, message.length());
+  }
+
+  /**
+   * Returns the index of the first line terminator at or after {@code from} and before {@code
+   * limit}, or {@code limit}.
+   */
+  private static int endOfLine(final String message, final int from, final int limit) {
+    for (int i = from; i < limit; i++) {
+      if (isLineTerminator(message.charAt(i))) {
+        return i;
+      }
+    }
+    return limit;
+  }
+
+  /** Returns the index following the last line terminator before {@code to}, or 0. */
+  private static int startOfLine(final String message, final int to) {
+    for (int i = to - 1; i >= 0; i--) {
+      if (isLineTerminator(message.charAt(i))) {
+        return i + 1;
+      }
+    }
+    return 0;
+  }
+
+  private static boolean isLineTerminator(final char c) {
+    return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ *  SensitiveDataSanitizer.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.sanitizer;
+
+import az.supplychain.wms.ExceptionProperties;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.event.SmartApplicationListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Masks sensitive information in error messages using the configured rule set.
+ *
+ * <p>The rules are read from {@code wms.exception.sanitizer} and compiled into an immutable {@link
+ * SensitiveDataMasker}. The rules are published through a volatile reference, so reading them on
+ * the request path never takes a lock.
+ *
+ * <p>When the environment is refreshed (Spring Cloud publishes an {@code EnvironmentChangeEvent}),
+ * the rules are bound again and a new masker is compiled off the request path before being swapped
+ * in with a single write. In-flight error handling keeps using the rules it already read.
+ *
+ * <p>Messages longer than the configured byte budget are truncated before being masked, so the
+ * cost of sanitizing a message embedding a large request payload, on one line or many, is
+ * bounded by the budget rather than by the payload size. The line the message is cut in is also
+ * scanned a keyword length past the cut, so that a keyword straddling the cut still masks the part
+ * of the line that is kept. The masker itself matches in linear time.
+ */
+@Slf4j
+@Component
+public class SensitiveDataSanitizer implements SmartApplicationListener {
+
+  /** Appended to a message truncated to the configured byte budget. */
+  public static final String TRUNCATION_MARKER = "... [TRUNCATED]";
+
+  private static final String ENVIRONMENT_CHANGE_EVENT =
+      "org.springframework.cloud.context.environment.EnvironmentChangeEvent";
+
+  private final Environment environment;
+
+  private final LongAdder truncatedMessages = new LongAdder();
+
+  private volatile Rules rules;
+
+  /** Creates a sanitizer masking the {@linkplain SensitiveDataMasker#DEFAULT_KEYWORDS defaults}. */
+  public SensitiveDataSanitizer() {
+    this(new ExceptionProperties().getSanitizer());
+  }
+
+  /**
+   * Creates a sanitizer applying the given rules, which are not reloaded on environment changes.
+   *
+   * @param sanitizer the sensitive data rules
+   */
+  public SensitiveDataSanitizer(final ExceptionProperties.Sanitizer sanitizer) {
+    this.environment = null;
+    this.rules = Rules.of(sanitizer);
+  }
+
+  /**
+   * Creates a sanitizer from the bound properties, reloaded whenever the environment changes.
+   *
+   * @param properties the exception handling properties
+   * @param environment the environment the rules are bound again from on refresh
+   */
+  @Autowired
+  public SensitiveDataSanitizer(
+      final ExceptionProperties properties, final Environment environment) {
+    this.environment = environment;
+    this.rules = Rules.of(properties.getSanitizer());
+  }
+
+  /**
+   * Truncates the message to the byte budget, then masks every line containing sensitive
+   * information.
+   *
+   * <p>The method performs the following steps:
+   *
+   * <ol>
+   *   <li>Masks the message as a whole if it fits the budget.
+   *   <li>Otherwise, cuts the message at the budget with {@link SensitiveDataMasker#truncate},
+   *       which masks the line it is cut in if a keyword lies in its kept part or straddles the
+   *       cut.
+   *   <li>Masks the other lines of the kept part and appends the truncation marker.
+   * </ol>
+   *
+   * @param message the message to sanitize, may be {@code null}
+   * @return the sanitized message
+   */
+  public String sanitize(final String message) {
+    final Rules current = rules;
+    if (message == null) {
+      return null;
+    }
+    final int truncateAt = truncationIndex(message, current.maxMessageBytes);
+    if (truncateAt < 0) {
+      return current.masker.mask(message);
+    }
+    truncatedMessages.increment();
+    return current.masker.mask(current.masker.truncate(message, truncateAt)) + TRUNCATION_MARKER;
+  }
+
+  /**
+   * Returns the masker currently in use.
+   *
+   * @return the current masker
+   */
+  public SensitiveDataMasker getMasker() {
+    return rules.masker;
+  }
+
+  /**
+   * Returns how many messages were truncated to the byte budget since startup. The count is exposed
+   * as {@code truncatedMessages} by the {@code errorCounters} actuator endpoint.
+   *
+   * @return the number of truncated messages
+   */
+  public long getTruncatedCount() {
+    return truncatedMessages.sum();
+  }
+
+  /**
+   * Compiles the given rules and atomically replaces the current rule set with them.
+   *
+   * @param sanitizer the new sensitive data rules
+   */
+  public void reload(final ExceptionProperties.Sanitizer sanitizer) {
+    final Rules current = rules;
+    if (current.masker.getKeywords().equals(sanitizer.getKeywords())
+        && current.maxMessageBytes == sanitizer.getMaxMessageBytes()) {
+      return;
+    }
+    final Rules next = Rules.of(sanitizer);
+    rules = next;
+    log.info(
+        "Reloaded sensitive data rules with {} keywords and a budget of {} bytes",
+        next.masker.getKeywords().size(),
+        next.maxMessageBytes);
+  }
+
+  @Override
+  public boolean supportsEventType(final Class<? extends ApplicationEvent> eventType) {
+    return ENVIRONMENT_CHANGE_EVENT.equals(eventType.getName());
+  }
+
+  @Override
+  public void onApplicationEvent(final ApplicationEvent event) {
+    if (environment == null) {
+      return;
+    }
+    reload(
+        Binder.get(environment)
+            .bind(ExceptionProperties.Sanitizer.PREFIX, ExceptionProperties.Sanitizer.class)
+            .orElseGet(ExceptionProperties.Sanitizer::new));
+  }
+
+  /**
+   * Returns the index at which the message has to be cut to fit the budget once encoded in UTF-8,
+   * or -1 if it fits. Only the first {@code maxBytes} characters at most are inspected.
+   */
+  static int truncationIndex(final String message, final int maxBytes) {
+    final int length = message.length();
+    if (maxBytes <= 0 || (long) length * 3 <= maxBytes) {
+      return -1;
+    }
+    int bytes = 0;
+    int i = 0;
+    while (i < length) {
+      final char c = message.charAt(i);
+      int chars = 1;
+      int width;
+      if (c < 0x80) {
+        width = 1;
+      } else if (c < 0x800) {
+        width = 2;
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < length
+          && Character.isLowSurrogate(message.charAt(i + 1))) {
+        width = 4;
+        chars = 2;
+      } else {
+        width = 3;
+      }
+      if (bytes + width > maxBytes) {
+        return i;
+      }
+      bytes += width;
+      i += chars;
+    }
+    return -1;
+  }
+
+  /** Immutable snapshot of the rules, swapped as a whole on reload. */
+  private static final class Rules {
+
+    private final SensitiveDataMasker masker;
+    private final int maxMessageBytes;
+
+    private Rules(final SensitiveDataMasker masker, final int maxMessageBytes) {
+      this.masker = masker;
+      this.maxMessageBytes = maxMessageBytes;
+    }
+
+    private static Rules of(final ExceptionProperties.Sanitizer sanitizer) {
+      return new Rules(
+          SensitiveDataMasker.of(sanitizer.getKeywords()), sanitizer.getMaxMessageBytes());
+    }
+  }
+}
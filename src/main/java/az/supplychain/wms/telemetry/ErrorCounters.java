@@ -0,0 +1,132 @@
+/*
+ *  ErrorCounters.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the handled errors per exception class, handler and HTTP status.
+ *
+ * <p>Counting is lock-free and contention-free on the request path: the counters of an exception
+ * class are found through a {@link ClassValue}, which caches them on the class itself, and each
+ * (handler, status) pair of the class has its own {@link LongAdder}. The pairs of a class are kept
+ * in a small copy-on-write array, scanned linearly since a class is almost always handled by a
+ * single handler with one or two statuses; a lock is only taken the first time a pair is seen.
+ *
+ * <p>The counters of every class are also registered in a queue, so that {@link #snapshot()} can
+ * list them; a snapshot sums the adders and is not atomic across counters.
+ */
+@Component
+public class ErrorCounters {
+
+  private final ConcurrentLinkedQueue<ExceptionCounters> registry = new ConcurrentLinkedQueue<>();
+
+  private final ClassValue<ExceptionCounters> countersByClass =
+      new ClassValue<>() {
+        @Override
+        protected ExceptionCounters computeValue(final Class<?> exceptionClass) {
+          final ExceptionCounters counters = new ExceptionCounters(exceptionClass.getName());
+          registry.add(counters);
+          return counters;
+        }
+      };
+
+  /**
+   * Counts an error handled by the given handler.
+   *
+   * @param exceptionClass the class of the handled exception
+   * @param handler the name of the handler method
+   * @param status the HTTP status of the error response
+   */
+  public void increment(final Class<?> exceptionClass, final String handler, final int status) {
+    countersByClass.get(exceptionClass).counter(handler, status).increment();
+  }
+
+  /**
+   * Returns the current count of every (exception class, handler, status) seen so far, sorted by
+   * exception class, handler and status.
+   *
+   * @return an immutable list of error counts
+   */
+  public List<ErrorCount> snapshot() {
+    final List<ErrorCount> counts = new ArrayList<>();
+    for (ExceptionCounters counters : registry) {
+      for (Entry entry : counters.entries) {
+        counts.add(
+            new ErrorCount(
+                counters.exceptionClass, entry.handler, entry.status, entry.count.sum()));
+      }
+    }
+    counts.sort(
+        Comparator.comparing(ErrorCount::getExceptionClass)
+            .thenComparing(ErrorCount::getHandler)
+            .thenComparingInt(ErrorCount::getStatus));
+    return List.copyOf(counts);
+  }
+
+  /** The count of the errors of an exception class handled by a handler with a status. */
+  @Value
+  public static class ErrorCount {
+    String exceptionClass;
+    String handler;
+    int status;
+    long count;
+  }
+
+  /** The counters of an exception class. */
+  private static final class ExceptionCounters {
+
+    private final String exceptionClass;
+    private volatile Entry[] entries = new Entry[0];
+
+    private ExceptionCounters(final String exceptionClass) {
+      this.exceptionClass = exceptionClass;
+    }
+
+    private LongAdder counter(final String handler, final int status) {
+      for (Entry entry : entries) {
+        if (entry.status == status && entry.handler.equals(handler)) {
+          return entry.count;
+        }
+      }
+      return addCounter(handler, status);
+    }
+
+    private synchronized LongAdder addCounter(final String handler, final int status) {
+      final Entry[] current = entries;
+      for (Entry entry : current) {
+        if (entry.status == status && entry.handler.equals(handler)) {
+          return entry.count;
+        }
+      }
+      final Entry[] updated = Arrays.copyOf(current, current.length + 1);
+      updated[current.length] = new Entry(handler, status);
+      entries = updated;
+      return updated[current.length].count;
+    }
+  }
+
+  /** The counter of a (handler, status) pair. */
+  private static final class Entry {
+
+    private final String handler;
+    private final int status;
+    private final LongAdder count = new LongAdder();
+
+    private Entry(final String handler, final int status) {
+      this.handler = handler;
+      this.status = status;
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ *  ErrorCountersEndpoint.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import az.supplychain.wms.sanitizer.SensitiveDataSanitizer;
+import java.util.List;
+import lombok.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint exposing the {@link ErrorCounters}, at {@code /actuator/errorCounters} once
+ * exposed through {@code management.endpoints.web.exposure.include}, along with the number of
+ * messages the {@link SensitiveDataSanitizer} truncated to its byte budget.
+ */
+@Endpoint(id = "errorCounters")
+public class ErrorCountersEndpoint {
+
+  private final ErrorCounters errorCounters;
+  private final SensitiveDataSanitizer sensitiveDataSanitizer;
+
+  /**
+   * Creates the endpoint.
+   *
+   * @param errorCounters the counters to expose
+   * @param sensitiveDataSanitizer the sanitizer whose truncated messages are counted
+   */
+  public ErrorCountersEndpoint(
+      final ErrorCounters errorCounters, final SensitiveDataSanitizer sensitiveDataSanitizer) {
+    this.errorCounters = errorCounters;
+    this.sensitiveDataSanitizer = sensitiveDataSanitizer;
+  }
+
+  /**
+   * Returns the current error counts.
+   *
+   * @return the error counts, sorted by exception class, handler and status, and the number of
+   *     truncated messages
+   */
+  @ReadOperation
+  public Counters errorCounts() {
+    return new Counters(errorCounters.snapshot(), sensitiveDataSanitizer.getTruncatedCount());
+  }
+
+  /** The error counts and the number of messages truncated to the byte budget. */
+  @Value
+  public static class Counters {
+    List<ErrorCounters.ErrorCount> errorCounts;
+    long truncatedMessages;
+  }
+}
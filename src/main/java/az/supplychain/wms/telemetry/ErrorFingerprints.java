@@ -0,0 +1,185 @@
+/*
+ *  ErrorFingerprints.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import az.supplychain.wms.ExceptionProperties;
+import az.supplychain.wms.logging.StackTraceFingerprinter;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import lombok.Value;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aggregates the unexpected exceptions by {@linkplain StackTraceFingerprinter fingerprint}, so that
+ * the few distinct failures behind a storm of 500 responses can be listed without searching the
+ * logs.
+ *
+ * <p>Every fingerprint has its first-seen and last-seen times and its occurrence count. Recording
+ * a known fingerprint is a map lookup, two volatile writes and a {@link LongAdder} increment,
+ * without locks. A lock is only taken to add a new fingerprint; when the table then exceeds
+ * {@code maxFingerprints}, the least recently seen fingerprint is evicted by a linear scan, which
+ * new failures are too rare to make costly.
+ */
+@Component
+public class ErrorFingerprints {
+
+  private final StackTraceFingerprinter fingerprinter;
+  private final int maxFingerprints;
+  private final LongSupplier wallClock;
+
+  private final Map<Long, Aggregate> aggregates = new ConcurrentHashMap<>();
+  private final AtomicLong accessTicks = new AtomicLong();
+
+  /** Creates an aggregation with the default configuration. */
+  public ErrorFingerprints() {
+    this(
+        new StackTraceFingerprinter(),
+        new ExceptionProperties.Unexpected().getMaxFingerprints(),
+        System::currentTimeMillis);
+  }
+
+  /**
+   * Creates an aggregation configured by the given properties.
+   *
+   * @param fingerprinter the fingerprinter of the exceptions
+   * @param properties the exception handling properties
+   */
+  @Autowired
+  public ErrorFingerprints(
+      final StackTraceFingerprinter fingerprinter, final ExceptionProperties properties) {
+    this(fingerprinter, properties.getUnexpected().getMaxFingerprints(), System::currentTimeMillis);
+  }
+
+  /**
+   * Creates an aggregation reading the time from the given clock.
+   *
+   * @param fingerprinter the fingerprinter of the exceptions
+   * @param maxFingerprints the maximum number of fingerprints kept
+   * @param wallClock the clock, in milliseconds since the epoch
+   */
+  public ErrorFingerprints(
+      final StackTraceFingerprinter fingerprinter,
+      final int maxFingerprints,
+      final LongSupplier wallClock) {
+    this.fingerprinter = fingerprinter;
+    this.maxFingerprints = Math.max(1, maxFingerprints);
+    this.wallClock = wallClock;
+  }
+
+  /**
+   * Records an occurrence of an exception.
+   *
+   * @param throwable the exception
+   * @return the fingerprint of the exception
+   */
+  public long record(final Throwable throwable) {
+    final long fingerprint = fingerprinter.fingerprint(throwable);
+    final long now = wallClock.getAsLong();
+    Aggregate aggregate = aggregates.get(fingerprint);
+    if (aggregate == null) {
+      aggregate = add(fingerprint, throwable, now);
+    }
+    aggregate.lastSeen = now;
+    aggregate.lastAccess = accessTicks.incrementAndGet();
+    aggregate.count.increment();
+    return fingerprint;
+  }
+
+  /**
+   * Returns the statistics of every fingerprint kept, the most frequent first.
+   *
+   * @return an immutable list of fingerprint statistics
+   */
+  public List<FingerprintStats> snapshot() {
+    final List<FingerprintStats> stats = new ArrayList<>(aggregates.size());
+    aggregates.forEach(
+        (fingerprint, aggregate) ->
+            stats.add(
+                new FingerprintStats(
+                    StackTraceFingerprinter.toHex(fingerprint),
+                    aggregate.exceptionClass,
+                    aggregate.topFrame,
+                    Instant.ofEpochMilli(aggregate.firstSeen),
+                    Instant.ofEpochMilli(aggregate.lastSeen),
+                    aggregate.count.sum())));
+    stats.sort(
+        Comparator.comparingLong(FingerprintStats::getCount)
+            .reversed()
+            .thenComparing(FingerprintStats::getFingerprint));
+    return List.copyOf(stats);
+  }
+
+  private synchronized Aggregate add(
+      final long fingerprint, final Throwable throwable, final long now) {
+    Aggregate aggregate = aggregates.get(fingerprint);
+    if (aggregate != null) {
+      return aggregate;
+    }
+    final StackTraceElement[] stackTrace = throwable.getStackTrace();
+    aggregate =
+        new Aggregate(
+            throwable.getClass().getName(),
+            stackTrace.length == 0 ? null : stackTrace[0].toString(),
+            now);
+    aggregates.put(fingerprint, aggregate);
+    if (aggregates.size() > maxFingerprints) {
+      evictLeastRecentlySeen(fingerprint);
+    }
+    return aggregate;
+  }
+
+  private void evictLeastRecentlySeen(final long added) {
+    Long eldest = null;
+    long eldestAccess = Long.MAX_VALUE;
+    for (Map.Entry<Long, Aggregate> entry : aggregates.entrySet()) {
+      if (entry.getKey() != added && entry.getValue().lastAccess < eldestAccess) {
+        eldest = entry.getKey();
+        eldestAccess = entry.getValue().lastAccess;
+      }
+    }
+    if (eldest != null) {
+      aggregates.remove(eldest);
+    }
+  }
+
+  /** The statistics of a fingerprint. */
+  @Value
+  public static class FingerprintStats {
+    String fingerprint;
+    String exceptionClass;
+    String topFrame;
+    Instant firstSeen;
+    Instant lastSeen;
+    long count;
+  }
+
+  /** The aggregate of the occurrences of a fingerprint. */
+  private static final class Aggregate {
+
+    private final String exceptionClass;
+    private final String topFrame;
+    private final long firstSeen;
+    private volatile long lastSeen;
+    private volatile long lastAccess;
+    private final LongAdder count = new LongAdder();
+
+    private Aggregate(final String exceptionClass, final String topFrame, final long firstSeen) {
+      this.exceptionClass = exceptionClass;
+      this.topFrame = topFrame;
+      this.firstSeen = firstSeen;
+      this.lastSeen = firstSeen;
+    }
+  }
+}
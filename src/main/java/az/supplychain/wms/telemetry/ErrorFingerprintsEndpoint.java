@@ -0,0 +1,56 @@
+/*
+ *  ErrorFingerprintsEndpoint.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import az.supplychain.wms.logging.StackTraceLogLimiter;
+import java.util.List;
+import lombok.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint exposing the {@link ErrorFingerprints}, at {@code /actuator/errorFingerprints}
+ * once exposed through {@code management.endpoints.web.exposure.include}, along with the number of
+ * stack traces the {@link StackTraceLogLimiter} kept out of the logs.
+ */
+@Endpoint(id = "errorFingerprints")
+public class ErrorFingerprintsEndpoint {
+
+  private final ErrorFingerprints errorFingerprints;
+  private final StackTraceLogLimiter stackTraceLogLimiter;
+
+  /**
+   * Creates the endpoint.
+   *
+   * @param errorFingerprints the fingerprint statistics to expose
+   * @param stackTraceLogLimiter the limiter whose suppressed stack traces are counted
+   */
+  public ErrorFingerprintsEndpoint(
+      final ErrorFingerprints errorFingerprints, final StackTraceLogLimiter stackTraceLogLimiter) {
+    this.errorFingerprints = errorFingerprints;
+    this.stackTraceLogLimiter = stackTraceLogLimiter;
+  }
+
+  /**
+   * Returns the statistics of the fingerprints of the unexpected exceptions.
+   *
+   * @return the fingerprint statistics, the most frequent first, and the number of suppressed
+   *     stack traces
+   */
+  @ReadOperation
+  public Fingerprints fingerprints() {
+    return new Fingerprints(
+        errorFingerprints.snapshot(), stackTraceLogLimiter.getSuppressedCount());
+  }
+
+  /** The fingerprints of the unexpected exceptions and the stack traces left out of the logs. */
+  @Value
+  public static class Fingerprints {
+    List<ErrorFingerprints.FingerprintStats> fingerprints;
+    long suppressedStackTraces;
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ *  ErrorHandledEvent.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event emitted for every error handled by the {@code RestApiExceptionHandler},
+ * its duration being the time spent in the handler. Events are created and committed by {@link
+ * ErrorTrace}, only while a recording enables them.
+ */
+@Name(ErrorHandledEvent.NAME)
+@Label("Error Handled")
+@Description("An error handled by the REST API exception handler")
+@Category({"WMS", "Exception Handling"})
+@StackTrace(false)
+class ErrorHandledEvent extends Event {
+
+  static final String NAME = "wms.ErrorHandled";
+
+  @Label("Exception Class")
+  Class<?> exceptionClass;
+
+  @Label("Handler")
+  String handler;
+
+  @Label("Status")
+  int status;
+
+  @Label("Details")
+  @Description("Number of details of the error response")
+  int details;
+
+  @Label("Correlation Id")
+  String correlationId;
+
+  @Label("Sanitization Time")
+  @Description("Time spent masking sensitive data in the error messages")
+  @Timespan(Timespan.NANOSECONDS)
+  long sanitizationTime;
+
+  @Label("Serialization Time")
+  @Description("Time spent writing the error response, when the handler writes it itself")
+  @Timespan(Timespan.NANOSECONDS)
+  long serializationTime;
+}
@@ -0,0 +1,330 @@
+/*
+ *  ErrorHeavyHitters.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import az.supplychain.wms.ExceptionProperties;
+import az.supplychain.wms.sanitizer.SensitiveDataSanitizer;
+import java.util.List;
+import java.util.function.LongSupplier;
+import lombok.Value;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.ErrorResponse;
+
+/**
+ * The most frequent error messages, endpoints and sources of the handled errors over a sliding
+ * window, tracked by {@link HeavyHitterSketch} summaries in constant memory.
+ *
+ * <p>The window is divided into {@code slots} slots. Every stripe holds a summary per slot and
+ * dimension, reused once its slot leaves the window, and a request thread only updates the
+ * stripe its identity hash selects, so that concurrent errors rarely contend for the same lock. A
+ * {@linkplain #snapshot() snapshot} merges the summaries of the slots still in the window across
+ * the stripes; the window thus slides by whole slots.
+ *
+ * <p>Messages are truncated before they are counted, and sanitized when a snapshot is taken, so
+ * that the request path does not sanitize them a second time. The line a message is cut in is
+ * masked as it is truncated if a keyword straddles the cut, out of sight of the snapshot.
+ */
+@Component
+public class ErrorHeavyHitters {
+
+  private static final int MAX_STRIPES = 16;
+  private static final int MAX_KEY_LENGTH = 200;
+  private static final String UNKNOWN = "unknown";
+
+  private final SensitiveDataSanitizer sensitiveDataSanitizer;
+  private final boolean enabled;
+  private final int capacity;
+  private final String sourceHeader;
+  private final int slots;
+  private final long slotNanos;
+  private final LongSupplier nanoClock;
+  private final long origin;
+  private final Stripe[] stripes;
+
+  /** Creates heavy hitters with the default configuration. */
+  public ErrorHeavyHitters() {
+    this(
+        new SensitiveDataSanitizer(),
+        new ExceptionProperties.HeavyHitters(),
+        System::nanoTime);
+  }
+
+  /**
+   * Creates heavy hitters configured by the given properties.
+   *
+   * @param sensitiveDataSanitizer the sanitizer of the error messages
+   * @param properties the exception handling properties
+   */
+  @Autowired
+  public ErrorHeavyHitters(
+      final SensitiveDataSanitizer sensitiveDataSanitizer, final ExceptionProperties properties) {
+    this(sensitiveDataSanitizer, properties.getHeavyHitters(), System::nanoTime);
+  }
+
+  /**
+   * Creates heavy hitters reading the time from the given clock.
+   *
+   * @param sensitiveDataSanitizer the sanitizer of the error messages
+   * @param heavyHitters the heavy hitter properties
+   * @param nanoClock the clock, in nanoseconds, such as {@link System#nanoTime()}
+   */
+  public ErrorHeavyHitters(
+      final SensitiveDataSanitizer sensitiveDataSanitizer,
+      final ExceptionProperties.HeavyHitters heavyHitters,
+      final LongSupplier nanoClock) {
+    this.sensitiveDataSanitizer = sensitiveDataSanitizer;
+    this.enabled = heavyHitters.isEnabled();
+    this.capacity = Math.max(1, heavyHitters.getCapacity());
+    this.sourceHeader = heavyHitters.getSourceHeader();
+    this.slots = Math.max(1, heavyHitters.getSlots());
+    this.slotNanos = Math.max(1, heavyHitters.getWindow().toNanos() / slots);
+    this.nanoClock = nanoClock;
+    this.origin = nanoClock.getAsLong();
+    final int stripeCount =
+        Integer.highestOneBit(Math.min(MAX_STRIPES, Runtime.getRuntime().availableProcessors()));
+    this.stripes = new Stripe[enabled ? stripeCount : 0];
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new Stripe(slots, capacity);
+    }
+  }
+
+  /**
+   * Returns whether the heavy hitters are tracked.
+   *
+   * @return {@code true} if the heavy hitters are tracked
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns the request header identifying the source of a request.
+   *
+   * @return the name of the source header
+   */
+  public String getSourceHeader() {
+    return sourceHeader;
+  }
+
+  /**
+   * Counts a handled error.
+   *
+   * @param ex the handled exception
+   * @param endpoint the endpoint of the request, such as {@code GET /orders/{id}}
+   * @param source the source of the request, may be {@code null}
+   */
+  public void record(final Throwable ex, final String endpoint, final String source) {
+    if (!enabled) {
+      return;
+    }
+    final String message = message(ex);
+    final long slot = (nanoClock.getAsLong() - origin) / slotNanos;
+    final Stripe stripe = stripes[Thread.currentThread().hashCode() & (stripes.length - 1)];
+    stripe.record(slot, message, truncate(endpoint), source == null ? UNKNOWN : truncate(source));
+  }
+
+  /**
+   * Returns the heavy hitters of the current window, merged across the stripes.
+   *
+   * @return the snapshot of the heavy hitters
+   */
+  public Snapshot snapshot() {
+    final long current = (nanoClock.getAsLong() - origin) / slotNanos;
+    HeavyHitterSketch messages = new HeavyHitterSketch(capacity);
+    HeavyHitterSketch endpoints = new HeavyHitterSketch(capacity);
+    HeavyHitterSketch sources = new HeavyHitterSketch(capacity);
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        for (int i = 0; i < slots; i++) {
+          final long slot = stripe.slotIndexes[i];
+          if (slot > current - slots && slot <= current) {
+            messages = messages.merge(stripe.messages[i]);
+            endpoints = endpoints.merge(stripe.endpoints[i]);
+            sources = sources.merge(stripe.sources[i]);
+          }
+        }
+      }
+    }
+    return new Snapshot(messages.mapKeys(sensitiveDataSanitizer::sanitize), endpoints, sources);
+  }
+
+  /**
+   * Returns the message key of an exception. The exceptions of Spring MVC carrying a problem
+   * detail are keyed by it, since their own message, such as the one of a {@code
+   * MethodArgumentNotValidException}, is rebuilt from every field error on each call.
+   */
+  private String message(final Throwable ex) {
+    final String message =
+        ex instanceof ErrorResponse errorResponse && errorResponse.getBody().getDetail() != null
+            ? errorResponse.getBody().getDetail()
+            : ex.getMessage();
+    final String name = ex.getClass().getSimpleName();
+    if (message == null) {
+      return name;
+    }
+    final String key = name + ": " + message;
+    return key.length() <= MAX_KEY_LENGTH
+        ? key
+        : sensitiveDataSanitizer.getMasker().truncate(key, MAX_KEY_LENGTH);
+  }
+
+  private static String truncate(final String key) {
+    return key.length() <= MAX_KEY_LENGTH ? key : key.substring(0, MAX_KEY_LENGTH);
+  }
+
+  /**
+   * The heavy hitters of a window. Snapshots taken on several instances can be merged into the
+   * heavy hitters of the whole service, including snapshots read back from the JSON of the {@code
+   * errorHeavyHitters} actuator endpoint with {@link #of}.
+   */
+  public static final class Snapshot {
+
+    private final HeavyHitterSketch messages;
+    private final HeavyHitterSketch endpoints;
+    private final HeavyHitterSketch sources;
+
+    private Snapshot(
+        final HeavyHitterSketch messages,
+        final HeavyHitterSketch endpoints,
+        final HeavyHitterSketch sources) {
+      this.messages = messages;
+      this.endpoints = endpoints;
+      this.sources = sources;
+    }
+
+    /**
+     * Rebuilds a snapshot from its serialized form, such as the response of the {@code
+     * errorHeavyHitters} actuator endpoint of another instance.
+     *
+     * @param capacity the {@linkplain #getCapacity capacity} of the snapshot
+     * @param minimumCounts the {@linkplain #getMinimumCounts minimum counts} of the snapshot
+     * @param messages the most frequent error messages
+     * @param endpoints the endpoints answering the most errors
+     * @param sources the sources sending the most failing requests
+     * @return the snapshot
+     * @throws IllegalArgumentException if the heavy hitters do not fit in a summary of the capacity
+     */
+    public static Snapshot of(
+        final int capacity,
+        final MinimumCounts minimumCounts,
+        final List<HeavyHitterSketch.HeavyHitter> messages,
+        final List<HeavyHitterSketch.HeavyHitter> endpoints,
+        final List<HeavyHitterSketch.HeavyHitter> sources) {
+      return new Snapshot(
+          HeavyHitterSketch.of(capacity, minimumCounts.getMessages(), messages),
+          HeavyHitterSketch.of(capacity, minimumCounts.getEndpoints(), endpoints),
+          HeavyHitterSketch.of(capacity, minimumCounts.getSources(), sources));
+    }
+
+    /**
+     * Returns the maximum number of keys of each list.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+      return messages.getCapacity();
+    }
+
+    /**
+     * Returns the upper bounds of the counts of the keys missing from each list, which merging
+     * snapshots adds to the counts of the keys missing from one of them.
+     *
+     * @return the minimum counts
+     */
+    public MinimumCounts getMinimumCounts() {
+      return new MinimumCounts(
+          messages.getMinimumCount(), endpoints.getMinimumCount(), sources.getMinimumCount());
+    }
+
+    /**
+     * Returns the most frequent error messages, sanitized.
+     *
+     * @return the messages, the most frequent first
+     */
+    public List<HeavyHitterSketch.HeavyHitter> getMessages() {
+      return messages.getHeavyHitters();
+    }
+
+    /**
+     * Returns the endpoints answering the most errors.
+     *
+     * @return the endpoints, the most frequent first
+     */
+    public List<HeavyHitterSketch.HeavyHitter> getEndpoints() {
+      return endpoints.getHeavyHitters();
+    }
+
+    /**
+     * Returns the sources sending the most failing requests.
+     *
+     * @return the sources, the most frequent first
+     */
+    public List<HeavyHitterSketch.HeavyHitter> getSources() {
+      return sources.getHeavyHitters();
+    }
+
+    /**
+     * Returns the heavy hitters of both snapshots.
+     *
+     * @param other the other snapshot
+     * @return the merged snapshot
+     */
+    public Snapshot merge(final Snapshot other) {
+      return new Snapshot(
+          messages.merge(other.messages),
+          endpoints.merge(other.endpoints),
+          sources.merge(other.sources));
+    }
+  }
+
+  /**
+   * The {@linkplain HeavyHitterSketch#getMinimumCount minimum counts} of the lists of a snapshot.
+   */
+  @Value
+  public static class MinimumCounts {
+    long messages;
+    long endpoints;
+    long sources;
+  }
+
+  /** The summaries of a stripe, per slot of the window. */
+  private static final class Stripe {
+
+    private final long[] slotIndexes;
+    private final HeavyHitterSketch[] messages;
+    private final HeavyHitterSketch[] endpoints;
+    private final HeavyHitterSketch[] sources;
+
+    private Stripe(final int slots, final int capacity) {
+      slotIndexes = new long[slots];
+      messages = new HeavyHitterSketch[slots];
+      endpoints = new HeavyHitterSketch[slots];
+      sources = new HeavyHitterSketch[slots];
+      for (int i = 0; i < slots; i++) {
+        slotIndexes[i] = -1;
+        messages[i] = new HeavyHitterSketch(capacity);
+        endpoints[i] = new HeavyHitterSketch(capacity);
+        sources[i] = new HeavyHitterSketch(capacity);
+      }
+    }
+
+    private synchronized void record(
+        final long slot, final String message, final String endpoint, final String source) {
+      final int i = (int) (slot % slotIndexes.length);
+      if (slotIndexes[i] != slot) {
+        slotIndexes[i] = slot;
+        messages[i].clear();
+        endpoints[i].clear();
+        sources[i].clear();
+      }
+      messages[i].offer(message);
+      endpoints[i].offer(endpoint);
+      sources[i].offer(source);
+    }
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ *  ErrorHeavyHittersEndpoint.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint exposing the {@link ErrorHeavyHitters}, at {@code /actuator/errorHeavyHitters}
+ * once exposed through {@code management.endpoints.web.exposure.include}.
+ */
+@Endpoint(id = "errorHeavyHitters")
+public class ErrorHeavyHittersEndpoint {
+
+  private final ErrorHeavyHitters errorHeavyHitters;
+
+  /**
+   * Creates the endpoint.
+   *
+   * @param errorHeavyHitters the heavy hitters to expose
+   */
+  public ErrorHeavyHittersEndpoint(final ErrorHeavyHitters errorHeavyHitters) {
+    this.errorHeavyHitters = errorHeavyHitters;
+  }
+
+  /**
+   * Returns the most frequent error messages, endpoints and sources of the current window.
+   *
+   * @return the heavy hitters, the most frequent first, with the capacity and minimum counts needed
+   *     to merge them with the heavy hitters of other instances
+   */
+  @ReadOperation
+  public ErrorHeavyHitters.Snapshot heavyHitters() {
+    return errorHeavyHitters.snapshot();
+  }
+}
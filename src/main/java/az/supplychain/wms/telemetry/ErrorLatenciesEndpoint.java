@@ -0,0 +1,84 @@
+/*
+ *  ErrorLatenciesEndpoint.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+/**
+ * Actuator endpoint exposing the {@link HandlerLatencies}: their percentiles at {@code
+ * /actuator/errorLatencies} and the Prometheus rendering of the histograms at {@code
+ * /actuator/errorLatencies/prometheus}.
+ */
+@Endpoint(id = "errorLatencies")
+public class ErrorLatenciesEndpoint {
+
+  static final String PROMETHEUS = "prometheus";
+
+  private final HandlerLatencies handlerLatencies;
+
+  /**
+   * Creates the endpoint.
+   *
+   * @param handlerLatencies the latencies to expose
+   */
+  public ErrorLatenciesEndpoint(final HandlerLatencies handlerLatencies) {
+    this.handlerLatencies = handlerLatencies;
+  }
+
+  /**
+   * Returns the latency percentiles of every handler invoked so far.
+   *
+   * @return the percentiles by handler name
+   */
+  @ReadOperation
+  public Map<String, LatencyPercentiles> latencies() {
+    final Map<String, LatencyPercentiles> latencies = new LinkedHashMap<>();
+    handlerLatencies
+        .snapshot()
+        .forEach((handler, snapshot) -> latencies.put(handler, new LatencyPercentiles(snapshot)));
+    return latencies;
+  }
+
+  /**
+   * Returns the latency histograms in the given format.
+   *
+   * @param format the format, only {@code prometheus} is supported
+   * @return the rendered histograms, or {@code null}, answered with a 404, for another format
+   */
+  @ReadOperation(produces = PrometheusTextFormat.CONTENT_TYPE)
+  public String latencies(@Selector final String format) {
+    if (!PROMETHEUS.equals(format)) {
+      return null;
+    }
+    return PrometheusTextFormat.render(handlerLatencies.snapshot());
+  }
+
+  /** The latency percentiles of a handler, in microseconds. */
+  @Value
+  public static class LatencyPercentiles {
+    long count;
+    long mean;
+    long p50;
+    long p90;
+    long p99;
+    long p999;
+
+    LatencyPercentiles(final LatencyHistogram.Snapshot snapshot) {
+      this.count = snapshot.getCount();
+      this.mean = count == 0 ? 0 : snapshot.getSum() / count / 1000;
+      this.p50 = snapshot.getValueAtPercentile(50) / 1000;
+      this.p90 = snapshot.getValueAtPercentile(90) / 1000;
+      this.p99 = snapshot.getValueAtPercentile(99) / 1000;
+      this.p999 = snapshot.getValueAtPercentile(99.9) / 1000;
+    }
+  }
+}
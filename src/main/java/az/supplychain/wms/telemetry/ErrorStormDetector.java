@@ -0,0 +1,162 @@
+/*
+ *  ErrorStormDetector.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import az.supplychain.wms.ExceptionProperties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Detects error storms from an exponentially weighted moving average of the error rate, so that
+ * the handlers can answer with minimal bodies while the errors would otherwise take CPU from the
+ * healthy traffic.
+ *
+ * <p>Errors are counted in a {@link LongAdder}. Once per interval, the first error finding the
+ * interval elapsed wins a compare-and-set on the next tick time and folds the count into the
+ * average; the other threads never wait. Intervals without errors are folded in at once, the
+ * average decaying as if they had been ticked. Only the winning thread updates the average and the
+ * mode, so every switch is counted and logged exactly once.
+ *
+ * <p>The storm mode is entered when the average reaches {@code enterRate} and left when it drops
+ * below {@code exitRate}, the gap between both keeping the mode from flapping around a single
+ * threshold.
+ */
+@Slf4j
+@Component
+public class ErrorStormDetector {
+
+  private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+  private final boolean enabled;
+  private final double enterRate;
+  private final double exitRate;
+  private final long intervalNanos;
+  private final double decayPerInterval;
+  private final LongSupplier nanoClock;
+
+  private final LongAdder pendingErrors = new LongAdder();
+  private final AtomicLong nextTick;
+  private final LongAdder transitions = new LongAdder();
+  private volatile double errorRate;
+  private volatile boolean storming;
+
+  /** Creates a detector with the default configuration, disabled. */
+  public ErrorStormDetector() {
+    this(new ExceptionProperties.Storm(), System::nanoTime);
+  }
+
+  /**
+   * Creates a detector configured by the given properties.
+   *
+   * @param properties the exception handling properties
+   */
+  @Autowired
+  public ErrorStormDetector(final ExceptionProperties properties) {
+    this(properties.getStorm(), System::nanoTime);
+  }
+
+  /**
+   * Creates a detector reading the time from the given clock.
+   *
+   * @param storm the storm detection properties
+   * @param nanoClock the clock, in nanoseconds, such as {@link System#nanoTime()}
+   * @throws IllegalArgumentException if the exit rate is above the enter rate
+   */
+  public ErrorStormDetector(final ExceptionProperties.Storm storm, final LongSupplier nanoClock) {
+    if (storm.getExitRate() > storm.getEnterRate()) {
+      throw new IllegalArgumentException(
+          "wms.exception.storm.exit-rate must not be above wms.exception.storm.enter-rate");
+    }
+    this.enabled = storm.isEnabled();
+    this.enterRate = storm.getEnterRate();
+    this.exitRate = storm.getExitRate();
+    this.intervalNanos = Math.max(1, storm.getInterval().toNanos());
+    this.decayPerInterval =
+        Math.exp(-(double) intervalNanos / Math.max(1, storm.getAveragingWindow().toNanos()));
+    this.nanoClock = nanoClock;
+    this.nextTick = new AtomicLong(nanoClock.getAsLong() + intervalNanos);
+  }
+
+  /**
+   * Returns whether storms are detected at all.
+   *
+   * @return {@code true} if the detector is enabled
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Counts a handled error.
+   *
+   * @return {@code true} if the handlers are in storm mode and should answer minimal bodies
+   */
+  public boolean recordError() {
+    if (!enabled) {
+      return false;
+    }
+    pendingErrors.increment();
+    tick();
+    return storming;
+  }
+
+  /**
+   * Returns the current state of the detector.
+   *
+   * @return the mode, average error rate and number of mode switches
+   */
+  public StormStatus status() {
+    if (enabled) {
+      tick();
+    }
+    return new StormStatus(storming, errorRate, transitions.sum());
+  }
+
+  private void tick() {
+    final long now = nanoClock.getAsLong();
+    final long tick = nextTick.get();
+    if (now - tick < 0) {
+      return;
+    }
+    final long intervals = 1 + (now - tick) / intervalNanos;
+    if (!nextTick.compareAndSet(tick, tick + intervals * intervalNanos)) {
+      return;
+    }
+    final double rate =
+        pendingErrors.sumThenReset() * NANOS_PER_SECOND / ((double) intervals * intervalNanos);
+    final double average = rate + (errorRate - rate) * Math.pow(decayPerInterval, intervals);
+    errorRate = average;
+    if (!storming && average >= enterRate) {
+      storming = true;
+      transitions.increment();
+      log.warn(
+          "Error storm detected at {} errors/s, answering minimal error bodies until the rate"
+              + " drops below {} errors/s",
+          Math.round(average),
+          exitRate);
+    } else if (storming && average < exitRate) {
+      storming = false;
+      transitions.increment();
+      log.info(
+          "Error storm over at {} errors/s, answering detailed error bodies again",
+          Math.round(average));
+    }
+  }
+
+  /** The state of the storm detection. */
+  @Value
+  public static class StormStatus {
+    boolean storming;
+    double errorRate;
+    long transitions;
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ *  ErrorStormEndpoint.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint exposing the state of the {@link ErrorStormDetector}, at {@code
+ * /actuator/errorStorm} once exposed through {@code management.endpoints.web.exposure.include}.
+ */
+@Endpoint(id = "errorStorm")
+public class ErrorStormEndpoint {
+
+  private final ErrorStormDetector errorStormDetector;
+
+  /**
+   * Creates the endpoint.
+   *
+   * @param errorStormDetector the detector to expose
+   */
+  public ErrorStormEndpoint(final ErrorStormDetector errorStormDetector) {
+    this.errorStormDetector = errorStormDetector;
+  }
+
+  /**
+   * Returns the current state of the storm detection.
+   *
+   * @return whether a storm is ongoing, the average error rate and the number of mode switches
+   */
+  @ReadOperation
+  public ErrorStormDetector.StormStatus status() {
+    return errorStormDetector.status();
+  }
+}
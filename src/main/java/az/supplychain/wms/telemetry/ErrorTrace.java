@@ -0,0 +1,121 @@
+/*
+ *  ErrorTrace.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+/**
+ * Trace of the error being handled on the current thread, committed as a {@code wms.ErrorHandled}
+ * Flight Recorder event when the handler returns.
+ *
+ * <p>The handler calls {@link #begin()} when it is entered, adds the time spent in sanitization
+ * and serialization to the {@link #current()} trace, and calls {@link #end} once its response is
+ * built or written. When no recording enables the event, {@code begin} and {@code current} return
+ * after checking {@code isEnabled()} on an event the JIT does not allocate, and the other methods
+ * are never reached; the trace of a thread is only created once the event is first enabled, then
+ * reused for every error.
+ */
+public final class ErrorTrace {
+
+  private static final ThreadLocal<ErrorTrace> TRACES = ThreadLocal.withInitial(ErrorTrace::new);
+
+  private ErrorHandledEvent event;
+  private int details;
+  private long sanitizationNanos;
+  private long serializationNanos;
+
+  private ErrorTrace() {}
+
+  /**
+   * Starts tracing the error handled on the current thread, if a recording enables the event.
+   *
+   * @return the trace of the error, or {@code null} if the event is disabled
+   */
+  public static ErrorTrace begin() {
+    final ErrorHandledEvent event = new ErrorHandledEvent();
+    if (!event.isEnabled()) {
+      return null;
+    }
+    final ErrorTrace trace = TRACES.get();
+    trace.event = event;
+    trace.details = 0;
+    trace.sanitizationNanos = 0;
+    trace.serializationNanos = 0;
+    event.begin();
+    return trace;
+  }
+
+  /**
+   * Returns the trace of the error handled on the current thread.
+   *
+   * @return the trace, or {@code null} if the event is disabled or no error is being traced
+   */
+  public static ErrorTrace current() {
+    if (!new ErrorHandledEvent().isEnabled()) {
+      return null;
+    }
+    final ErrorTrace trace = TRACES.get();
+    return trace.event != null ? trace : null;
+  }
+
+  /**
+   * Ends the trace of the error handled on the current thread and commits its event.
+   *
+   * @param exceptionClass the class of the handled exception
+   * @param handler the name of the handler method
+   * @param status the HTTP status of the error response
+   * @param correlationId the correlation id of the request, may be {@code null}
+   */
+  public static void end(
+      final Class<?> exceptionClass,
+      final String handler,
+      final int status,
+      final String correlationId) {
+    final ErrorTrace trace = current();
+    if (trace == null) {
+      return;
+    }
+    final ErrorHandledEvent event = trace.event;
+    trace.event = null;
+    event.end();
+    if (event.shouldCommit()) {
+      event.exceptionClass = exceptionClass;
+      event.handler = handler;
+      event.status = status;
+      event.details = trace.details;
+      event.correlationId = correlationId;
+      event.sanitizationTime = trace.sanitizationNanos;
+      event.serializationTime = trace.serializationNanos;
+      event.commit();
+    }
+  }
+
+  /**
+   * Sets the number of details of the error response.
+   *
+   * @param details the number of details
+   */
+  public void setDetails(final int details) {
+    this.details = details;
+  }
+
+  /**
+   * Adds time spent masking sensitive data.
+   *
+   * @param nanos the time, in nanoseconds
+   */
+  public void addSanitizationTime(final long nanos) {
+    sanitizationNanos += nanos;
+  }
+
+  /**
+   * Adds time spent writing the error response.
+   *
+   * @param nanos the time, in nanoseconds
+   */
+  public void addSerializationTime(final long nanos) {
+    serializationNanos += nanos;
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ *  HandlerLatencies.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import az.supplychain.wms.ExceptionProperties;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Latency histograms of the error handlers, one {@link LatencyHistogram} per handler method.
+ *
+ * <p>A handler calls {@link #start()} when it is entered and {@link #record} once its response is
+ * built or written. When the histograms are disabled, {@code start} does not read the clock and
+ * {@code record} returns immediately, so that nothing is recorded at all.
+ */
+@Component
+public class HandlerLatencies {
+
+  private final boolean enabled;
+
+  private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+  /** Creates enabled handler latencies. */
+  public HandlerLatencies() {
+    this(true);
+  }
+
+  /**
+   * Creates handler latencies enabled according to the given properties.
+   *
+   * @param properties the exception handling properties
+   */
+  @Autowired
+  public HandlerLatencies(final ExceptionProperties properties) {
+    this(properties.getTelemetry().isLatencyHistograms());
+  }
+
+  /**
+   * Creates handler latencies.
+   *
+   * @param enabled whether the latencies are recorded
+   */
+  public HandlerLatencies(final boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Returns whether the latencies are recorded.
+   *
+   * @return {@code true} if the latencies are recorded
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns the start time of a handler invocation.
+   *
+   * @return the current value of {@link System#nanoTime()}, or zero when disabled
+   */
+  public long start() {
+    return enabled ? System.nanoTime() : 0L;
+  }
+
+  /**
+   * Records the latency of a handler invocation.
+   *
+   * @param handler the name of the handler method
+   * @param start the value returned by {@link #start()} when the handler was entered
+   */
+  public void record(final String handler, final long start) {
+    if (!enabled) {
+      return;
+    }
+    final long nanos = System.nanoTime() - start;
+    LatencyHistogram histogram = histograms.get(handler);
+    if (histogram == null) {
+      histogram = histograms.computeIfAbsent(handler, h -> new LatencyHistogram());
+    }
+    histogram.record(nanos);
+  }
+
+  /**
+   * Returns a snapshot of the histogram of every handler invoked so far.
+   *
+   * @return the snapshots by handler name, sorted by name
+   */
+  public Map<String, LatencyHistogram.Snapshot> snapshot() {
+    final Map<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+    histograms.forEach((handler, histogram) -> snapshots.put(handler, histogram.snapshot()));
+    return snapshots;
+  }
+}
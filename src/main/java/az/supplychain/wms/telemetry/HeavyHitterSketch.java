@@ -0,0 +1,236 @@
+/*
+ *  HeavyHitterSketch.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import lombok.Value;
+
+/**
+ * Space-Saving summary of the most frequent keys of a stream, in memory bounded by its capacity.
+ *
+ * <p>The summary keeps at most {@code capacity} counters. A key without a counter takes over the
+ * counter of the least frequent key once the summary is full, inheriting its count as an error
+ * bound. The count of every key is thus overestimated by at most its error, and every key
+ * occurring more than {@code total / capacity} times is guaranteed to be kept. Replacing the least
+ * frequent key scans the counters, which is cheap for the small capacities the summary is meant
+ * for.
+ *
+ * <p>Summaries are {@linkplain #merge mergeable}, following the mergeable summaries of Agarwal et
+ * al.: a key missing from a full summary is counted with the minimum count of that summary, so
+ * that the merged bounds hold, and the merged summary keeps the most frequent keys. A summary read
+ * back from its {@linkplain #getHeavyHitters heavy hitters}, {@linkplain #getCapacity capacity}
+ * and {@linkplain #getMinimumCount minimum count}, such as the snapshot of another instance, is
+ * rebuilt with {@link #of} and merged like the original. Summaries are not thread-safe.
+ */
+public final class HeavyHitterSketch {
+
+  private final int capacity;
+  private final Map<String, Counter> counters;
+  private long floor;
+
+  /**
+   * Creates an empty summary.
+   *
+   * @param capacity the maximum number of keys counted
+   */
+  public HeavyHitterSketch(final int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Invalid capacity: " + capacity);
+    }
+    this.capacity = capacity;
+    this.counters = new HashMap<>(capacity * 2);
+  }
+
+  /**
+   * Rebuilds a summary from its serialized form, such as the snapshot of another instance.
+   *
+   * @param capacity the maximum number of keys counted
+   * @param minimumCount the {@linkplain #getMinimumCount minimum count} of the summary
+   * @param heavyHitters the counted keys
+   * @return the summary
+   * @throws IllegalArgumentException if the capacity is not positive, the minimum count negative,
+   *     or the keys more than the capacity or repeated
+   */
+  public static HeavyHitterSketch of(
+      final int capacity, final long minimumCount, final Collection<HeavyHitter> heavyHitters) {
+    final HeavyHitterSketch sketch = new HeavyHitterSketch(capacity);
+    if (minimumCount < 0) {
+      throw new IllegalArgumentException("Invalid minimum count: " + minimumCount);
+    }
+    if (heavyHitters.size() > capacity) {
+      throw new IllegalArgumentException(
+          heavyHitters.size() + " keys exceed the capacity of " + capacity);
+    }
+    for (HeavyHitter heavyHitter : heavyHitters) {
+      final Counter counter = new Counter(heavyHitter.getCount(), heavyHitter.getError());
+      if (sketch.counters.putIfAbsent(heavyHitter.getKey(), counter) != null) {
+        throw new IllegalArgumentException("Duplicate key: " + heavyHitter.getKey());
+      }
+    }
+    sketch.floor = minimumCount;
+    return sketch;
+  }
+
+  /**
+   * Returns the maximum number of keys counted.
+   *
+   * @return the capacity
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Returns the upper bound of the count of a key missing from the summary: the minimum count of
+   * its keys once the summary is full. A summary which is not full has counted every key, unless
+   * it was merged or mapped from a full one, whose minimum count it keeps.
+   *
+   * @return the minimum count
+   */
+  public long getMinimumCount() {
+    return counters.size() < capacity ? floor : minimumEntry().getValue().count;
+  }
+
+  /**
+   * Counts an occurrence of a key.
+   *
+   * @param key the key
+   */
+  public void offer(final String key) {
+    final Counter counter = counters.get(key);
+    if (counter != null) {
+      counter.count++;
+      return;
+    }
+    if (counters.size() < capacity) {
+      counters.put(key, new Counter(floor + 1, floor));
+      return;
+    }
+    final Map.Entry<String, Counter> minimum = minimumEntry();
+    counters.remove(minimum.getKey());
+    final Counter replaced = minimum.getValue();
+    replaced.error = replaced.count;
+    replaced.count++;
+    counters.put(key, replaced);
+  }
+
+  /** Removes every counter. */
+  public void clear() {
+    counters.clear();
+    floor = 0;
+  }
+
+  /**
+   * Returns a new summary counting the keys of both summaries.
+   *
+   * @param other the other summary
+   * @return the merged summary, with the capacity of this summary
+   */
+  public HeavyHitterSketch merge(final HeavyHitterSketch other) {
+    final long minimum = getMinimumCount();
+    final long otherMinimum = other.getMinimumCount();
+    final Set<String> keys = new HashSet<>(counters.keySet());
+    keys.addAll(other.counters.keySet());
+    final List<Map.Entry<String, Counter>> merged = new ArrayList<>(keys.size());
+    for (String key : keys) {
+      final Counter counter = counters.get(key);
+      final Counter otherCounter = other.counters.get(key);
+      final long count =
+          (counter != null ? counter.count : minimum)
+              + (otherCounter != null ? otherCounter.count : otherMinimum);
+      final long error =
+          (counter != null ? counter.error : minimum)
+              + (otherCounter != null ? otherCounter.error : otherMinimum);
+      merged.add(Map.entry(key, new Counter(count, error)));
+    }
+    merged.sort(
+        Comparator.comparingLong((Map.Entry<String, Counter> entry) -> entry.getValue().count)
+            .reversed());
+    final HeavyHitterSketch result = new HeavyHitterSketch(capacity);
+    for (int i = 0; i < Math.min(capacity, merged.size()); i++) {
+      result.counters.put(merged.get(i).getKey(), merged.get(i).getValue());
+    }
+    result.floor = minimum + otherMinimum;
+    return result;
+  }
+
+  /**
+   * Returns a new summary whose keys are mapped by the given function, the counts of keys mapped
+   * to the same key being summed.
+   *
+   * @param mapper the key mapper
+   * @return the mapped summary, with the capacity of this summary
+   */
+  public HeavyHitterSketch mapKeys(final UnaryOperator<String> mapper) {
+    final HeavyHitterSketch result = new HeavyHitterSketch(capacity);
+    counters.forEach(
+        (key, counter) ->
+            result.counters.merge(
+                mapper.apply(key),
+                new Counter(counter.count, counter.error),
+                (current, added) ->
+                    new Counter(current.count + added.count, current.error + added.error)));
+    result.floor = getMinimumCount();
+    return result;
+  }
+
+  /**
+   * Returns the counted keys, the most frequent first.
+   *
+   * @return an immutable list of the keys and their counts
+   */
+  public List<HeavyHitter> getHeavyHitters() {
+    final List<HeavyHitter> heavyHitters = new ArrayList<>(counters.size());
+    counters.forEach(
+        (key, counter) -> heavyHitters.add(new HeavyHitter(key, counter.count, counter.error)));
+    heavyHitters.sort(
+        Comparator.comparingLong(HeavyHitter::getCount)
+            .reversed()
+            .thenComparing(HeavyHitter::getKey));
+    return List.copyOf(heavyHitters);
+  }
+
+  private Map.Entry<String, Counter> minimumEntry() {
+    Map.Entry<String, Counter> minimum = null;
+    for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+      if (minimum == null || entry.getValue().count < minimum.getValue().count) {
+        minimum = entry;
+      }
+    }
+    return minimum;
+  }
+
+  /**
+   * A frequent key. Its actual count lies between {@code count - error} and {@code count}.
+   */
+  @Value
+  public static class HeavyHitter {
+    String key;
+    long count;
+    long error;
+  }
+
+  /** The counter of a key. */
+  private static final class Counter {
+
+    private long count;
+    private long error;
+
+    private Counter(final long count, final long error) {
+      this.count = count;
+      this.error = error;
+    }
+  }
+}
@@ -0,0 +1,228 @@
+/*
+ *  LatencyHistogram.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A latency histogram with fixed log-linear buckets, recorded into thread-striped counters.
+ *
+ * <p>The buckets cover 1 microsecond to about 17 seconds: every power of two of nanoseconds in
+ * that range is split into {@value #SUB_BUCKETS} linear buckets, which bounds the error of a
+ * percentile to 12.5%. Faster and slower values fall into a first and a last bucket.
+ *
+ * <p>Recording a value computes its bucket with a few bit operations and increments it in the
+ * stripe of the current thread, so that concurrent threads seldom write the same cache line; the
+ * stripes are only summed by {@link #snapshot()}. A snapshot is not atomic across buckets, and
+ * snapshots of several histograms can be {@link Snapshot#merge merged}, their buckets being the
+ * same.
+ */
+public final class LatencyHistogram {
+
+  /** Number of linear buckets per power of two. */
+  static final int SUB_BUCKETS = 8;
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int MIN_EXPONENT = 10;
+  private static final int MAX_EXPONENT = 34;
+
+  /** Number of buckets of a histogram. */
+  static final int BUCKETS = 2 + (MAX_EXPONENT - MIN_EXPONENT) * SUB_BUCKETS;
+
+  /** The sum of the recorded values is kept after the buckets of each stripe. */
+  private static final int SUM_INDEX = BUCKETS;
+
+  /** Stripes are padded to a multiple of 64 bytes so that they share no cache line. */
+  private static final int STRIDE = (BUCKETS + 1 + 7) & ~7;
+
+  private static final int MAX_STRIPES = 16;
+
+  private static final long[] UPPER_BOUNDS = upperBounds();
+
+  private final int stripeMask;
+  private final AtomicLongArray counts;
+
+  /** Creates a histogram with a stripe per available processor, up to 16. */
+  public LatencyHistogram() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates a histogram with the given number of stripes, rounded up to a power of two.
+   *
+   * @param stripes the number of stripes, between 1 and 16
+   */
+  LatencyHistogram(final int stripes) {
+    final int stripeCount =
+        Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, stripes) * 2 - 1));
+    this.stripeMask = stripeCount - 1;
+    this.counts = new AtomicLongArray(stripeCount * STRIDE);
+  }
+
+  /**
+   * Records a latency.
+   *
+   * @param nanos the latency, in nanoseconds
+   */
+  public void record(final long nanos) {
+    final int offset = ((int) Thread.currentThread().getId() & stripeMask) * STRIDE;
+    counts.getAndIncrement(offset + bucket(nanos));
+    counts.getAndAdd(offset + SUM_INDEX, Math.max(0, nanos));
+  }
+
+  /**
+   * Returns the current counts of the histogram, summed over the stripes.
+   *
+   * @return a snapshot of the histogram
+   */
+  public Snapshot snapshot() {
+    final long[] bucketCounts = new long[BUCKETS];
+    long sum = 0;
+    for (int offset = 0; offset < counts.length(); offset += STRIDE) {
+      for (int bucket = 0; bucket < BUCKETS; bucket++) {
+        bucketCounts[bucket] += counts.get(offset + bucket);
+      }
+      sum += counts.get(offset + SUM_INDEX);
+    }
+    return new Snapshot(bucketCounts, sum);
+  }
+
+  /**
+   * Returns the bucket of a latency.
+   *
+   * @param nanos the latency, in nanoseconds
+   * @return the index of its bucket
+   */
+  static int bucket(final long nanos) {
+    if (nanos < (1L << MIN_EXPONENT)) {
+      return 0;
+    }
+    final int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+    if (exponent >= MAX_EXPONENT) {
+      return BUCKETS - 1;
+    }
+    final int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return 1 + (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket;
+  }
+
+  /**
+   * Returns the exclusive upper bound of a bucket, {@link Long#MAX_VALUE} for the last one.
+   *
+   * @param bucket the index of the bucket
+   * @return the upper bound of the bucket, in nanoseconds
+   */
+  static long upperBound(final int bucket) {
+    return UPPER_BOUNDS[bucket];
+  }
+
+  private static long[] upperBounds() {
+    final long[] bounds = new long[BUCKETS];
+    bounds[0] = 1L << MIN_EXPONENT;
+    for (int exponent = MIN_EXPONENT; exponent < MAX_EXPONENT; exponent++) {
+      for (int subBucket = 0; subBucket < SUB_BUCKETS; subBucket++) {
+        bounds[1 + (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket] =
+            (1L << exponent) + ((subBucket + 1L) << (exponent - SUB_BUCKET_BITS));
+      }
+    }
+    bounds[BUCKETS - 1] = Long.MAX_VALUE;
+    return bounds;
+  }
+
+  /** The counts of a histogram at a point in time. */
+  public static final class Snapshot {
+
+    private static final Snapshot EMPTY = new Snapshot(new long[BUCKETS], 0);
+
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+
+    private Snapshot(final long[] counts, final long sum) {
+      this.counts = counts;
+      this.count = Arrays.stream(counts).sum();
+      this.sum = sum;
+    }
+
+    /**
+     * Returns an empty snapshot, the identity of {@link #merge}.
+     *
+     * @return an empty snapshot
+     */
+    public static Snapshot empty() {
+      return EMPTY;
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the number of recorded values
+     */
+    public long getCount() {
+      return count;
+    }
+
+    /**
+     * Returns the sum of the recorded values.
+     *
+     * @return the sum of the recorded values, in nanoseconds
+     */
+    public long getSum() {
+      return sum;
+    }
+
+    /**
+     * Returns the number of recorded values below the upper bound of a bucket.
+     *
+     * @param bucket the index of the bucket
+     * @return the cumulative count of the bucket
+     */
+    long getCumulativeCount(final int bucket) {
+      long cumulative = 0;
+      for (int i = 0; i <= bucket; i++) {
+        cumulative += counts[i];
+      }
+      return cumulative;
+    }
+
+    /**
+     * Returns an upper bound of the given percentile of the recorded values: the upper bound of the
+     * bucket holding it, or the lower bound of the last bucket when it holds it.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the percentile, in nanoseconds, or zero if no value was recorded
+     */
+    public long getValueAtPercentile(final double percentile) {
+      if (count == 0) {
+        return 0;
+      }
+      final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+      long cumulative = 0;
+      for (int bucket = 0; bucket < BUCKETS - 1; bucket++) {
+        cumulative += counts[bucket];
+        if (cumulative >= rank) {
+          return UPPER_BOUNDS[bucket];
+        }
+      }
+      return UPPER_BOUNDS[BUCKETS - 2];
+    }
+
+    /**
+     * Returns the sum of this snapshot and another one.
+     *
+     * @param other the snapshot to add
+     * @return a new snapshot holding the counts of both
+     */
+    public Snapshot merge(final Snapshot other) {
+      final long[] merged = new long[BUCKETS];
+      for (int bucket = 0; bucket < BUCKETS; bucket++) {
+        merged[bucket] = counts[bucket] + other.counts[bucket];
+      }
+      return new Snapshot(merged, sum + other.sum);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ *  PrometheusTextFormat.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import java.util.Map;
+
+/**
+ * Renders the handler latency histograms in the Prometheus text exposition format, as a {@value
+ * #METRIC} histogram labelled by handler.
+ *
+ * <p>The {@code le} buckets are the powers of two of the histogram buckets, from about 1
+ * microsecond to about 17 seconds, so that a scrape stays around thirty lines per handler.
+ */
+public final class PrometheusTextFormat {
+
+  /** The content type of the Prometheus text exposition format. */
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  static final String METRIC = "wms_exception_handler_latency_seconds";
+
+  private PrometheusTextFormat() {}
+
+  /**
+   * Renders the given histograms.
+   *
+   * @param snapshots the histogram snapshots by handler name
+   * @return the histograms in the Prometheus text format
+   */
+  public static String render(final Map<String, LatencyHistogram.Snapshot> snapshots) {
+    final StringBuilder text = new StringBuilder(snapshots.size() * 2048 + 128);
+    text.append("# HELP ").append(METRIC).append(" Latency of the error handlers.\n");
+    text.append("# TYPE ").append(METRIC).append(" histogram\n");
+    snapshots.forEach(
+        (handler, snapshot) -> {
+          // Bucket 0 and every eighth bucket after it end on a power of two.
+          for (int bucket = 0;
+              bucket < LatencyHistogram.BUCKETS - 1;
+              bucket += LatencyHistogram.SUB_BUCKETS) {
+            appendBucket(
+                text,
+                handler,
+                Double.toString(LatencyHistogram.upperBound(bucket) / 1e9),
+                snapshot.getCumulativeCount(bucket));
+          }
+          appendBucket(text, handler, "+Inf", snapshot.getCount());
+          text.append(METRIC).append("_sum{handler=\"").append(handler).append("\"} ");
+          text.append(snapshot.getSum() / 1e9).append('\n');
+          text.append(METRIC).append("_count{handler=\"").append(handler).append("\"} ");
+          text.append(snapshot.getCount()).append('\n');
+        });
+    return text.toString();
+  }
+
+  private static void appendBucket(
+      final StringBuilder text, final String handler, final String le, final long count) {
+    text.append(METRIC).append("_bucket{handler=\"").append(handler);
+    text.append("\",le=\"").append(le).append("\"} ").append(count).append('\n');
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ *  TelemetryEndpointConfiguration.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import az.supplychain.wms.logging.StackTraceLogLimiter;
+import az.supplychain.wms.sanitizer.SensitiveDataSanitizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the actuator endpoints of the error telemetry when Spring Boot Actuator is on the
+ * class path. The actuator dependency of the library is optional, so services without it only get
+ * the plain Java API.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+public class TelemetryEndpointConfiguration {
+
+  @Bean
+  ErrorCountersEndpoint errorCountersEndpoint(
+      final ErrorCounters errorCounters, final SensitiveDataSanitizer sensitiveDataSanitizer) {
+    return new ErrorCountersEndpoint(errorCounters, sensitiveDataSanitizer);
+  }
+
+  @Bean
+  ErrorLatenciesEndpoint errorLatenciesEndpoint(final HandlerLatencies handlerLatencies) {
+    return new ErrorLatenciesEndpoint(handlerLatencies);
+  }
+
+  @Bean
+  ErrorFingerprintsEndpoint errorFingerprintsEndpoint(
+      final ErrorFingerprints errorFingerprints, final StackTraceLogLimiter stackTraceLogLimiter) {
+    return new ErrorFingerprintsEndpoint(errorFingerprints, stackTraceLogLimiter);
+  }
+
+  @Bean
+  ErrorHeavyHittersEndpoint errorHeavyHittersEndpoint(final ErrorHeavyHitters errorHeavyHitters) {
+    return new ErrorHeavyHittersEndpoint(errorHeavyHitters);
+  }
+
+  @Bean
+  ErrorStormEndpoint errorStormEndpoint(final ErrorStormDetector errorStormDetector) {
+    return new ErrorStormEndpoint(errorStormDetector);
+  }
+}
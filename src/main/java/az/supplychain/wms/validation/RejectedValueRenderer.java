@@ -0,0 +1,176 @@
+/*
+ *  RejectedValueRenderer.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.validation;
+
+import java.lang.reflect.Array;
+import java.time.temporal.TemporalAccessor;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Renders the rejected values of validation errors into strings of bounded length.
+ *
+ * <p>Scalar values (character sequences, numbers, booleans, characters, enums, UUIDs and temporal
+ * values) are rendered as their string representation. Arrays, collections and maps are rendered
+ * element by element, like their {@code toString}, and the rendering stops as soon as the limit is
+ * reached, without visiting the remaining elements. Any other object, typically a DTO whose
+ * {@code toString} walks a whole object graph, is rendered as its simple class name followed by
+ * {@code {...}}, without calling its {@code toString}.
+ *
+ * <p>Values longer than the limit are cut and suffixed with {@link #ELLIPSIS}. A short character
+ * sequence is returned as is, without any copy. Instances are immutable and thread-safe.
+ */
+public final class RejectedValueRenderer {
+
+  /** The suffix of the rendered values cut at the limit. */
+  public static final String ELLIPSIS = "...";
+
+  /** The default maximum number of characters of a rendered value. */
+  public static final int DEFAULT_MAX_LENGTH = 256;
+
+  private final int maxLength;
+
+  /** Creates a renderer with the {@link #DEFAULT_MAX_LENGTH default} limit. */
+  public RejectedValueRenderer() {
+    this(DEFAULT_MAX_LENGTH);
+  }
+
+  /**
+   * Creates a renderer with the given limit.
+   *
+   * @param maxLength the maximum number of characters of a rendered value, ellipsis excluded;
+   *     zero or a negative value disables the limit
+   */
+  public RejectedValueRenderer(final int maxLength) {
+    this.maxLength = maxLength > 0 ? maxLength : Integer.MAX_VALUE;
+  }
+
+  /**
+   * Renders the given rejected value.
+   *
+   * @param value the rejected value, may be {@code null}
+   * @return the rendered value, {@code "null"} for a {@code null} value
+   */
+  public String render(final Object value) {
+    if (value instanceof String string && string.length() <= maxLength) {
+      return string;
+    }
+    final Output output = new Output(maxLength);
+    write(value, output);
+    return output.toString();
+  }
+
+  private static void write(final Object value, final Output output) {
+    if (value == null) {
+      output.append("null");
+    } else if (value instanceof CharSequence sequence) {
+      output.append(sequence);
+    } else if (isScalar(value)) {
+      output.append(value.toString());
+    } else if (value instanceof Iterable<?> iterable) {
+      writeElements(iterable.iterator(), output);
+    } else if (value instanceof Map<?, ?> map) {
+      writeEntries(map, output);
+    } else if (value.getClass().isArray()) {
+      writeArray(value, output);
+    } else {
+      output.append(value.getClass().getSimpleName()).append("{...}");
+    }
+  }
+
+  private static boolean isScalar(final Object value) {
+    return value instanceof Number
+        || value instanceof Boolean
+        || value instanceof Character
+        || value instanceof Enum<?>
+        || value instanceof UUID
+        || value instanceof TemporalAccessor;
+  }
+
+  private static void writeElements(final Iterator<?> elements, final Output output) {
+    output.append("[");
+    boolean first = true;
+    while (elements.hasNext() && !output.isFull()) {
+      if (!first) {
+        output.append(", ");
+      }
+      write(elements.next(), output);
+      first = false;
+    }
+    output.append("]");
+  }
+
+  private static void writeEntries(final Map<?, ?> map, final Output output) {
+    output.append("{");
+    boolean first = true;
+    final Iterator<? extends Map.Entry<?, ?>> entries = map.entrySet().iterator();
+    while (entries.hasNext() && !output.isFull()) {
+      final Map.Entry<?, ?> entry = entries.next();
+      if (!first) {
+        output.append(", ");
+      }
+      write(entry.getKey(), output);
+      output.append("=");
+      write(entry.getValue(), output);
+      first = false;
+    }
+    output.append("}");
+  }
+
+  private static void writeArray(final Object array, final Output output) {
+    output.append("[");
+    final int length = Array.getLength(array);
+    for (int i = 0; i < length && !output.isFull(); i++) {
+      if (i > 0) {
+        output.append(", ");
+      }
+      write(Array.get(array, i), output);
+    }
+    output.append("]");
+  }
+
+  /** A string builder dropping everything appended beyond its limit. */
+  private static final class Output {
+
+    private final int maxLength;
+    private final StringBuilder builder;
+    private boolean truncated;
+
+    private Output(final int maxLength) {
+      this.maxLength = maxLength;
+      this.builder = new StringBuilder(Math.min(maxLength, 64));
+    }
+
+    private boolean isFull() {
+      return truncated;
+    }
+
+    private Output append(final CharSequence sequence) {
+      if (truncated) {
+        return this;
+      }
+      int remaining = maxLength - builder.length();
+      if (sequence.length() <= remaining) {
+        builder.append(sequence);
+      } else {
+        // Never split a surrogate pair.
+        if (remaining > 0 && Character.isHighSurrogate(sequence.charAt(remaining - 1))) {
+          remaining--;
+        }
+        builder.append(sequence, 0, remaining);
+        truncated = true;
+      }
+      return this;
+    }
+
+    @Override
+    public String toString() {
+      return truncated ? builder.append(ELLIPSIS).toString() : builder.toString();
+    }
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ *  ValidationDetails.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the validation errors of a request into a bounded list of details.
+ *
+ * <p>The errors are kept in the order they are added, which is the order the client submitted the
+ * invalid values in. At most {@code maxDetails} details are kept; the errors that do not fit are
+ * only counted, without being retained.
+ *
+ * <p>When grouping is enabled, errors on the same field with the same message are collapsed into
+ * a single detail, in one pass over the errors: the field is normalized by emptying its
+ * subscripts, so that {@code lines[3].locationId} and {@code lines[7].locationId} share the field
+ * {@code lines[].locationId}, and the subscripts of the grouped errors are collected in order. A
+ * group lists at most {@link #MAX_SUBSCRIPTS} subscripts and only counts the others, so that a
+ * request with thousands of invalid lines does not produce a message of the same size.
+ *
+ * <p>An instance is used for a single request and is not thread-safe.
+ */
+public final class ValidationDetails {
+
+  /** The maximum number of subscripts listed by a group of errors. */
+  public static final int MAX_SUBSCRIPTS = 20;
+
+  private final int maxDetails;
+  private final Map<String, Detail> groups;
+  private final List<Detail> details;
+  private int omitted;
+
+  /**
+   * Creates an empty collector.
+   *
+   * @param maxDetails the maximum number of details, zero or a negative value for no limit
+   * @param groupDetails whether errors on the same field with the same message are grouped
+   */
+  public ValidationDetails(final int maxDetails, final boolean groupDetails) {
+    this.maxDetails = maxDetails;
+    this.groups = groupDetails ? new LinkedHashMap<>() : null;
+    this.details = groupDetails ? null : new ArrayList<>();
+  }
+
+  /**
+   * Adds a validation error.
+   *
+   * @param objectName the name of the validated object
+   * @param field the path of the invalid field
+   * @param rejectedValue the rejected value, may be {@code null}
+   * @param message the validation message
+   */
+  public void add(
+      final String objectName,
+      final String field,
+      final Object rejectedValue,
+      final String message) {
+    if (groups == null) {
+      if (isFull(details.size())) {
+        omitted++;
+        return;
+      }
+      final Detail detail = new Detail(objectName, field, field, rejectedValue, message);
+      detail.add(null);
+      details.add(detail);
+      return;
+    }
+    final String normalizedField = normalize(field);
+    final String key = normalizedField + '\u0000' + message;
+    final Detail group = groups.get(key);
+    if (group != null) {
+      group.add(subscripts(field));
+    } else if (isFull(groups.size())) {
+      omitted++;
+    } else {
+      final Detail detail = new Detail(objectName, field, normalizedField, rejectedValue, message);
+      detail.add(subscripts(field));
+      groups.put(key, detail);
+    }
+  }
+
+  /**
+   * Returns the collected details, in the order their first error was added.
+   *
+   * @return the collected details
+   */
+  public Collection<Detail> getDetails() {
+    return groups == null
+        ? Collections.unmodifiableList(details)
+        : Collections.unmodifiableCollection(groups.values());
+  }
+
+  /**
+   * Returns the number of errors left out because the maximum number of details was reached.
+   *
+   * @return the number of omitted errors
+   */
+  public int getOmitted() {
+    return omitted;
+  }
+
+  private boolean isFull(final int size) {
+    return maxDetails > 0 && size >= maxDetails;
+  }
+
+  /**
+   * Empties the subscripts of a field path, {@code lines[3].locationId} becoming {@code
+   * lines[].locationId}.
+   */
+  static String normalize(final String field) {
+    if (field == null || field.indexOf('[') < 0) {
+      return field;
+    }
+    final StringBuilder normalized = new StringBuilder(field.length());
+    int depth = 0;
+    for (int i = 0; i < field.length(); i++) {
+      final char c = field.charAt(i);
+      if (c == '[') {
+        if (depth++ == 0) {
+          normalized.append(c);
+        }
+      } else if (c == ']' && depth > 0) {
+        if (--depth == 0) {
+          normalized.append(c);
+        }
+      } else if (depth == 0) {
+        normalized.append(c);
+      }
+    }
+    return normalized.toString();
+  }
+
+  /**
+   * Returns the subscripts of a field path, {@code orders[1].lines[2].qty} giving {@code [1][2]},
+   * or {@code null} if the path has none.
+   */
+  static String subscripts(final String field) {
+    if (field == null || field.indexOf('[') < 0) {
+      return null;
+    }
+    final StringBuilder subscripts = new StringBuilder();
+    int depth = 0;
+    for (int i = 0; i < field.length(); i++) {
+      final char c = field.charAt(i);
+      if (c == '[') {
+        depth++;
+      }
+      if (depth > 0) {
+        subscripts.append(c);
+      }
+      if (c == ']' && depth > 0) {
+        depth--;
+      }
+    }
+    return subscripts.toString();
+  }
+
+  /** A validation error, or a group of validation errors on the same field with one message. */
+  public static final class Detail {
+
+    private final String objectName;
+    private final String field;
+    private final String normalizedField;
+    private final Object rejectedValue;
+    private final String message;
+    private List<String> subscripts;
+    private int omittedSubscripts;
+    private int count;
+
+    private Detail(
+        final String objectName,
+        final String field,
+        final String normalizedField,
+        final Object rejectedValue,
+        final String message) {
+      this.objectName = objectName;
+      this.field = field;
+      this.normalizedField = normalizedField;
+      this.rejectedValue = rejectedValue;
+      this.message = message;
+    }
+
+    private void add(final String fieldSubscripts) {
+      count++;
+      if (fieldSubscripts != null) {
+        if (subscripts == null) {
+          subscripts = new ArrayList<>();
+        }
+        if (subscripts.size() < MAX_SUBSCRIPTS) {
+          subscripts.add(fieldSubscripts);
+        } else {
+          omittedSubscripts++;
+        }
+      }
+    }
+
+    /** Returns the name of the validated object. */
+    public String getObjectName() {
+      return objectName;
+    }
+
+    /** Returns the path of the first invalid field of the detail. */
+    public String getField() {
+      return field;
+    }
+
+    /** Returns the path of the invalid field without its subscripts when grouped. */
+    public String getNormalizedField() {
+      return normalizedField;
+    }
+
+    /** Returns the first rejected value of the detail, may be {@code null}. */
+    public Object getRejectedValue() {
+      return rejectedValue;
+    }
+
+    /** Returns the validation message. */
+    public String getMessage() {
+      return message;
+    }
+
+    /** Returns the number of validation errors the detail stands for. */
+    public int getCount() {
+      return count;
+    }
+
+    /**
+     * Returns the first {@link #MAX_SUBSCRIPTS} subscripts of the grouped fields, in order, such as
+     * {@code [3]}.
+     */
+    public List<String> getSubscripts() {
+      return subscripts == null ? List.of() : Collections.unmodifiableList(subscripts);
+    }
+
+    /** Returns the number of subscripts left out of {@link #getSubscripts()}. */
+    public int getOmittedSubscripts() {
+      return omittedSubscripts;
+    }
+  }
+}
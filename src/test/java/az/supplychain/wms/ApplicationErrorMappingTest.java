@@ -0,0 +1,54 @@
+/*
+ *  ApplicationErrorMappingTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.http.HttpStatus;
+
+class ApplicationErrorMappingTest {
+
+  @Test
+  void resolvesConfiguredStatusesAndDefaults() {
+    ExceptionProperties.Application application = new ExceptionProperties.Application();
+    application.getStatuses().put("WMS-404", 404);
+    application.getStatuses().put("WMS-409", 409);
+
+    ApplicationErrorMapping mapping = new ApplicationErrorMapping(application);
+
+    assertThat(mapping.getStatus("WMS-404")).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(mapping.getStatus("WMS-409")).isEqualTo(HttpStatus.CONFLICT);
+    assertThat(mapping.getStatus("WMS-500")).isEqualTo(HttpStatus.BAD_REQUEST);
+    assertThat(mapping.getStatus(null)).isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  @Test
+  void resolvesSeveritiesInEitherCase() {
+    ExceptionProperties.Application application = new ExceptionProperties.Application();
+    application.getLogLevels().put("Critical", LogLevel.ERROR);
+
+    ApplicationErrorMapping mapping = new ApplicationErrorMapping(application);
+
+    assertThat(mapping.getLogLevel("Critical")).isEqualTo(LogLevel.ERROR);
+    assertThat(mapping.getLogLevel("CRITICAL")).isEqualTo(LogLevel.ERROR);
+    assertThat(mapping.getLogLevel("critical")).isEqualTo(LogLevel.ERROR);
+    assertThat(mapping.getLogLevel("minor")).isEqualTo(LogLevel.DEBUG);
+    assertThat(mapping.getLogLevel(null)).isEqualTo(LogLevel.DEBUG);
+  }
+
+  @Test
+  void rejectsUnknownStatuses() {
+    ExceptionProperties.Application application = new ExceptionProperties.Application();
+    application.getStatuses().put("WMS-999", 999);
+
+    assertThatThrownBy(() -> new ApplicationErrorMapping(application))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ *  DirectExceptionResolverTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import az.supplychain.wms.dto.TestRequestDTO;
+import az.supplychain.wms.exceptions.EntityNotFoundException;
+import az.supplychain.wms.response.ErrorResponseWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Runs every test of {@link GlobalExceptionHandlerTest} with the exceptions resolved by the {@link
+ * DirectExceptionResolver} alone. No other resolver is registered, so an exception the direct
+ * resolver left to Spring MVC would fail the test instead of being resolved by the fallback.
+ */
+class DirectExceptionResolverTest extends GlobalExceptionHandlerTest {
+
+  private DirectExceptionResolver resolver;
+
+  @BeforeEach
+  @Override
+  public void setup() {
+    resolver =
+        new DirectExceptionResolver(new RestApiExceptionHandler(), new ErrorResponseWriter());
+    this.mockMvc =
+        MockMvcBuilders.standaloneSetup(someController)
+            .setHandlerExceptionResolvers(resolver)
+            .build();
+  }
+
+  @Test
+  void resolvesWithTheHandlerOfTheClosestExceptionClass() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tests/exception");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    ModelAndView modelAndView =
+        resolver.resolveException(
+            request,
+            response,
+            null,
+            new EntityNotFoundException(TestRequestDTO.class, "field1", "person1"));
+
+    assertThat(modelAndView).isNotNull();
+    assertThat(modelAndView.isEmpty()).isTrue();
+    assertThat(response.getStatus()).isEqualTo(404);
+    assertThat(response.getContentType()).isEqualTo("application/json");
+    assertThat(response.getContentAsString()).contains("\"message\"");
+  }
+
+  /**
+   * The catch-all handler is declared by the {@link UnexpectedExceptionHandler}, after the advices
+   * of the application, so the exceptions it would answer are left to Spring MVC.
+   */
+  @Test
+  @Override
+  public void testHandleUnexpectedException() {
+    ModelAndView modelAndView =
+        resolver.resolveException(
+            new MockHttpServletRequest("GET", "/tests/exception"),
+            new MockHttpServletResponse(),
+            null,
+            new IllegalStateException("Failed"));
+
+    assertThat(modelAndView).isNull();
+  }
+
+  @Test
+  void leavesTheRequestsNotAcceptingJsonToSpring() {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tests/exception");
+    request.addHeader("Accept", "application/xml");
+
+    ModelAndView modelAndView =
+        resolver.resolveException(
+            request, new MockHttpServletResponse(), null, new IllegalStateException("Failed"));
+
+    assertThat(modelAndView).isNull();
+  }
+
+  @Test
+  void leavesTheRethrownExceptionsToSpring() {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    ModelAndView modelAndView =
+        resolver.resolveException(
+            new MockHttpServletRequest("GET", "/tests/exception"),
+            response,
+            null,
+            new AccessDeniedException("Denied"));
+
+    assertThat(modelAndView).isNull();
+    assertThat(response.isCommitted()).isFalse();
+    assertThat(response.getContentLength()).isZero();
+  }
+}
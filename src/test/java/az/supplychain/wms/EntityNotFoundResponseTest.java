@@ -0,0 +1,97 @@
+/*
+ *  EntityNotFoundResponseTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import az.supplychain.wms.dto.TestRequestDTO;
+import az.supplychain.wms.exceptions.EntitiesNotFoundException;
+import az.supplychain.wms.exceptions.EntityNotFoundException;
+import az.supplychain.wms.exceptions.StackTracePolicy;
+import az.supplychain.wms.sanitizer.SensitiveDataMasker;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+class EntityNotFoundResponseTest {
+
+  private static final String CORRELATION_ID = "3f0c8a52-4f1e-4b8e-9d5a";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private RestApiExceptionHandler handler;
+  private ServletWebRequest webRequest;
+
+  @BeforeEach
+  void setup() {
+    handler = new RestApiExceptionHandler();
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tests/exception");
+    request.addHeader(RestApiExceptionHandler.CORRELATION_ID_HEADER, CORRELATION_ID);
+    webRequest = new ServletWebRequest(request);
+  }
+
+  @Test
+  void exposesTheEntityAndItsSearchParametersAsProperties() {
+    JsonNode properties =
+        handle(
+                new EntityNotFoundException(
+                    TestRequestDTO.class, "sku", "100234", "distributionCenter", "DC-42"))
+            .path("properties");
+
+    assertThat(properties.path(RestApiExceptionHandler.ENTITY_KEY).asText())
+        .isEqualTo("TestRequestDTO");
+    assertThat(properties.path("param.sku").asText()).isEqualTo("100234");
+    assertThat(properties.path("param.distributionCenter").asText()).isEqualTo("DC-42");
+    assertThat(properties.path(RestApiExceptionHandler.CORRELATION_ID_KEY).asText())
+        .isEqualTo(CORRELATION_ID);
+    assertThat(properties.has(RestApiExceptionHandler.TIMESTAMP_KEY)).isTrue();
+  }
+
+  @Test
+  void masksTheParametersWhoseNameOrValueHoldsAKeyword() {
+    JsonNode error =
+        handle(
+            new EntityNotFoundException(
+                TestRequestDTO.class, "token", "abc", "note", "reset password", "sku", "100234"));
+
+    JsonNode properties = error.path("properties");
+    assertThat(properties.path("param.token").asText()).isEqualTo(SensitiveDataMasker.MASK);
+    assertThat(properties.path("param.note").asText()).isEqualTo(SensitiveDataMasker.MASK);
+    assertThat(properties.path("param.sku").asText()).isEqualTo("100234");
+    assertThat(error.path("message").asText()).isEqualTo(SensitiveDataMasker.MASK);
+    assertThat(error.toString()).doesNotContain("abc", "reset");
+  }
+
+  @Test
+  void exposesTheEntityAndSearchParametersOfEveryMiss() {
+    EntitiesNotFoundException ex =
+        EntitiesNotFoundException.collector()
+            .add(TestRequestDTO.class, "sku", "100234")
+            .add(String.class, "token", "abc")
+            .toException(StackTracePolicy.OMIT);
+
+    ResponseEntity<Object> response = handler.handleEntitiesNotFound(ex, webRequest);
+
+    JsonNode details = objectMapper.valueToTree(response.getBody()).path("error").path("details");
+    assertThat(details).hasSize(2);
+    assertThat(details.path(0).path("properties").path("entity").asText())
+        .isEqualTo("TestRequestDTO");
+    assertThat(details.path(0).path("properties").path("param.sku").asText()).isEqualTo("100234");
+    assertThat(details.path(1).path("properties").path("entity").asText()).isEqualTo("String");
+    assertThat(details.path(1).path("properties").path("param.token").asText())
+        .isEqualTo(SensitiveDataMasker.MASK);
+    assertThat(details.toString()).doesNotContain("abc");
+  }
+
+  private JsonNode handle(final EntityNotFoundException ex) {
+    ResponseEntity<Object> response = handler.handleEntityNotFound(ex, webRequest);
+    return objectMapper.valueToTree(response.getBody()).path("error");
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ *  ErrorHandledEventTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import az.supplychain.wms.dto.TestRequestDTO;
+import az.supplychain.wms.exceptions.EntityNotFoundException;
+import az.supplychain.wms.logging.StackTraceLogLimiter;
+import az.supplychain.wms.response.ErrorResponseWriter;
+import az.supplychain.wms.sanitizer.SensitiveDataSanitizer;
+import az.supplychain.wms.telemetry.ErrorCounters;
+import az.supplychain.wms.telemetry.ErrorFingerprints;
+import az.supplychain.wms.telemetry.ErrorHeavyHitters;
+import az.supplychain.wms.telemetry.ErrorStormDetector;
+import az.supplychain.wms.telemetry.HandlerLatencies;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidationException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+class ErrorHandledEventTest {
+
+  private static final String EVENT_NAME = "wms.ErrorHandled";
+
+  @TempDir Path tempDir;
+
+  private RestApiExceptionHandler handler;
+  private MockHttpServletRequest request;
+  private ServletWebRequest webRequest;
+
+  @BeforeEach
+  void setup() {
+    handler = new RestApiExceptionHandler();
+    request = new MockHttpServletRequest("POST", "/tests/exception");
+    request.addHeader(RestApiExceptionHandler.CORRELATION_ID_HEADER, "3f0c8a52-4f1e-4b8e-9d5a");
+    webRequest = new ServletWebRequest(request);
+  }
+
+  @Test
+  void recordsAnEventPerHandledError() throws Exception {
+    List<RecordedEvent> events =
+        record(
+            () -> {
+              handler.handleEntityNotFound(
+                  new EntityNotFoundException(TestRequestDTO.class, "field1", "person1"),
+                  webRequest);
+              handler.handleConstraintViolation(
+                  new ConstraintViolationException(
+                      "Payload validation failed",
+                      Validation.buildDefaultValidatorFactory()
+                          .getValidator()
+                          .validate(new TestRequestDTO("person1", ""))),
+                  webRequest);
+              handler.handle(
+                  request, new MockHttpServletResponse(), new AccessDeniedException("Denied"));
+            });
+
+    assertThat(events).hasSize(3);
+    assertThat(events)
+        .extracting(event -> event.getString("handler"), event -> event.getInt("status"))
+        .containsExactly(
+            tuple("handleEntityNotFound", 404),
+            tuple("handleConstraintViolation", 400),
+            tuple("handle", 403));
+    assertThat(events.get(0).getClass("exceptionClass").getName())
+        .isEqualTo(EntityNotFoundException.class.getName());
+    assertThat(events.get(0).getString("correlationId")).isEqualTo("3f0c8a52-4f1e-4b8e-9d5a");
+    assertThat(events.get(0).getLong("sanitizationTime")).isPositive();
+    assertThat(events.get(1).getInt("details")).isEqualTo(1);
+    assertThat(events.get(2).getLong("serializationTime")).isPositive();
+  }
+
+  @Test
+  void recordsAndCountsTheErrorOfAHandlerThatThrows() throws Exception {
+    ErrorCounters errorCounters = new ErrorCounters();
+    RestApiExceptionHandler failingHandler =
+        new RestApiExceptionHandler(
+            new SensitiveDataSanitizer() {
+              @Override
+              public String sanitize(final String message) {
+                throw new IllegalStateException("Sanitizer failed");
+              }
+            },
+            new ErrorResponseWriter(),
+            new ErrorTimestampSource(),
+            errorCounters,
+            new HandlerLatencies(),
+            new ErrorFingerprints(),
+            new ErrorHeavyHitters(),
+            new ErrorStormDetector(),
+            new StackTraceLogLimiter(),
+            new ExceptionProperties());
+
+    List<RecordedEvent> events =
+        record(
+            () -> {
+              assertThatThrownBy(
+                      () ->
+                          failingHandler.handleValidationException(
+                              new ValidationException("Invalid payload"), webRequest))
+                  .hasMessage("Sanitizer failed");
+              handler.handleEntityNotFound(
+                  new EntityNotFoundException(TestRequestDTO.class, "field1", "person1"),
+                  webRequest);
+            });
+
+    assertThat(events)
+        .extracting(event -> event.getString("handler"), event -> event.getInt("status"))
+        .containsExactly(
+            tuple("handleValidationException", 500), tuple("handleEntityNotFound", 404));
+    assertThat(errorCounters.snapshot())
+        .extracting(ErrorCounters.ErrorCount::getHandler, ErrorCounters.ErrorCount::getStatus)
+        .containsExactly(tuple("handleValidationException", 500));
+  }
+
+  @Test
+  void recordsNothingWhenTheEventIsDisabled() throws Exception {
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      recording.disable(EVENT_NAME);
+      recording.start();
+      handler.handleEntityNotFound(
+          new EntityNotFoundException(TestRequestDTO.class, "field1", "person1"), webRequest);
+      recording.stop();
+      events = readEvents(recording);
+    }
+
+    assertThat(events).noneMatch(event -> event.getEventType().getName().equals(EVENT_NAME));
+  }
+
+  private List<RecordedEvent> record(final HandlerCalls calls) throws Exception {
+    try (Recording recording = new Recording()) {
+      recording.enable(EVENT_NAME);
+      recording.start();
+      calls.run();
+      recording.stop();
+      return readEvents(recording).stream()
+          .filter(event -> event.getEventType().getName().equals(EVENT_NAME))
+          .toList();
+    }
+  }
+
+  private List<RecordedEvent> readEvents(final Recording recording) throws Exception {
+    Path file = Files.createTempFile(tempDir, "errors", ".jfr");
+    recording.dump(file);
+    return RecordingFile.readAllEvents(file);
+  }
+
+  /** Handler invocations performed while recording. */
+  @FunctionalInterface
+  private interface HandlerCalls {
+    void run() throws Exception;
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ *  ErrorStormResponseTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import az.it.boot.web.api.WebApiError;
+import az.supplychain.wms.dto.TestRequestDTO;
+import az.supplychain.wms.exceptions.EntityNotFoundException;
+import az.supplychain.wms.logging.StackTraceLogLimiter;
+import az.supplychain.wms.response.ErrorResponseWriter;
+import az.supplychain.wms.sanitizer.SensitiveDataSanitizer;
+import az.supplychain.wms.telemetry.ErrorCounters;
+import az.supplychain.wms.telemetry.ErrorFingerprints;
+import az.supplychain.wms.telemetry.ErrorHeavyHitters;
+import az.supplychain.wms.telemetry.ErrorStormDetector;
+import az.supplychain.wms.telemetry.HandlerLatencies;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+class ErrorStormResponseTest {
+
+  private static final String CORRELATION_ID = "3f0c8a52-4f1e-4b8e-9d5a";
+
+  private final AtomicLong clock = new AtomicLong(1_000);
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private ErrorStormDetector stormDetector;
+  private RestApiExceptionHandler handler;
+  private MockHttpServletRequest request;
+
+  @BeforeEach
+  void setup() {
+    ExceptionProperties properties = new ExceptionProperties();
+    properties.getStorm().setEnabled(true);
+    properties.getStorm().setEnterRate(1);
+    properties.getStorm().setExitRate(0.5);
+    properties.getStorm().setInterval(Duration.ofSeconds(1));
+    properties.getStorm().setAveragingWindow(Duration.ofSeconds(1));
+    stormDetector = new ErrorStormDetector(properties.getStorm(), clock::get);
+    handler =
+        new RestApiExceptionHandler(
+            new SensitiveDataSanitizer(),
+            new ErrorResponseWriter(),
+            new ErrorTimestampSource(),
+            new ErrorCounters(),
+            new HandlerLatencies(),
+            new ErrorFingerprints(),
+            new ErrorHeavyHitters(),
+            stormDetector,
+            new StackTraceLogLimiter(),
+            properties);
+    request = new MockHttpServletRequest("POST", "/tests/exception");
+    request.addHeader(RestApiExceptionHandler.CORRELATION_ID_HEADER, CORRELATION_ID);
+  }
+
+  @Test
+  void answersMinimalBodiesDuringAStorm() throws Exception {
+    EntityNotFoundException ex = new EntityNotFoundException(TestRequestDTO.class, "field1", "A");
+
+    ResponseEntity<Object> detailed =
+        handler.handleEntityNotFound(ex, new ServletWebRequest(request));
+    assertThat(detailed).isNotNull();
+
+    clock.addAndGet(Duration.ofSeconds(1).toNanos());
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    ResponseEntity<Object> minimal =
+        handler.handleEntityNotFound(ex, new ServletWebRequest(request, response));
+
+    assertThat(minimal).isNull();
+    assertThat(response.getStatus()).isEqualTo(404);
+    assertThat(response.getContentAsString())
+        .contains("\"404\"", CORRELATION_ID)
+        .doesNotContain("TestRequestDTO", "timestamp");
+  }
+
+  @Test
+  void leavesTheStormOnlyOnceTheRateDropsBelowTheExitRate() {
+    enterTheStorm();
+
+    // Averages about 0.6 errors/s, below the enter rate but above the exit rate.
+    clock.addAndGet(Duration.ofSeconds(2).toNanos());
+    assertThat(handleEntityNotFound()).isNull();
+    assertThat(stormDetector.status().isStorming()).isTrue();
+    assertThat(stormDetector.status().getErrorRate()).isBetween(0.5, 1.0);
+
+    // Averages about 0.35 errors/s, below the exit rate.
+    clock.addAndGet(Duration.ofSeconds(3).toNanos());
+    ResponseEntity<Object> detailed = handleEntityNotFound();
+    assertThat(detailed).isNotNull();
+    assertThat(objectMapper.valueToTree(detailed.getBody()).toString())
+        .contains("TestRequestDTO", "timestamp");
+    assertThat(stormDetector.status().isStorming()).isFalse();
+    assertThat(stormDetector.status().getTransitions()).isEqualTo(2);
+  }
+
+  @Test
+  void fallsBackToAResponseEntityWithoutServletResponse() {
+    enterTheStorm();
+
+    ResponseEntity<Object> minimal =
+        handler.handleEntityNotFound(
+            new EntityNotFoundException(TestRequestDTO.class, "field1", "A"),
+            new ServletWebRequest(request));
+
+    assertThat(minimal).isNotNull();
+    assertThat(minimal.getStatusCode().value()).isEqualTo(404);
+    JsonNode error = objectMapper.valueToTree(minimal.getBody()).path("error");
+    assertThat(error.path("code").asText()).isEqualTo("404");
+    assertThat(error.path("properties").path(RestApiExceptionHandler.CORRELATION_ID_KEY).asText())
+        .isEqualTo(CORRELATION_ID);
+    assertThat(error.toString()).doesNotContain("TestRequestDTO", "timestamp");
+  }
+
+  @Test
+  void keepsTheBareErrorBodyOfTheSecurityResponsesDuringAStorm() throws Exception {
+    enterTheStorm();
+    MockHttpServletResponse unauthorized = new MockHttpServletResponse();
+    MockHttpServletResponse forbidden = new MockHttpServletResponse();
+
+    handler.commence(request, unauthorized, new BadCredentialsException("Bad credentials"));
+    handler.handle(request, forbidden, new AccessDeniedException("Access is denied"));
+
+    assertThat(unauthorized.getStatus()).isEqualTo(401);
+    assertThat(unauthorized.getContentAsByteArray()).isEqualTo(stormBody("401"));
+    assertThat(unauthorized.getContentLength()).isEqualTo(stormBody("401").length);
+    assertThat(forbidden.getStatus()).isEqualTo(403);
+    assertThat(forbidden.getContentAsByteArray()).isEqualTo(stormBody("403"));
+    JsonNode body = objectMapper.readTree(forbidden.getContentAsByteArray());
+    assertThat(body.has("error")).isFalse();
+    assertThat(body.path("code").asText()).isEqualTo("403");
+    assertThat(body.toString()).doesNotContain("Access is denied", "timestamp");
+  }
+
+  /** Records enough errors for the average rate to reach the enter rate. */
+  private void enterTheStorm() {
+    handleEntityNotFound();
+    clock.addAndGet(Duration.ofSeconds(1).toNanos());
+    handleEntityNotFound();
+    assertThat(stormDetector.status().isStorming()).isTrue();
+  }
+
+  private ResponseEntity<Object> handleEntityNotFound() {
+    return handler.handleEntityNotFound(
+        new EntityNotFoundException(TestRequestDTO.class, "field1", "A"),
+        new ServletWebRequest(request, new MockHttpServletResponse()));
+  }
+
+  /** The minimal WebApiError written by commence and handle, without wrapper. */
+  private byte[] stormBody(final String code) throws Exception {
+    Map<String, String> properties = new HashMap<>();
+    properties.put(RestApiExceptionHandler.CORRELATION_ID_KEY, CORRELATION_ID);
+    return objectMapper
+        .writeValueAsString(WebApiError.builder().code(code).properties(properties).build())
+        .getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ *  ErrorTimestampSourceTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import az.supplychain.wms.dto.TestRequestDTO;
+import az.supplychain.wms.exceptions.EntitiesNotFoundException;
+import az.supplychain.wms.exceptions.StackTracePolicy;
+import az.supplychain.wms.logging.StackTraceLogLimiter;
+import az.supplychain.wms.response.ErrorResponseWriter;
+import az.supplychain.wms.sanitizer.SensitiveDataSanitizer;
+import az.supplychain.wms.telemetry.ErrorCounters;
+import az.supplychain.wms.telemetry.ErrorFingerprints;
+import az.supplychain.wms.telemetry.ErrorHeavyHitters;
+import az.supplychain.wms.telemetry.ErrorStormDetector;
+import az.supplychain.wms.telemetry.HandlerLatencies;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+class ErrorTimestampSourceTest {
+
+  private static final Instant NOW = Instant.parse("2024-03-01T12:30:45.123Z");
+
+  @Test
+  void formatsTheInstantOfTheSourceInUtc() {
+    ErrorTimestampSource source = new ErrorTimestampSource(InstantSource.fixed(NOW));
+
+    assertThat(source.now()).isEqualTo("2024-03-01T12:30:45.123Z").isSameAs(source.now());
+  }
+
+  @Test
+  void formatsAgainOnceTheMillisecondChanged() {
+    AtomicLong millis = new AtomicLong(NOW.toEpochMilli());
+    ErrorTimestampSource source =
+        new ErrorTimestampSource(() -> Instant.ofEpochMilli(millis.get()));
+
+    String first = source.now();
+    millis.incrementAndGet();
+
+    assertThat(first).isEqualTo("2024-03-01T12:30:45.123Z");
+    assertThat(source.now()).isEqualTo("2024-03-01T12:30:45.124Z");
+  }
+
+  @Test
+  void stampsTheRootAndTheDetailsOfAResponseWithASingleTimestamp() {
+    // Every read of this source is a millisecond later than the previous one, so a detail
+    // reading the clock again would carry a different timestamp than the root.
+    AtomicLong millis = new AtomicLong(NOW.toEpochMilli());
+    ErrorTimestampSource source =
+        new ErrorTimestampSource(() -> Instant.ofEpochMilli(millis.getAndIncrement()));
+    RestApiExceptionHandler handler =
+        new RestApiExceptionHandler(
+            new SensitiveDataSanitizer(),
+            new ErrorResponseWriter(),
+            source,
+            new ErrorCounters(),
+            new HandlerLatencies(),
+            new ErrorFingerprints(),
+            new ErrorHeavyHitters(),
+            new ErrorStormDetector(),
+            new StackTraceLogLimiter(),
+            new ExceptionProperties());
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/tests/exception");
+    request.addHeader(RestApiExceptionHandler.CORRELATION_ID_HEADER, "3f0c8a52-4f1e-4b8e-9d5a");
+    EntitiesNotFoundException ex =
+        EntitiesNotFoundException.collector()
+            .add(TestRequestDTO.class, "field1", "A")
+            .add(TestRequestDTO.class, "field2", "B")
+            .add(TestRequestDTO.class, "field2", "C")
+            .toException(StackTracePolicy.OMIT);
+
+    ResponseEntity<Object> response =
+        handler.handleEntitiesNotFound(ex, new ServletWebRequest(request));
+
+    JsonNode error = new ObjectMapper().valueToTree(response.getBody()).path("error");
+    assertThat(error.path("properties").path(RestApiExceptionHandler.TIMESTAMP_KEY).asText())
+        .isEqualTo("2024-03-01T12:30:45.123Z");
+    assertThat(error.path("details")).hasSize(3);
+    for (JsonNode detail : error.path("details")) {
+      assertThat(detail.path("properties").path(RestApiExceptionHandler.TIMESTAMP_KEY).asText())
+          .isEqualTo("2024-03-01T12:30:45.123Z");
+    }
+  }
+}
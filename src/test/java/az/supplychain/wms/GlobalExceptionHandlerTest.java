@@ -23,8 +23,11 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.http.converter.HttpMessageNotWritableException;
 import org.springframework.test.web.servlet.MockMvc;
@@ -34,6 +37,8 @@ import org.springframework.validation.beanvalidation.MethodValidationPostProcess
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
@@ -41,14 +46,22 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import az.supplychain.wms.dto.TestRequestDTO;
 import az.supplychain.wms.exceptions.EntityNotFoundException;
+import az.supplychain.wms.logging.StackTraceLogLimiter;
+import az.supplychain.wms.response.ErrorResponseWriter;
+import az.supplychain.wms.sanitizer.SensitiveDataSanitizer;
+import az.supplychain.wms.telemetry.ErrorCounters;
+import az.supplychain.wms.telemetry.ErrorFingerprints;
+import az.supplychain.wms.telemetry.ErrorHeavyHitters;
+import az.supplychain.wms.telemetry.ErrorStormDetector;
+import az.supplychain.wms.telemetry.HandlerLatencies;
 import az.supplychain.wms.testController.SomeController;
 import jakarta.validation.ConstraintViolationException;
 
 @SpringBootTest
 @AutoConfigureMockMvc
 public class GlobalExceptionHandlerTest {
-  @Autowired private MockMvc mockMvc;
-  @InjectMocks private SomeController someController;
+  @Autowired protected MockMvc mockMvc;
+  @InjectMocks protected SomeController someController;
 
   @Configuration
   public static class GlobalExceptionHandlerIntegrationTestConfig {
@@ -74,11 +87,23 @@ public class GlobalExceptionHandlerTest {
     }
   }
 
+  /** An advice of the application handling the exceptions left to the catch-all handler. */
+  @Order(0)
+  @ControllerAdvice
+  static class IllegalStateAdvice {
+
+    @ExceptionHandler(IllegalStateException.class)
+    ResponseEntity<String> handleIllegalState(final IllegalStateException ex) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+  }
+
   @BeforeEach
   public void setup() {
+    RestApiExceptionHandler handler = new RestApiExceptionHandler();
     this.mockMvc =
         MockMvcBuilders.standaloneSetup(someController) // instantiate controller.
-            .setControllerAdvice(new RestApiExceptionHandler()) // bind with
+            .setControllerAdvice(handler, new UnexpectedExceptionHandler(handler)) // bind with
             .build();
   }
 
@@ -170,7 +195,7 @@ public class GlobalExceptionHandlerTest {
                     "Payload validation failed",
                     Objects.requireNonNull(result.getResolvedException()).getMessage()))
         .andExpect(jsonPath("$.error.message").value("Payload validation failed"))
-        .andExpect(jsonPath("$.error.details[0].message").value("Invalid value  on field TestRequestDTO(field1=person1, field2=) for object TestRequestDTO: must not be blank."));
+        .andExpect(jsonPath("$.error.details[0].message").value("Invalid value  on field field2 for object TestRequestDTO: must not be blank."));
   }
 
   @Test
@@ -195,6 +220,128 @@ public class GlobalExceptionHandlerTest {
                     Objects.requireNonNull(result.getResolvedException()).getMessage()));
   }
 
+  @Test
+  public void testHandleApplicationException() throws Exception {
+    TestRequestDTO sample = new TestRequestDTO("A", "B");
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    this.mockMvc
+        .perform(
+            post("/tests/exception/application-exception")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sample)))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.error.message").value("Dummy application exception raised!"));
+  }
+
+  @Test
+  public void testHandleUnexpectedException() throws Exception {
+    this.mockMvc
+        .perform(get("/tests/exception/unexpected-exception"))
+        .andExpect(status().isInternalServerError())
+        .andExpect(
+            jsonPath("$.error.message")
+                .value(
+                    "An unexpected error occurred, please contact support with the correlation"
+                        + " id"));
+  }
+
+  @Test
+  public void testLeavesTheExceptionsHandledByAnAdviceOfTheApplicationToIt() throws Exception {
+    RestApiExceptionHandler handler = new RestApiExceptionHandler();
+    MockMvc applicationMockMvc =
+        MockMvcBuilders.standaloneSetup(someController)
+            .setControllerAdvice(
+                new UnexpectedExceptionHandler(handler), handler, new IllegalStateAdvice())
+            .build();
+
+    applicationMockMvc
+        .perform(get("/tests/exception/unexpected-exception"))
+        .andExpect(status().isConflict())
+        .andExpect(
+            result ->
+                Assertions.assertEquals(
+                    "Dummy unexpected exception raised!",
+                    result.getResponse().getContentAsString()));
+  }
+
+  @Test
+  public void testHandleEntitiesNotFoundException() throws Exception {
+    TestRequestDTO sample = new TestRequestDTO("A", "B");
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    this.mockMvc
+        .perform(
+            post("/tests/exception/entities-not-found")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sample)))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.error.message").value("2 entities were not found"))
+        .andExpect(
+            jsonPath("$.error.details[0].message")
+                .value("TestRequestDTO was not found for parameters {field1=A}"))
+        .andExpect(
+            jsonPath("$.error.details[1].message")
+                .value("TestRequestDTO was not found for parameters {field2=B}"));
+  }
+
+  @Test
+  public void testHandleEntitiesNotFoundExceptionWithMultiStatus() throws Exception {
+    ExceptionProperties properties = new ExceptionProperties();
+    properties.getNotFound().setBulkStatus(207);
+    RestApiExceptionHandler handler =
+        new RestApiExceptionHandler(
+            new SensitiveDataSanitizer(),
+            new ErrorResponseWriter(),
+            new ErrorTimestampSource(),
+            new ErrorCounters(),
+            new HandlerLatencies(),
+            new ErrorFingerprints(),
+            new ErrorHeavyHitters(),
+            new ErrorStormDetector(),
+            new StackTraceLogLimiter(),
+            properties);
+    MockMvc multiStatusMockMvc =
+        MockMvcBuilders.standaloneSetup(someController).setControllerAdvice(handler).build();
+    TestRequestDTO sample = new TestRequestDTO("A", "B");
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    multiStatusMockMvc
+        .perform(
+            post("/tests/exception/entities-not-found")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(sample)))
+        .andExpect(status().isMultiStatus())
+        .andExpect(jsonPath("$.error.code").value("207"))
+        .andExpect(jsonPath("$.error.message").value("2 entities were not found"))
+        .andExpect(jsonPath("$.error.details[0].code").value("404"))
+        .andExpect(jsonPath("$.error.details[0].properties.entity").value("TestRequestDTO"))
+        .andExpect(jsonPath("$.error.details[0].properties['param.field1']").value("A"))
+        .andExpect(jsonPath("$.error.details[1].code").value("404"))
+        .andExpect(jsonPath("$.error.details[1].properties['param.field2']").value("B"));
+  }
+
+  @Test
+  public void testRejectsABulkNotFoundStatusOtherThanNotFoundOrMultiStatus() {
+    ExceptionProperties properties = new ExceptionProperties();
+    properties.getNotFound().setBulkStatus(500);
+
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new RestApiExceptionHandler(
+                new SensitiveDataSanitizer(),
+                new ErrorResponseWriter(),
+                new ErrorTimestampSource(),
+                new ErrorCounters(),
+                new HandlerLatencies(),
+                new ErrorFingerprints(),
+                new ErrorHeavyHitters(),
+                new ErrorStormDetector(),
+                new StackTraceLogLimiter(),
+                properties));
+  }
+
   @Test
   public void testHandleEntityNotFoundException() throws Exception {
     TestRequestDTO sample = new TestRequestDTO("A", "B");
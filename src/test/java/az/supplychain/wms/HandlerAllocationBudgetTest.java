@@ -0,0 +1,179 @@
+/*
+ *  HandlerAllocationBudgetTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import az.supplychain.wms.dto.TestRequestDTO;
+import az.supplychain.wms.exceptions.EntityNotFoundException;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Allocation budgets of the error handlers.
+ *
+ * <p>Each handler is called repeatedly on the current thread, first to let the JIT compile it,
+ * then while measuring the bytes allocated by the thread with {@code
+ * com.sun.management.ThreadMXBean}. The test fails when the average allocation per handled
+ * exception exceeds the declared budget. The budgets are deliberately generous, a few times the
+ * expected allocation, so that they only catch regressions such as a map or a timestamp built
+ * per detail again, not JVM to JVM variations.
+ */
+class HandlerAllocationBudgetTest {
+
+  private static final int WARM_UP_ITERATIONS = 20_000;
+  private static final int MEASURED_ITERATIONS = 2_000;
+
+  private static com.sun.management.ThreadMXBean threadMXBean;
+
+  private RestApiExceptionHandler handler;
+  private MockHttpServletRequest request;
+  private ServletWebRequest webRequest;
+
+  @BeforeAll
+  static void checkSupport() {
+    assumeTrue(
+        ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+        "Thread allocation accounting is not available on this JVM");
+    threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(
+        threadMXBean.isThreadAllocatedMemorySupported(),
+        "Thread allocation accounting is not supported on this JVM");
+    threadMXBean.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  @BeforeEach
+  void setup() {
+    handler = new RestApiExceptionHandler();
+    request = new MockHttpServletRequest("POST", "/tests/exception");
+    request.addHeader(RestApiExceptionHandler.CORRELATION_ID_HEADER, "3f0c8a52-4f1e-4b8e-9d5a");
+    webRequest = new ServletWebRequest(request);
+  }
+
+  @Test
+  void handleMissingServletRequestParameterStaysWithinBudget() {
+    MissingServletRequestParameterException ex =
+        new MissingServletRequestParameterException("param1", "String");
+
+    assertWithinBudget(
+        4 * 1024,
+        () ->
+            handler.handleMissingServletRequestParameter(
+                ex, HttpHeaders.EMPTY, HttpStatus.BAD_REQUEST, webRequest));
+  }
+
+  @Test
+  void handleEntityNotFoundStaysWithinBudget() {
+    EntityNotFoundException ex =
+        new EntityNotFoundException(TestRequestDTO.class, "field1", "person1");
+
+    assertWithinBudget(4 * 1024, () -> handler.handleEntityNotFound(ex, webRequest));
+  }
+
+  @Test
+  void handleConstraintViolationStaysWithinBudget() {
+    ConstraintViolationException ex =
+        new ConstraintViolationException(
+            "Payload validation failed",
+            Validation.buildDefaultValidatorFactory()
+                .getValidator()
+                .validate(new TestRequestDTO("person1", "")));
+
+    assertWithinBudget(8 * 1024, () -> handler.handleConstraintViolation(ex, webRequest));
+  }
+
+  @Test
+  void handleMethodArgumentNotValidStaysWithinBudgetPerFieldError() throws Exception {
+    int fieldErrors = 50;
+    BeanPropertyBindingResult bindingResult =
+        new BeanPropertyBindingResult(new TestRequestDTO(), "testRequestDTO");
+    for (int i = 0; i < fieldErrors; i++) {
+      bindingResult.addError(
+          new FieldError(
+              "testRequestDTO",
+              "lines[" + i + "].field1",
+              "",
+              false,
+              null,
+              null,
+              "must not be blank"));
+    }
+    MethodArgumentNotValidException ex =
+        new MethodArgumentNotValidException(
+            new MethodParameter(
+                HandlerAllocationBudgetTest.class.getDeclaredMethod(
+                    "validate", TestRequestDTO.class),
+                0),
+            bindingResult);
+
+    assertWithinBudget(
+        fieldErrors * 1024,
+        () ->
+            handler.handleMethodArgumentNotValid(
+                ex, HttpHeaders.EMPTY, HttpStatus.BAD_REQUEST, webRequest));
+  }
+
+  @Test
+  void commenceStaysWithinBudget() {
+    BadCredentialsException ex = new BadCredentialsException("Bad credentials");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertWithinBudget(
+        8 * 1024,
+        () -> {
+          response.setCommitted(false);
+          response.reset();
+          handler.commence(request, response, ex);
+        });
+  }
+
+  private static void assertWithinBudget(final long budgetBytes, final HandlerCall call) {
+    try {
+      for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+        call.run();
+      }
+      long threadId = Thread.currentThread().getId();
+      long before = threadMXBean.getThreadAllocatedBytes(threadId);
+      for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+        call.run();
+      }
+      long allocatedPerCall =
+          (threadMXBean.getThreadAllocatedBytes(threadId) - before) / MEASURED_ITERATIONS;
+
+      assertThat(allocatedPerCall)
+          .as("bytes allocated per handled exception")
+          .isLessThanOrEqualTo(budgetBytes);
+    } catch (Exception e) {
+      throw new AssertionError("The handler failed", e);
+    }
+  }
+
+  @SuppressWarnings("unused")
+  private void validate(final TestRequestDTO requestDto) {}
+
+  /** A handler invocation. */
+  @FunctionalInterface
+  private interface HandlerCall {
+    void run() throws Exception;
+  }
+}
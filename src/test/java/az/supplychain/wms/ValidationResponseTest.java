@@ -0,0 +1,178 @@
+/*
+ *  ValidationResponseTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import az.supplychain.wms.dto.TestRequestDTO;
+import az.supplychain.wms.logging.StackTraceLogLimiter;
+import az.supplychain.wms.response.ErrorResponseWriter;
+import az.supplychain.wms.sanitizer.SensitiveDataSanitizer;
+import az.supplychain.wms.telemetry.ErrorCounters;
+import az.supplychain.wms.telemetry.ErrorFingerprints;
+import az.supplychain.wms.telemetry.ErrorHeavyHitters;
+import az.supplychain.wms.telemetry.ErrorStormDetector;
+import az.supplychain.wms.telemetry.HandlerLatencies;
+import az.supplychain.wms.validation.ValidationDetails;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+class ValidationResponseTest {
+
+  private static final String CORRELATION_ID = "3f0c8a52-4f1e-4b8e-9d5a";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private ExceptionProperties properties;
+  private ServletWebRequest webRequest;
+
+  @BeforeEach
+  void setup() {
+    properties = new ExceptionProperties();
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/tests/exception");
+    request.addHeader(RestApiExceptionHandler.CORRELATION_ID_HEADER, CORRELATION_ID);
+    webRequest = new ServletWebRequest(request);
+  }
+
+  @Test
+  void listsTheFirstSubscriptsOfAGroupAndCountsTheOthers() throws Exception {
+    properties.getValidation().setGroupDetails(true);
+    int errors = ValidationDetails.MAX_SUBSCRIPTS + 80;
+
+    JsonNode error = handleInvalidLines(errors).path("error");
+
+    StringBuilder subscripts = new StringBuilder();
+    for (int i = 0; i < ValidationDetails.MAX_SUBSCRIPTS; i++) {
+      subscripts.append(i == 0 ? "" : ", ").append('[').append(i).append(']');
+    }
+    assertThat(error.path("details")).hasSize(1);
+    assertThat(error.path("details").path(0).path("message").asText())
+        .isEqualTo(
+            "Invalid values on field lines[].locationId for object putAwayRequest at "
+                + subscripts
+                + " and 80 more: must not be blank.");
+  }
+
+  @Test
+  void listsEverySubscriptOfAGroupWithinTheLimit() throws Exception {
+    properties.getValidation().setGroupDetails(true);
+
+    JsonNode error = handleInvalidLines(2).path("error");
+
+    assertThat(error.path("details").path(0).path("message").asText())
+        .isEqualTo(
+            "Invalid values on field lines[].locationId for object putAwayRequest at [0], [1]: "
+                + "must not be blank.");
+  }
+
+  @Test
+  void keepsTheGenericPropertiesOnTheRootOnlyInCompactMode() throws Exception {
+    properties.getRendering().setCompactDetails(true);
+    properties.getValidation().setMaxDetails(2);
+
+    JsonNode error = handleInvalidLines(3).path("error");
+
+    assertThat(error.path("properties").path(RestApiExceptionHandler.CORRELATION_ID_KEY).asText())
+        .isEqualTo(CORRELATION_ID);
+    assertThat(error.path("properties").path(RestApiExceptionHandler.TIMESTAMP_KEY).asText())
+        .isNotEmpty();
+    assertThat(error.path("details")).hasSize(3);
+    for (JsonNode detail : error.path("details")) {
+      assertThat(nonNullFieldNames(detail)).containsExactlyInAnyOrder("code", "message");
+      assertThat(detail.path("code").asText()).isEqualTo("400");
+    }
+    assertThat(error.path("details").path(2).path("message").asText())
+        .isEqualTo("truncated: 1 more");
+  }
+
+  @Test
+  void repeatsTheGenericPropertiesOnEveryDetailByDefault() throws Exception {
+    JsonNode error = handleInvalidLines(2).path("error");
+
+    String timestamp =
+        error.path("properties").path(RestApiExceptionHandler.TIMESTAMP_KEY).asText();
+    assertThat(error.path("details")).hasSize(2);
+    for (JsonNode detail : error.path("details")) {
+      JsonNode detailProperties = detail.path("properties");
+      assertThat(detailProperties.path(RestApiExceptionHandler.CORRELATION_ID_KEY).asText())
+          .isEqualTo(CORRELATION_ID);
+      assertThat(detailProperties.path(RestApiExceptionHandler.TIMESTAMP_KEY).asText())
+          .isEqualTo(timestamp);
+    }
+  }
+
+  private static List<String> nonNullFieldNames(final JsonNode node) {
+    List<String> names = new ArrayList<>();
+    node.fields()
+        .forEachRemaining(
+            field -> {
+              if (!field.getValue().isNull()) {
+                names.add(field.getKey());
+              }
+            });
+    return names;
+  }
+
+  private JsonNode handleInvalidLines(final int errors) throws Exception {
+    BeanPropertyBindingResult bindingResult =
+        new BeanPropertyBindingResult(new TestRequestDTO(), "putAwayRequest");
+    for (int i = 0; i < errors; i++) {
+      bindingResult.addError(
+          new FieldError(
+              "putAwayRequest",
+              "lines[" + i + "].locationId",
+              "",
+              false,
+              null,
+              null,
+              "must not be blank"));
+    }
+    MethodArgumentNotValidException ex =
+        new MethodArgumentNotValidException(
+            new MethodParameter(
+                ValidationResponseTest.class.getDeclaredMethod("putAway", TestRequestDTO.class),
+                0),
+            bindingResult);
+
+    ResponseEntity<Object> response =
+        handler()
+            .handleMethodArgumentNotValid(
+                ex, new HttpHeaders(), HttpStatus.BAD_REQUEST, webRequest);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    return objectMapper.valueToTree(response.getBody());
+  }
+
+  private RestApiExceptionHandler handler() {
+    return new RestApiExceptionHandler(
+        new SensitiveDataSanitizer(),
+        new ErrorResponseWriter(),
+        new ErrorTimestampSource(),
+        new ErrorCounters(),
+        new HandlerLatencies(),
+        new ErrorFingerprints(),
+        new ErrorHeavyHitters(),
+        new ErrorStormDetector(),
+        new StackTraceLogLimiter(),
+        properties);
+  }
+
+  @SuppressWarnings("unused")
+  private void putAway(final TestRequestDTO putAwayRequest) {}
+}
@@ -0,0 +1,115 @@
+/*
+ *  EntitiesNotFoundExceptionTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.exceptions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import az.supplychain.wms.dto.TestRequestDTO;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class EntitiesNotFoundExceptionTest {
+
+  @Test
+  void keepsEveryMissWhenGrowingPastTheInitialCapacity() {
+    EntitiesNotFoundException.Collector misses = EntitiesNotFoundException.collector();
+    // Twenty misses with zero to three parameters each, so that both the per-miss arrays and
+    // the flat parameter array outgrow their initial capacity.
+    for (int i = 0; i < 20; i++) {
+      String[] params = new String[(i % 4) * 2];
+      for (int p = 0; p < params.length; p += 2) {
+        params[p] = "key" + p / 2;
+        params[p + 1] = i + "-" + p / 2;
+      }
+      misses.add(i % 2 == 0 ? TestRequestDTO.class : String.class, params);
+    }
+
+    EntitiesNotFoundException ex = misses.toException(StackTracePolicy.OMIT);
+
+    assertThat(misses.size()).isEqualTo(20);
+    assertThat(ex.size()).isEqualTo(20);
+    assertThat(ex.getMessage()).isEqualTo("20 entities were not found");
+    for (int i = 0; i < 20; i++) {
+      assertThat(ex.getEntityClass(i)).isEqualTo(i % 2 == 0 ? TestRequestDTO.class : String.class);
+      assertThat(ex.getSearchParameters(i)).hasSize(i % 4);
+      for (int p = 0; p < i % 4; p++) {
+        assertThat(ex.getSearchParameters(i)).containsEntry("key" + p, i + "-" + p);
+      }
+    }
+    assertThat(ex.getSearchParameters(19))
+        .containsExactly(
+            Map.entry("key0", "19-0"), Map.entry("key1", "19-1"), Map.entry("key2", "19-2"));
+  }
+
+  @Test
+  void buildsEachMissMessageLikeASingleEntityNotFoundException() {
+    EntitiesNotFoundException ex =
+        EntitiesNotFoundException.collector()
+            .add(TestRequestDTO.class, "sku", "100234", "distributionCenter", "DC-42")
+            .add(String.class)
+            .add(TestRequestDTO.class, "lot", "L7")
+            .toException(StackTracePolicy.OMIT);
+
+    assertThat(ex.getMessage()).isEqualTo("3 entities were not found");
+    assertThat(ex.getEntityName(0)).isEqualTo("TestRequestDTO");
+    assertThat(ex.getMessage(0))
+        .isEqualTo(
+            new EntityNotFoundException(
+                    TestRequestDTO.class, "sku", "100234", "distributionCenter", "DC-42")
+                .getMessage());
+    assertThat(ex.getMessage(1)).isEqualTo("String was not found for parameters {}");
+    assertThat(ex.getSearchParameters(1)).isEmpty();
+    assertThat(ex.getMessage(2)).isEqualTo("TestRequestDTO was not found for parameters {lot=L7}");
+    assertThat(ex.getSearchParameters(2)).containsExactly(Map.entry("lot", "L7"));
+  }
+
+  @Test
+  void keepsTheMissesAddedBeforeTheExceptionWasCreated() {
+    EntitiesNotFoundException.Collector misses =
+        EntitiesNotFoundException.collector().add(TestRequestDTO.class, "sku", "100234");
+    EntitiesNotFoundException ex = misses.toException(StackTracePolicy.OMIT);
+    misses.add(TestRequestDTO.class, "sku", "100235");
+
+    assertThat(ex.size()).isEqualTo(1);
+    assertThat(ex.getMessage()).isEqualTo("1 entity was not found");
+    assertThat(ex.getSearchParameters(0)).containsExactly(Map.entry("sku", "100234"));
+  }
+
+  @Test
+  void createsAnEmptyExceptionFromAnEmptyCollector() {
+    EntitiesNotFoundException.Collector misses = EntitiesNotFoundException.collector();
+
+    EntitiesNotFoundException ex = misses.toException(StackTracePolicy.CAPTURE);
+
+    assertThat(misses.isEmpty()).isTrue();
+    assertThat(ex.size()).isZero();
+    assertThat(ex.getMessage()).isEqualTo("0 entities were not found");
+    assertThat(ex.getStackTrace()).isNotEmpty();
+    assertThat(misses.toException(StackTracePolicy.OMIT).getStackTrace()).isEmpty();
+    misses.throwIfAny();
+  }
+
+  @Test
+  void throwsTheCollectedMisses() {
+    EntitiesNotFoundException.Collector misses =
+        EntitiesNotFoundException.collector().add(TestRequestDTO.class, "sku", "100234");
+
+    assertThatThrownBy(misses::throwIfAny)
+        .isInstanceOf(EntitiesNotFoundException.class)
+        .hasMessage("1 entity was not found");
+  }
+
+  @Test
+  void rejectsAnOddNumberOfParameters() {
+    EntitiesNotFoundException.Collector misses = EntitiesNotFoundException.collector();
+
+    assertThatThrownBy(() -> misses.add(TestRequestDTO.class, "sku"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(misses.isEmpty()).isTrue();
+  }
+}
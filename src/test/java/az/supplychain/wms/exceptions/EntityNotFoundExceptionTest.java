@@ -0,0 +1,52 @@
+/*
+ *  EntityNotFoundExceptionTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.exceptions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import az.supplychain.wms.dto.TestRequestDTO;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class EntityNotFoundExceptionTest {
+
+  @Test
+  void buildsTheSameMessageAsBefore() {
+    EntityNotFoundException ex =
+        new EntityNotFoundException(
+            TestRequestDTO.class, "sku", "100234", "distributionCenter", "DC-42", "lot", "L7");
+
+    Map<String, String> expected = new HashMap<>();
+    expected.put("sku", "100234");
+    expected.put("distributionCenter", "DC-42");
+    expected.put("lot", "L7");
+    assertThat(ex.getMessage())
+        .isEqualTo("TestRequestDTO was not found for parameters " + expected)
+        .isSameAs(ex.getMessage());
+    assertThat(ex).hasToString(EntityNotFoundException.class.getName() + ": " + ex.getMessage());
+  }
+
+  @Test
+  void exposesTheEntityAndParametersInOrder() {
+    EntityNotFoundException ex =
+        EntityNotFoundException.stackless(
+            TestRequestDTO.class, "sku", "100234", "distributionCenter", "DC-42");
+
+    assertThat(ex.getEntityClass()).isEqualTo(TestRequestDTO.class);
+    assertThat(ex.getEntityName()).isEqualTo("TestRequestDTO");
+    assertThat(ex.getSearchParameters())
+        .containsExactly(Map.entry("sku", "100234"), Map.entry("distributionCenter", "DC-42"));
+  }
+
+  @Test
+  void rejectsAnOddNumberOfParameters() {
+    assertThatThrownBy(() -> new EntityNotFoundException(TestRequestDTO.class, "sku"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
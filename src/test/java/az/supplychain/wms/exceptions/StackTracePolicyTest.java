@@ -0,0 +1,49 @@
+/*
+ *  StackTracePolicyTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.exceptions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import az.supplychain.wms.dto.TestRequestDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class StackTracePolicyTest {
+
+  @AfterEach
+  void restoreDefault() {
+    StackTracePolicy.setDefault(StackTracePolicy.CAPTURE);
+  }
+
+  @Test
+  void stacklessExceptionsHaveNoStackTraceNorSuppressedExceptions() {
+    EntityNotFoundException ex =
+        EntityNotFoundException.stackless(TestRequestDTO.class, "field1", "person1");
+    ex.addSuppressed(new IllegalStateException("ignored"));
+
+    assertThat(ex.getStackTrace()).isEmpty();
+    assertThat(ex.getSuppressed()).isEmpty();
+    assertThat(ex.getMessage())
+        .isEqualTo("TestRequestDTO was not found for parameters {field1=person1}");
+    assertThat(ApplicationException.stackless("WMS-404", "SKU not in DC").getStackTrace())
+        .isEmpty();
+    assertThat(ValidationFailedException.stackless("invalid").getStackTrace()).isEmpty();
+  }
+
+  @Test
+  void constructorsFollowTheDefaultPolicy() {
+    assertThat(new ApplicationException("WMS-404", "SKU not in DC").getStackTrace()).isNotEmpty();
+
+    StackTracePolicy.setDefault(StackTracePolicy.OMIT);
+
+    ApplicationException ex = new ApplicationException("WMS-404", "SKU not in DC", "WARN");
+    assertThat(ex.getStackTrace()).isEmpty();
+    assertThat(ex.getErrorCode()).isEqualTo("WMS-404");
+    assertThat(ex.getSeverity()).isEqualTo("WARN");
+    assertThat(new ValidationFailedException("invalid").getStackTrace()).isEmpty();
+  }
+}
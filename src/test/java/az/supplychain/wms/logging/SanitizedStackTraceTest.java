@@ -0,0 +1,64 @@
+/*
+ *  SanitizedStackTraceTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import az.supplychain.wms.sanitizer.SensitiveDataMasker;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.Test;
+
+class SanitizedStackTraceTest {
+
+  private static final SensitiveDataMasker MASKER =
+      SensitiveDataMasker.of(SensitiveDataMasker.DEFAULT_KEYWORDS);
+
+  private static String printStackTrace(final Throwable throwable) {
+    StringWriter out = new StringWriter();
+    throwable.printStackTrace(new PrintWriter(out));
+    return out.toString().stripTrailing();
+  }
+
+  @Test
+  void rendersLikePrintStackTraceWhenNothingIsMasked() {
+    IllegalStateException ex =
+        new IllegalStateException("Stock locked", new IllegalArgumentException("SKU 42"));
+    ex.addSuppressed(new RuntimeException("Rollback failed"));
+
+    assertThat(SanitizedStackTrace.render(ex, UnaryOperator.identity()))
+        .isEqualTo(printStackTrace(ex));
+  }
+
+  @Test
+  void masksTheMessagesOfTheExceptionItsCausesAndSuppressedExceptions() {
+    IllegalStateException ex =
+        new IllegalStateException(
+            "Login failed", new IllegalArgumentException("Bad password hunter2 for jdoe"));
+    ex.addSuppressed(new RuntimeException("Could not revoke token abc123"));
+
+    String rendered = SanitizedStackTrace.render(ex, MASKER::mask);
+
+    assertThat(rendered)
+        .startsWith("java.lang.IllegalStateException: Login failed")
+        .contains("Caused by: " + SensitiveDataMasker.MASK)
+        .contains("\tSuppressed: " + SensitiveDataMasker.MASK)
+        .contains("\tat " + SanitizedStackTraceTest.class.getName())
+        .doesNotContain("hunter2", "abc123");
+  }
+
+  @Test
+  void stopsAtACircularCause() {
+    IllegalStateException first = new IllegalStateException("first");
+    IllegalArgumentException second = new IllegalArgumentException("second", first);
+    first.initCause(second);
+
+    assertThat(SanitizedStackTrace.render(first, UnaryOperator.identity()))
+        .isEqualTo(printStackTrace(first));
+  }
+}
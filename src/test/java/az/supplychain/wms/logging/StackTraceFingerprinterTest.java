@@ -0,0 +1,57 @@
+/*
+ *  StackTraceFingerprinterTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class StackTraceFingerprinterTest {
+
+  private final StackTraceFingerprinter fingerprinter = new StackTraceFingerprinter(2);
+
+  @Test
+  void ignoresTheMessageAndTheFramesBelowTheTopOnes() {
+    Throwable first = exception(new IllegalStateException("order 1"), "find", "load", "main");
+    Throwable second = exception(new IllegalStateException("order 2"), "find", "load", "run");
+
+    assertThat(fingerprinter.fingerprint(first)).isEqualTo(fingerprinter.fingerprint(second));
+  }
+
+  @Test
+  void distinguishesTheClassTheTopFramesAndTheCauses() {
+    long fingerprint =
+        fingerprinter.fingerprint(exception(new IllegalStateException(), "find", "load"));
+
+    assertThat(fingerprinter.fingerprint(exception(new IllegalArgumentException(), "find", "load")))
+        .isNotEqualTo(fingerprint);
+    assertThat(fingerprinter.fingerprint(exception(new IllegalStateException(), "save", "load")))
+        .isNotEqualTo(fingerprint);
+    assertThat(
+            fingerprinter.fingerprint(
+                exception(
+                    new IllegalStateException(exception(new RuntimeException(), "connect")),
+                    "find",
+                    "load")))
+        .isNotEqualTo(fingerprint);
+  }
+
+  @Test
+  void formatsTheFingerprintOnSixteenDigits() {
+    assertThat(StackTraceFingerprinter.toHex(0xabcL)).isEqualTo("0000000000000abc");
+    assertThat(StackTraceFingerprinter.toHex(-1L)).isEqualTo("ffffffffffffffff");
+  }
+
+  private static Throwable exception(final Throwable throwable, final String... methods) {
+    StackTraceElement[] stackTrace = new StackTraceElement[methods.length];
+    for (int i = 0; i < methods.length; i++) {
+      stackTrace[i] = new StackTraceElement("OrderDao", methods[i], "OrderDao.java", 10 + i);
+    }
+    throwable.setStackTrace(stackTrace);
+    return throwable;
+  }
+}
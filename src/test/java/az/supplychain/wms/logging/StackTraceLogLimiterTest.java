@@ -0,0 +1,56 @@
+/*
+ *  StackTraceLogLimiterTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import az.supplychain.wms.ExceptionProperties;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StackTraceLogLimiterTest {
+
+  private final AtomicLong clock = new AtomicLong(1_000);
+  private StackTraceLogLimiter limiter;
+
+  @BeforeEach
+  void setup() {
+    ExceptionProperties.Unexpected unexpected = new ExceptionProperties.Unexpected();
+    unexpected.setStackTracesPerWindow(2);
+    unexpected.setWindow(Duration.ofSeconds(10));
+    unexpected.setMaxFingerprints(2);
+    limiter = new StackTraceLogLimiter(unexpected, clock::get);
+  }
+
+  @Test
+  void logsTheFirstOccurrencesOfAFingerprintPerWindow() {
+    assertThat(limiter.tryAcquire(1L)).isZero();
+    assertThat(limiter.tryAcquire(1L)).isZero();
+    assertThat(limiter.tryAcquire(1L)).isEqualTo(StackTraceLogLimiter.SUPPRESSED);
+    assertThat(limiter.tryAcquire(1L)).isEqualTo(StackTraceLogLimiter.SUPPRESSED);
+    assertThat(limiter.tryAcquire(2L)).isZero();
+
+    clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+    assertThat(limiter.tryAcquire(1L)).isEqualTo(2);
+    assertThat(limiter.tryAcquire(1L)).isZero();
+    assertThat(limiter.getSuppressedCount()).isEqualTo(2);
+  }
+
+  @Test
+  void sharesALimitBetweenTheFingerprintsBeyondTheMaximum() {
+    limiter.tryAcquire(1L);
+    limiter.tryAcquire(2L);
+
+    assertThat(limiter.tryAcquire(3L)).isZero();
+    assertThat(limiter.tryAcquire(4L)).isZero();
+    assertThat(limiter.tryAcquire(5L)).isEqualTo(StackTraceLogLimiter.SUPPRESSED);
+    assertThat(limiter.tryAcquire(1L)).isZero();
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ *  MessageTemplateTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class MessageTemplateTest {
+
+  private static final MessageTemplate INVALID_FIELD =
+      MessageTemplate.compile("Invalid value {} on field {} for object {}: {}.");
+
+  @Test
+  void rendersLikeStringFormat() {
+    assertThat(INVALID_FIELD.format("", "field2", "TestRequestDTO", "must not be blank"))
+        .isEqualTo(
+            String.format(
+                "Invalid value %s on field %s for object %s: %s.",
+                "", "field2", "TestRequestDTO", "must not be blank"));
+    assertThat(INVALID_FIELD.format(null, 1, 2.5, true))
+        .isEqualTo("Invalid value null on field 1 for object 2.5: true.");
+  }
+
+  @Test
+  void keepsThePlaceholdersWithoutArgument() {
+    assertThat(INVALID_FIELD.getArgumentCount()).isEqualTo(4);
+    assertThat(INVALID_FIELD.format("x", "f"))
+        .isEqualTo("Invalid value x on field f for object {}: {}.");
+    assertThat(MessageTemplate.compile("Validation error").format()).isEqualTo("Validation error");
+  }
+
+  @Test
+  void rendersArgumentsUsingTemplatesThemselves() {
+    MessageTemplate template = MessageTemplate.compile("<{}|{}>");
+    Object nested =
+        new Object() {
+          @Override
+          public String toString() {
+            return template.format("in", "ner");
+          }
+        };
+
+    assertThat(template.format("outer", nested)).isEqualTo("<outer|<in|ner>>");
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ *  ErrorResponseTemplatesTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import az.it.boot.web.api.WebApiError;
+import az.it.boot.web.api.WebApiErrorResponse;
+import az.supplychain.wms.RestApiExceptionHandler;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Golden-output tests proving the pre-encoded templates produce the exact bytes Jackson produces
+ * for the same error body.
+ */
+class ErrorResponseTemplatesTest {
+
+  private static final String TIMESTAMP = "2024-05-17T08:15:30.123Z";
+
+  private ObjectMapper objectMapper;
+  private ErrorResponseTemplates templates;
+
+  @BeforeEach
+  void setup() {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    templates =
+        ErrorResponseTemplates.compile(
+            objectMapper.writer(), ErrorResponseTemplatesTest::createErrorResponseBody);
+  }
+
+  static Stream<Arguments> errors() {
+    String[] messages = {
+      "Validation error",
+      "",
+      "Malformed JSON request: JSON parse error: Unexpected character ('f' (code 102))",
+      "Quotes \" and backslashes \\ and slashes /",
+      "Control characters \t\n\r\b\f\u0000\u001f\u007f",
+      "Non ASCII caf\u00e9 \u4e2d\u6587 \u2028 and emoji \ud83d\ude00",
+      "x".repeat(10_000)
+    };
+    String[] correlationIds = {"7d8f3c2a-1b4e-4c55-9a0e-3f6b2d1c9e88", "corr \"\u00e9\"", null};
+    int[] statuses = {400, 401, 403, 404, 409, 415, 500};
+    Stream.Builder<Arguments> arguments = Stream.builder();
+    for (int status : statuses) {
+      for (String message : messages) {
+        for (String correlationId : correlationIds) {
+          arguments.add(Arguments.of(status, message, correlationId));
+        }
+      }
+    }
+    return arguments.build();
+  }
+
+  @ParameterizedTest
+  @MethodSource("errors")
+  void writesTheBytesJacksonWritesForTheSameBody(
+      final int status, final String message, final String correlationId) throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertThat(templates.write(response, status, message, TIMESTAMP, correlationId)).isTrue();
+
+    byte[] expected =
+        objectMapper.writeValueAsBytes(
+            createErrorResponseBody(status, message, TIMESTAMP, correlationId));
+    assertThat(response.getContentAsByteArray()).isEqualTo(expected);
+    assertThat(response.getContentLength()).isEqualTo(expected.length);
+    assertThat(response.getStatus()).isEqualTo(status);
+    assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+  }
+
+  @Test
+  void leavesAMessageWithAnUnpairedSurrogateToJackson() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertThat(templates.write(response, 400, "broken \ud83d", TIMESTAMP, null)).isFalse();
+    assertThat(response.getContentAsByteArray()).isEmpty();
+  }
+
+  @Test
+  void compilesNoTemplatesForAWriterEscapingNonAsciiCharacters() {
+    ObjectMapper escapingMapper =
+        Jackson2ObjectMapperBuilder.json()
+            .featuresToEnable(JsonGenerator.Feature.ESCAPE_NON_ASCII)
+            .build();
+
+    assertThat(
+            ErrorResponseTemplates.compile(
+                escapingMapper.writer(), ErrorResponseTemplatesTest::createErrorResponseBody))
+        .isNull();
+  }
+
+  /** Builds the error body the way RestApiExceptionHandler renders errors without details. */
+  private static Object createErrorResponseBody(
+      final int status, final String message, final String timestamp, final String correlationId) {
+    Map<String, String> properties = new HashMap<>();
+    properties.put(RestApiExceptionHandler.TIMESTAMP_KEY, timestamp);
+    properties.put(RestApiExceptionHandler.CORRELATION_ID_KEY, correlationId);
+    return new WebApiErrorResponse(
+        WebApiError.builder()
+            .code(String.valueOf(status))
+            .message(message)
+            .properties(properties)
+            .build());
+  }
+}
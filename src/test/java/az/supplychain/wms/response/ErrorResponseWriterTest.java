@@ -0,0 +1,141 @@
+/*
+ *  ErrorResponseWriterTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import az.it.boot.web.api.WebApiError;
+import az.supplychain.wms.ErrorTimestampSource;
+import az.supplychain.wms.ExceptionProperties;
+import az.supplychain.wms.RestApiExceptionHandler;
+import az.supplychain.wms.logging.StackTraceLogLimiter;
+import az.supplychain.wms.sanitizer.SensitiveDataSanitizer;
+import az.supplychain.wms.telemetry.ErrorCounters;
+import az.supplychain.wms.telemetry.ErrorFingerprints;
+import az.supplychain.wms.telemetry.ErrorHeavyHitters;
+import az.supplychain.wms.telemetry.ErrorStormDetector;
+import az.supplychain.wms.telemetry.HandlerLatencies;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+
+class ErrorResponseWriterTest {
+
+  private static final String CORRELATION_ID = "3f0c8a52-4f1e-4b8e-9d5a";
+  private static final String TIMESTAMP = "2024-03-01T12:30:45.123Z";
+
+  private RestApiExceptionHandler handler;
+  private MockHttpServletRequest request;
+
+  @BeforeEach
+  void setup() {
+    handler =
+        new RestApiExceptionHandler(
+            new SensitiveDataSanitizer(),
+            new ErrorResponseWriter(),
+            new ErrorTimestampSource(InstantSource.fixed(Instant.parse(TIMESTAMP))),
+            new ErrorCounters(),
+            new HandlerLatencies(),
+            new ErrorFingerprints(),
+            new ErrorHeavyHitters(),
+            new ErrorStormDetector(),
+            new StackTraceLogLimiter(),
+            new ExceptionProperties());
+    request = new MockHttpServletRequest("GET", "/api/v1/put-away/tasks/17");
+    request.addHeader(RestApiExceptionHandler.CORRELATION_ID_HEADER, CORRELATION_ID);
+  }
+
+  /** The body the handler serialized with its own ObjectMapper before the writer existed. */
+  private static byte[] previousBody(final String code, final String message) throws Exception {
+    Map<String, String> properties = new HashMap<>();
+    properties.put(RestApiExceptionHandler.TIMESTAMP_KEY, TIMESTAMP);
+    properties.put(RestApiExceptionHandler.CORRELATION_ID_KEY, CORRELATION_ID);
+    WebApiError webApiError =
+        WebApiError.builder().code(code).message(message).properties(properties).build();
+    return new ObjectMapper().writeValueAsString(webApiError).getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  void commenceWritesTheSameBodyAsTheObjectMapper() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    handler.commence(request, response, new BadCredentialsException("Bad credentials"));
+
+    byte[] expected = previousBody("401", "Bad credentials");
+    assertThat(response.getStatus()).isEqualTo(401);
+    assertThat(response.getContentType()).isEqualTo("application/json");
+    assertThat(response.getContentLength()).isEqualTo(expected.length);
+    assertThat(response.getContentAsByteArray()).isEqualTo(expected);
+  }
+
+  @Test
+  void handleWritesTheSameBodyAsTheObjectMapper() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    handler.handle(request, response, new AccessDeniedException("Access is denied"));
+
+    byte[] expected = previousBody("403", "Access is denied");
+    assertThat(response.getStatus()).isEqualTo(403);
+    assertThat(response.getContentType()).isEqualTo("application/json");
+    assertThat(response.getContentLength()).isEqualTo(expected.length);
+    assertThat(response.getContentAsByteArray()).isEqualTo(expected);
+  }
+
+  @Test
+  void writesNonAsciiMessagesAsUtf8() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    new ErrorResponseWriter().write(response, 403, Map.of("message", "Entrep\u00f4t \u20ac"));
+
+    byte[] expected = "{\"message\":\"Entrep\u00f4t \u20ac\"}".getBytes(StandardCharsets.UTF_8);
+    assertThat(response.getContentLength()).isEqualTo(expected.length);
+    assertThat(response.getContentAsByteArray()).isEqualTo(expected);
+  }
+
+  @Test
+  void serializesWithTheUniqueApplicationObjectMapper() throws Exception {
+    ObjectMapper applicationMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+    beanFactory.addBean("objectMapper", applicationMapper);
+
+    ErrorResponseWriter writer =
+        new ErrorResponseWriter(beanFactory.getBeanProvider(ObjectMapper.class));
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    writer.write(response, 401, Map.of("code", "401"));
+
+    assertThat(response.getContentAsString())
+        .isEqualTo(applicationMapper.writeValueAsString(Map.of("code", "401")))
+        .contains("\n");
+  }
+
+  @Test
+  void fallsBackToTheDefaultWriterWithoutAUniqueObjectMapper() throws Exception {
+    StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+    beanFactory.addBean("objectMapper", new ObjectMapper());
+    beanFactory.addBean("xmlObjectMapper", new ObjectMapper());
+
+    ErrorResponseWriter ambiguous =
+        new ErrorResponseWriter(beanFactory.getBeanProvider(ObjectMapper.class));
+    ErrorResponseWriter missing =
+        new ErrorResponseWriter(
+            new StaticListableBeanFactory().getBeanProvider(ObjectMapper.class));
+
+    assertThat(ambiguous.getObjectWriter()).isSameAs(new ErrorResponseWriter().getObjectWriter());
+    assertThat(missing.getObjectWriter()).isSameAs(new ErrorResponseWriter().getObjectWriter());
+  }
+}
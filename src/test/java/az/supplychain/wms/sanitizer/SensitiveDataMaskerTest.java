@@ -0,0 +1,127 @@
+/*
+ *  SensitiveDataMaskerTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.sanitizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class SensitiveDataMaskerTest {
+
+  private static final SensitiveDataMasker DEFAULT_MASKER =
+      SensitiveDataMasker.of(SensitiveDataMasker.DEFAULT_KEYWORDS);
+
+  /** The masking the automaton replaced: one regular expression replacement per keyword. */
+  private static String legacyMask(final String message, final List<String> keywords) {
+    String masked = message;
+    for (String keyword : keywords) {
+      masked = masked.replaceAll(".*" + Pattern.quote(keyword) + ".*", SensitiveDataMasker.MASK);
+    }
+    return masked;
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "Invalid password for user jdoe",
+        "password",
+        "password at the start",
+        "at the end, a token",
+        "user=jdoe\npassword=hunter2\nfacility=DC-42",
+        "user=jdoe\r\nsecret=s3cr3t\r\nfacility=DC-42",
+        "user=jdoe token=abc facility=DC-42\u0085connection string=jdbc:x",
+        "user=jdoe\u2028token=abc\u2029facility=DC-42",
+        "first secret\nsecond secret\n\nthird line",
+        "password secret token connection string, all on one line",
+        "\npassword\n",
+        "\r\n\r\n",
+        "PASSWORD and Secret are not masked, matching is case-sensitive",
+        "Mot de passe oubli\u00e9 pour l'entrep\u00f4t \u00e0 Memphis",
+        "Entrep\u00f4t \u00e0 Memphis\nle token est expir\u00e9",
+        "connection strin\ng split by a line terminator",
+        "no sensitive data at all",
+        ""
+      })
+  void masksLikeTheLegacyRegularExpressionsWithTheDefaultKeywords(final String message) {
+    assertThat(DEFAULT_MASKER.mask(message))
+        .isEqualTo(legacyMask(message, SensitiveDataMasker.DEFAULT_KEYWORDS));
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "the passwords were swapped",
+        "a sword, then a pass, then a password",
+        "ssword\npasssword\nswordfish",
+        "contrase\u00f1a incorrecta\nclave v\u00e1lida",
+        "Contrase\u00f1a with an upper case first letter"
+      })
+  void masksLikeTheLegacyRegularExpressionsWithOverlappingKeywords(final String message) {
+    List<String> keywords = List.of("pass", "password", "sword", "contrase\u00f1a");
+
+    assertThat(SensitiveDataMasker.of(keywords).mask(message))
+        .isEqualTo(legacyMask(message, keywords));
+  }
+
+  @Test
+  void masksEveryLineHoldingAKeyword() {
+    assertThat(DEFAULT_MASKER.mask("user=jdoe\r\npassword=hunter2\r\ntoken=abc\r\nok"))
+        .isEqualTo("user=jdoe\r\n[MASKED]\r\n[MASKED]\r\nok");
+  }
+
+  @Test
+  void returnsTheSameInstanceWhenNothingIsMasked() {
+    String message = "Stock of SKU 42 is locked";
+
+    assertThat(DEFAULT_MASKER.mask(message)).isSameAs(message);
+    assertThat(SensitiveDataMasker.of(List.of()).mask(message)).isSameAs(message);
+    assertThat(DEFAULT_MASKER.mask(null)).isNull();
+  }
+
+  @Test
+  void ignoresNullEmptyAndDuplicateKeywords() {
+    SensitiveDataMasker masker =
+        SensitiveDataMasker.of(Arrays.asList("token", null, "", "token"));
+
+    assertThat(masker.getKeywords()).containsExactly("token");
+    assertThat(masker.mask("the token")).isEqualTo(SensitiveDataMasker.MASK);
+  }
+
+  @Test
+  void matchesTheMessagesHoldingAKeyword() {
+    assertThat(DEFAULT_MASKER.matches("my secret")).isTrue();
+    assertThat(DEFAULT_MASKER.matches("token")).isTrue();
+    assertThat(DEFAULT_MASKER.matches("Secret")).isFalse();
+    assertThat(DEFAULT_MASKER.matches("tok\nen")).isFalse();
+    assertThat(DEFAULT_MASKER.matches("")).isFalse();
+    assertThat(DEFAULT_MASKER.matches(null)).isFalse();
+    assertThat(DEFAULT_MASKER.matches("the password is here", 4, 12)).isTrue();
+    assertThat(DEFAULT_MASKER.matches("the password is here", 5, 12)).isFalse();
+  }
+
+  @Test
+  void truncatesAndMasksTheCutLineWhenItsKeywordLiesPastTheCut() {
+    assertThat(DEFAULT_MASKER.truncate("first\nabc123 is the token", 10))
+        .isEqualTo("first\n[MASKED]");
+    assertThat(DEFAULT_MASKER.truncate("first\nabc123 is fine\ntoken", 10))
+        .isEqualTo("first\nabc1");
+    assertThat(DEFAULT_MASKER.truncate("first\ntoken", 6)).isEqualTo("first\n");
+  }
+
+  @Test
+  void scansTheCutLineNoFurtherThanTheLongestKeywordPastTheCut() {
+    // The longest default keyword, "connection string", is 17 characters long, so a keyword
+    // ending up to 16 characters past the cut still straddles it.
+    assertThat(DEFAULT_MASKER.truncate("x".repeat(21) + "token", 10)).isEqualTo("[MASKED]");
+    assertThat(DEFAULT_MASKER.truncate("x".repeat(22) + "token", 10)).isEqualTo("x".repeat(10));
+  }
+}
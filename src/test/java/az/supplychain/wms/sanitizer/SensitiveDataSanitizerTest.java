@@ -0,0 +1,174 @@
+/*
+ *  SensitiveDataSanitizerTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.sanitizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import az.supplychain.wms.ExceptionProperties;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.mock.env.MockEnvironment;
+
+class SensitiveDataSanitizerTest {
+
+  private static SensitiveDataSanitizer sanitizer(final int maxMessageBytes) {
+    ExceptionProperties.Sanitizer properties = new ExceptionProperties.Sanitizer();
+    properties.setMaxMessageBytes(maxMessageBytes);
+    return new SensitiveDataSanitizer(properties);
+  }
+
+  @Test
+  void masksAndKeepsShortMessagesWhole() {
+    SensitiveDataSanitizer sanitizer = sanitizer(8192);
+
+    assertThat(sanitizer.sanitize("user=jdoe\npassword=hunter2\nfacility=DC-42"))
+        .isEqualTo("user=jdoe\n[MASKED]\nfacility=DC-42");
+    assertThat(sanitizer.sanitize(null)).isNull();
+    assertThat(sanitizer.getTruncatedCount()).isZero();
+  }
+
+  @Test
+  void appendsTheMarkerToTruncatedMessages() {
+    SensitiveDataSanitizer sanitizer = sanitizer(10);
+
+    assertThat(sanitizer.sanitize("facility DC-42 is closed"))
+        .isEqualTo("facility D" + SensitiveDataSanitizer.TRUNCATION_MARKER);
+    assertThat(sanitizer.getTruncatedCount()).isEqualTo(1);
+  }
+
+  @Test
+  void masksTheCutLineWhenItsKeywordLiesPastTheCut() {
+    SensitiveDataSanitizer sanitizer = sanitizer(10);
+
+    assertThat(sanitizer.sanitize("abc123 is the token"))
+        .isEqualTo("[MASKED]" + SensitiveDataSanitizer.TRUNCATION_MARKER);
+  }
+
+  @Test
+  void masksTheCutLineWhenItsKeywordStraddlesTheCut() {
+    SensitiveDataSanitizer sanitizer = sanitizer(16);
+
+    assertThat(sanitizer.sanitize("ok line\nabc123 token\nnext"))
+        .isEqualTo("ok line\n[MASKED]" + SensitiveDataSanitizer.TRUNCATION_MARKER);
+  }
+
+  @Test
+  void keepsTheCutOfASingleLineMessageWhoseKeywordLiesFarPastTheBudget() {
+    SensitiveDataSanitizer sanitizer = sanitizer(8192);
+
+    assertThat(sanitizer.sanitize("x".repeat(4_000_000) + " token=abc"))
+        .isEqualTo("x".repeat(8192) + SensitiveDataSanitizer.TRUNCATION_MARKER);
+    assertThat(sanitizer.getTruncatedCount()).isEqualTo(1);
+  }
+
+  @Test
+  void keepsTheCutLineWhenItHasNoKeyword() {
+    SensitiveDataSanitizer sanitizer = sanitizer(20);
+
+    assertThat(sanitizer.sanitize("the token is abc\nfacility DC-42 is closed"))
+        .isEqualTo("[MASKED]\nfac" + SensitiveDataSanitizer.TRUNCATION_MARKER);
+  }
+
+  @Test
+  void doesNotTruncateAMessageFittingTheBudgetExactly() {
+    assertThat(SensitiveDataSanitizer.truncationIndex("abcd", 4)).isEqualTo(-1);
+    assertThat(SensitiveDataSanitizer.truncationIndex("abcde", 4)).isEqualTo(4);
+    assertThat(SensitiveDataSanitizer.truncationIndex("abcde", 0)).isEqualTo(-1);
+  }
+
+  @Test
+  void countsMultiByteCharactersByTheirUtf8Width() {
+    // U+00E9 takes 2 bytes and U+20AC 3 bytes once encoded in UTF-8.
+    assertThat(SensitiveDataSanitizer.truncationIndex("a\u00e9\u20ac", 6)).isEqualTo(-1);
+    assertThat(SensitiveDataSanitizer.truncationIndex("a\u00e9\u20ac", 5)).isEqualTo(2);
+    assertThat(SensitiveDataSanitizer.truncationIndex("a\u00e9\u20ac", 2)).isEqualTo(1);
+  }
+
+  @Test
+  void neverSplitsASurrogatePair() {
+    String message = "a\uD83D\uDE00b";
+
+    assertThat(SensitiveDataSanitizer.truncationIndex(message, 4)).isEqualTo(1);
+    assertThat(SensitiveDataSanitizer.truncationIndex(message, 5)).isEqualTo(3);
+    assertThat(SensitiveDataSanitizer.truncationIndex(message, 6)).isEqualTo(-1);
+  }
+
+  @Test
+  void bindsTheRulesAndReloadsThemWhenTheEnvironmentChanges() {
+    MockEnvironment environment =
+        new MockEnvironment()
+            .withProperty("wms.exception.sanitizer.keywords", "pin")
+            .withProperty("wms.exception.sanitizer.max-message-bytes", "64");
+    ExceptionProperties properties =
+        Binder.get(environment).bind(ExceptionProperties.PREFIX, ExceptionProperties.class).get();
+    SensitiveDataSanitizer sanitizer = new SensitiveDataSanitizer(properties, environment);
+
+    assertThat(sanitizer.getMasker().getKeywords()).containsExactly("pin");
+    assertThat(sanitizer.sanitize("the pin is 1234")).isEqualTo(SensitiveDataMasker.MASK);
+    assertThat(sanitizer.sanitize("the token is abc")).isEqualTo("the token is abc");
+
+    environment.setProperty("wms.exception.sanitizer.keywords", "token");
+    environment.setProperty("wms.exception.sanitizer.max-message-bytes", "8");
+    sanitizer.onApplicationEvent(new EnvironmentChanged(environment));
+
+    assertThat(sanitizer.getMasker().getKeywords()).containsExactly("token");
+    assertThat(sanitizer.sanitize("the pin is 1234"))
+        .isEqualTo("the pin " + SensitiveDataSanitizer.TRUNCATION_MARKER);
+    assertThat(sanitizer.sanitize("the token is abc"))
+        .isEqualTo(SensitiveDataMasker.MASK + SensitiveDataSanitizer.TRUNCATION_MARKER);
+  }
+
+  @Test
+  void reloadsOnTheEnvironmentChangeEventOfSpringCloudOnly() {
+    MockEnvironment environment =
+        new MockEnvironment().withProperty("wms.exception.sanitizer.keywords", "pin");
+    ExceptionProperties properties =
+        Binder.get(environment).bind(ExceptionProperties.PREFIX, ExceptionProperties.class).get();
+    SensitiveDataSanitizer sanitizer = new SensitiveDataSanitizer(properties, environment);
+    SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+    multicaster.addApplicationListener(sanitizer);
+    environment.setProperty("wms.exception.sanitizer.keywords", "token");
+
+    multicaster.multicastEvent(new EnvironmentChanged(environment));
+
+    assertThat(sanitizer.supportsEventType(EnvironmentChanged.class)).isFalse();
+    assertThat(sanitizer.getMasker().getKeywords()).containsExactly("pin");
+
+    multicaster.multicastEvent(
+        new EnvironmentChangeEvent(environment, Set.of("wms.exception.sanitizer.keywords")));
+
+    assertThat(sanitizer.supportsEventType(EnvironmentChangeEvent.class)).isTrue();
+    assertThat(sanitizer.getMasker().getKeywords()).containsExactly("token");
+  }
+
+  @Test
+  void keepsItsRulesOnEnvironmentChangesWhenCreatedWithoutEnvironment() {
+    SensitiveDataSanitizer sanitizer = sanitizer(8192);
+
+    sanitizer.onApplicationEvent(new EnvironmentChanged(this));
+
+    assertThat(sanitizer.getMasker().getKeywords())
+        .isEqualTo(SensitiveDataMasker.DEFAULT_KEYWORDS);
+  }
+
+  /**
+   * Any other event. Spring only delivers the events accepted by {@code supportsEventType}, so the
+   * sanitizer reloads its rules on any event it receives directly.
+   */
+  private static final class EnvironmentChanged extends ApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private EnvironmentChanged(final Object source) {
+      super(source);
+    }
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ *  ErrorCountersTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import az.supplychain.wms.exceptions.EntityNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+class ErrorCountersTest {
+
+  @Test
+  void countsPerExceptionClassHandlerAndStatus() {
+    ErrorCounters errorCounters = new ErrorCounters();
+    errorCounters.increment(IllegalStateException.class, "handleDataIntegrityViolation", 500);
+    errorCounters.increment(EntityNotFoundException.class, "handleEntityNotFound", 404);
+    errorCounters.increment(IllegalStateException.class, "handleDataIntegrityViolation", 409);
+    errorCounters.increment(EntityNotFoundException.class, "handleEntityNotFound", 404);
+
+    assertThat(errorCounters.snapshot())
+        .containsExactly(
+            new ErrorCounters.ErrorCount(
+                EntityNotFoundException.class.getName(), "handleEntityNotFound", 404, 2),
+            new ErrorCounters.ErrorCount(
+                IllegalStateException.class.getName(), "handleDataIntegrityViolation", 409, 1),
+            new ErrorCounters.ErrorCount(
+                IllegalStateException.class.getName(), "handleDataIntegrityViolation", 500, 1));
+  }
+
+  @Test
+  void losesNoIncrementUnderContention() throws Exception {
+    ErrorCounters errorCounters = new ErrorCounters();
+    int threads = 8;
+    int increments = 10_000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        int status = 400 + t % 2;
+        futures.add(
+            CompletableFuture.runAsync(
+                () -> {
+                  for (int i = 0; i < increments; i++) {
+                    errorCounters.increment(IllegalArgumentException.class, "handle", status);
+                  }
+                },
+                executor));
+      }
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get();
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(errorCounters.snapshot())
+        .extracting(ErrorCounters.ErrorCount::getCount)
+        .containsExactly(threads / 2L * increments, threads / 2L * increments);
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ *  ErrorFingerprintsTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import az.supplychain.wms.logging.StackTraceFingerprinter;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class ErrorFingerprintsTest {
+
+  private final AtomicLong clock = new AtomicLong(1_000);
+  private final ErrorFingerprints fingerprints =
+      new ErrorFingerprints(new StackTraceFingerprinter(), 2, clock::get);
+
+  @Test
+  void aggregatesTheOccurrencesOfAFingerprint() {
+    long fingerprint = fingerprints.record(exception(new IllegalStateException("a"), 1));
+    clock.set(5_000);
+    fingerprints.record(exception(new IllegalStateException("b"), 1));
+    fingerprints.record(exception(new IllegalArgumentException("c"), 2));
+
+    assertThat(fingerprints.snapshot())
+        .extracting(
+            ErrorFingerprints.FingerprintStats::getExceptionClass,
+            ErrorFingerprints.FingerprintStats::getCount)
+        .containsExactly(
+            tuple(IllegalStateException.class.getName(), 2L),
+            tuple(IllegalArgumentException.class.getName(), 1L));
+    ErrorFingerprints.FingerprintStats stats = fingerprints.snapshot().get(0);
+    assertThat(stats.getFingerprint()).isEqualTo(StackTraceFingerprinter.toHex(fingerprint));
+    assertThat(stats.getTopFrame()).isEqualTo("OrderDao.find(OrderDao.java:1)");
+    assertThat(stats.getFirstSeen()).isEqualTo(Instant.ofEpochMilli(1_000));
+    assertThat(stats.getLastSeen()).isEqualTo(Instant.ofEpochMilli(5_000));
+  }
+
+  @Test
+  void evictsTheLeastRecentlySeenFingerprint() {
+    fingerprints.record(exception(new IllegalStateException(), 1));
+    fingerprints.record(exception(new IllegalStateException(), 2));
+    fingerprints.record(exception(new IllegalStateException(), 1));
+    fingerprints.record(exception(new IllegalStateException(), 3));
+
+    assertThat(fingerprints.snapshot())
+        .extracting(ErrorFingerprints.FingerprintStats::getTopFrame)
+        .containsExactly("OrderDao.find(OrderDao.java:1)", "OrderDao.find(OrderDao.java:3)");
+  }
+
+  private static Throwable exception(final Throwable throwable, final int line) {
+    throwable.setStackTrace(
+        new StackTraceElement[] {new StackTraceElement("OrderDao", "find", "OrderDao.java", line)});
+    return throwable;
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ *  ErrorHeavyHittersTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import az.supplychain.wms.ExceptionProperties;
+import az.supplychain.wms.sanitizer.SensitiveDataMasker;
+import az.supplychain.wms.sanitizer.SensitiveDataSanitizer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class ErrorHeavyHittersTest {
+
+  private final AtomicLong clock = new AtomicLong(1_000);
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void countsTheErrorsByMessageEndpointAndSource() {
+    ErrorHeavyHitters heavyHitters = heavyHitters();
+    heavyHitters.record(new IllegalStateException("Stock locked"), "GET /stock/{sku}", "picker");
+    heavyHitters.record(new IllegalStateException("Stock locked"), "GET /stock/{sku}", null);
+    heavyHitters.record(new IllegalStateException("Bad password"), "POST /login", "picker");
+
+    ErrorHeavyHitters.Snapshot snapshot = heavyHitters.snapshot();
+
+    assertThat(snapshot.getMessages())
+        .extracting(HeavyHitterSketch.HeavyHitter::getKey, HeavyHitterSketch.HeavyHitter::getCount)
+        .containsExactly(
+            tuple("IllegalStateException: Stock locked", 2L),
+            tuple(SensitiveDataMasker.MASK, 1L));
+    assertThat(snapshot.getEndpoints())
+        .extracting(HeavyHitterSketch.HeavyHitter::getKey, HeavyHitterSketch.HeavyHitter::getCount)
+        .containsExactly(tuple("GET /stock/{sku}", 2L), tuple("POST /login", 1L));
+    assertThat(snapshot.getSources())
+        .extracting(HeavyHitterSketch.HeavyHitter::getKey, HeavyHitterSketch.HeavyHitter::getCount)
+        .containsExactly(tuple("picker", 2L), tuple("unknown", 1L));
+  }
+
+  @Test
+  void masksTheTruncatedLineOfAMessageWhoseKeywordStraddlesTheCut() {
+    ErrorHeavyHitters heavyHitters = heavyHitters();
+    heavyHitters.record(
+        new IllegalStateException("Login of " + "x".repeat(165) + " token expired"),
+        "POST /login",
+        "picker");
+
+    assertThat(heavyHitters.snapshot().getMessages())
+        .extracting(HeavyHitterSketch.HeavyHitter::getKey)
+        .containsExactly(SensitiveDataMasker.MASK);
+  }
+
+  @Test
+  void forgetsTheSlotsLeavingTheWindow() {
+    ErrorHeavyHitters heavyHitters = heavyHitters();
+    heavyHitters.record(new IllegalStateException("early"), "GET /stock", "picker");
+    clock.addAndGet(Duration.ofSeconds(6).toNanos());
+    heavyHitters.record(new IllegalStateException("late"), "GET /stock", "picker");
+
+    assertThat(heavyHitters.snapshot().getEndpoints())
+        .extracting(HeavyHitterSketch.HeavyHitter::getCount)
+        .containsExactly(2L);
+
+    clock.addAndGet(Duration.ofSeconds(5).toNanos());
+
+    assertThat(heavyHitters.snapshot().getMessages())
+        .extracting(HeavyHitterSketch.HeavyHitter::getKey)
+        .containsExactly("IllegalStateException: late");
+  }
+
+  @Test
+  void mergesTheSnapshotsOfSeveralInstances() {
+    ErrorHeavyHitters first = heavyHitters();
+    first.record(new IllegalStateException("Stock locked"), "GET /stock", "picker");
+    ErrorHeavyHitters second = heavyHitters();
+    second.record(new IllegalStateException("Stock locked"), "GET /stock", "packer");
+
+    assertThat(first.snapshot().merge(second.snapshot()).getEndpoints())
+        .extracting(HeavyHitterSketch.HeavyHitter::getKey, HeavyHitterSketch.HeavyHitter::getCount)
+        .containsExactly(tuple("GET /stock", 2L));
+  }
+
+  @Test
+  void mergesTheSnapshotsOfSeveralInstancesReadBackFromTheirJson() {
+    ErrorHeavyHitters first = heavyHitters(2);
+    record(first, "GET /a", 5);
+    record(first, "GET /b", 2);
+    ErrorHeavyHitters second = heavyHitters(2);
+    record(second, "GET /c", 4);
+    record(second, "GET /a", 1);
+    JsonNode firstJson = objectMapper.valueToTree(first.snapshot());
+    JsonNode secondJson = objectMapper.valueToTree(second.snapshot());
+
+    ErrorHeavyHitters.Snapshot merged = readSnapshot(firstJson).merge(readSnapshot(secondJson));
+
+    assertThat(firstJson.path("capacity").asInt()).isEqualTo(2);
+    assertThat(firstJson.path("minimumCounts").path("endpoints").asLong()).isEqualTo(2);
+    assertThat(secondJson.path("minimumCounts").path("endpoints").asLong()).isEqualTo(1);
+    assertThat(merged.getEndpoints())
+        .isEqualTo(first.snapshot().merge(second.snapshot()).getEndpoints())
+        .extracting(
+            HeavyHitterSketch.HeavyHitter::getKey,
+            HeavyHitterSketch.HeavyHitter::getCount,
+            HeavyHitterSketch.HeavyHitter::getError)
+        .containsExactly(tuple("GET /a", 6L, 0L), tuple("GET /c", 6L, 2L));
+  }
+
+  private static void record(
+      final ErrorHeavyHitters heavyHitters, final String endpoint, final int times) {
+    for (int i = 0; i < times; i++) {
+      heavyHitters.record(new IllegalStateException("Stock locked"), endpoint, "picker");
+    }
+  }
+
+  private static ErrorHeavyHitters.Snapshot readSnapshot(final JsonNode json) {
+    JsonNode minimumCounts = json.path("minimumCounts");
+    return ErrorHeavyHitters.Snapshot.of(
+        json.path("capacity").asInt(),
+        new ErrorHeavyHitters.MinimumCounts(
+            minimumCounts.path("messages").asLong(),
+            minimumCounts.path("endpoints").asLong(),
+            minimumCounts.path("sources").asLong()),
+        readHeavyHitters(json.path("messages")),
+        readHeavyHitters(json.path("endpoints")),
+        readHeavyHitters(json.path("sources")));
+  }
+
+  private static List<HeavyHitterSketch.HeavyHitter> readHeavyHitters(final JsonNode json) {
+    List<HeavyHitterSketch.HeavyHitter> heavyHitters = new ArrayList<>();
+    for (JsonNode heavyHitter : json) {
+      heavyHitters.add(
+          new HeavyHitterSketch.HeavyHitter(
+              heavyHitter.path("key").asText(),
+              heavyHitter.path("count").asLong(),
+              heavyHitter.path("error").asLong()));
+    }
+    return heavyHitters;
+  }
+
+  private ErrorHeavyHitters heavyHitters() {
+    return heavyHitters(new ExceptionProperties.HeavyHitters().getCapacity());
+  }
+
+  private ErrorHeavyHitters heavyHitters(final int capacity) {
+    ExceptionProperties.HeavyHitters properties = new ExceptionProperties.HeavyHitters();
+    properties.setWindow(Duration.ofSeconds(10));
+    properties.setSlots(2);
+    properties.setCapacity(capacity);
+    return new ErrorHeavyHitters(new SensitiveDataSanitizer(), properties, clock::get);
+  }
+}
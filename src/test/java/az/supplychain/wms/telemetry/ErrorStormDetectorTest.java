@@ -0,0 +1,77 @@
+/*
+ *  ErrorStormDetectorTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import az.supplychain.wms.ExceptionProperties;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class ErrorStormDetectorTest {
+
+  private final AtomicLong clock = new AtomicLong(1_000);
+
+  @Test
+  void entersAndLeavesTheStormModeWithHysteresis() {
+    ErrorStormDetector detector = new ErrorStormDetector(storm(true), clock::get);
+    for (int i = 0; i < 30; i++) {
+      assertThat(detector.recordError()).isFalse();
+    }
+
+    advance(1);
+    assertThat(detector.recordError()).isTrue();
+    assertThat(detector.status().getErrorRate()).isGreaterThan(10);
+
+    advance(1);
+    assertThat(detector.recordError()).isTrue();
+    assertThat(detector.status().getErrorRate()).isBetween(5d, 10d);
+
+    advance(10);
+    ErrorStormDetector.StormStatus status = detector.status();
+    assertThat(status.isStorming()).isFalse();
+    assertThat(status.getErrorRate()).isLessThan(5);
+    assertThat(status.getTransitions()).isEqualTo(2);
+  }
+
+  @Test
+  void neverStormsWhenDisabled() {
+    ErrorStormDetector detector = new ErrorStormDetector(storm(false), clock::get);
+    for (int i = 0; i < 30; i++) {
+      detector.recordError();
+    }
+    advance(1);
+
+    assertThat(detector.recordError()).isFalse();
+    assertThat(detector.status().getTransitions()).isZero();
+  }
+
+  @Test
+  void rejectsAnExitRateAboveTheEnterRate() {
+    ExceptionProperties.Storm storm = storm(true);
+    storm.setExitRate(20);
+
+    assertThatThrownBy(() -> new ErrorStormDetector(storm, clock::get))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private ExceptionProperties.Storm storm(final boolean enabled) {
+    ExceptionProperties.Storm storm = new ExceptionProperties.Storm();
+    storm.setEnabled(enabled);
+    storm.setEnterRate(10);
+    storm.setExitRate(5);
+    storm.setInterval(Duration.ofSeconds(1));
+    storm.setAveragingWindow(Duration.ofSeconds(1));
+    return storm;
+  }
+
+  private void advance(final int seconds) {
+    clock.addAndGet(Duration.ofSeconds(seconds).toNanos());
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ *  HeavyHitterSketchTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import org.junit.jupiter.api.Test;
+
+class HeavyHitterSketchTest {
+
+  @Test
+  void keepsTheMostFrequentKeysWithinTheCapacity() {
+    HeavyHitterSketch sketch = new HeavyHitterSketch(2);
+    offer(sketch, "a", 5);
+    offer(sketch, "b", 2);
+    offer(sketch, "c", 1);
+
+    assertThat(sketch.getHeavyHitters())
+        .extracting(
+            HeavyHitterSketch.HeavyHitter::getKey,
+            HeavyHitterSketch.HeavyHitter::getCount,
+            HeavyHitterSketch.HeavyHitter::getError)
+        .containsExactly(tuple("a", 5L, 0L), tuple("c", 3L, 2L));
+  }
+
+  @Test
+  void mergesSummariesIntoUpperBounds() {
+    HeavyHitterSketch first = new HeavyHitterSketch(2);
+    offer(first, "a", 5);
+    offer(first, "b", 2);
+    HeavyHitterSketch second = new HeavyHitterSketch(2);
+    offer(second, "a", 1);
+    offer(second, "c", 4);
+
+    assertThat(first.merge(second).getHeavyHitters())
+        .extracting(
+            HeavyHitterSketch.HeavyHitter::getKey,
+            HeavyHitterSketch.HeavyHitter::getCount,
+            HeavyHitterSketch.HeavyHitter::getError)
+        .containsExactly(tuple("a", 6L, 0L), tuple("c", 6L, 2L));
+  }
+
+  @Test
+  void sumsTheKeysMappedTogether() {
+    HeavyHitterSketch sketch = new HeavyHitterSketch(4);
+    offer(sketch, "order 1", 2);
+    offer(sketch, "order 2", 3);
+
+    assertThat(sketch.mapKeys(key -> "order").getHeavyHitters())
+        .extracting(HeavyHitterSketch.HeavyHitter::getKey, HeavyHitterSketch.HeavyHitter::getCount)
+        .containsExactly(tuple("order", 5L));
+  }
+
+  @Test
+  void keepsTheMinimumCountOfAFullSummaryWhoseKeysAreMappedTogether() {
+    HeavyHitterSketch sketch = new HeavyHitterSketch(2);
+    offer(sketch, "order 1", 2);
+    offer(sketch, "order 2", 3);
+
+    HeavyHitterSketch mapped = sketch.mapKeys(key -> "order");
+
+    assertThat(mapped.getMinimumCount()).isEqualTo(2);
+    assertThat(mapped.merge(new HeavyHitterSketch(2)).getMinimumCount()).isEqualTo(2);
+  }
+
+  @Test
+  void rebuildsASummaryFromItsHeavyHittersAndMinimumCount() {
+    HeavyHitterSketch sketch = new HeavyHitterSketch(2);
+    offer(sketch, "a", 5);
+    offer(sketch, "b", 2);
+    offer(sketch, "c", 1);
+
+    HeavyHitterSketch rebuilt =
+        HeavyHitterSketch.of(
+            sketch.getCapacity(), sketch.getMinimumCount(), sketch.getHeavyHitters());
+
+    assertThat(rebuilt.getHeavyHitters()).isEqualTo(sketch.getHeavyHitters());
+    assertThat(rebuilt.getMinimumCount()).isEqualTo(3);
+    assertThatThrownBy(() -> HeavyHitterSketch.of(1, 3, sketch.getHeavyHitters()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static void offer(final HeavyHitterSketch sketch, final String key, final int times) {
+    for (int i = 0; i < times; i++) {
+      sketch.offer(key);
+    }
+  }
+}
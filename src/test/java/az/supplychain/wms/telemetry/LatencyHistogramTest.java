@@ -0,0 +1,82 @@
+/*
+ *  LatencyHistogramTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+  @Test
+  void boundsPercentilesWithinTheBucketResolution() {
+    LatencyHistogram histogram = new LatencyHistogram(4);
+    for (long micros = 1; micros <= 1000; micros++) {
+      histogram.record(micros * 1000);
+    }
+
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    assertThat(snapshot.getCount()).isEqualTo(1000);
+    assertThat(snapshot.getSum()).isEqualTo(500_500_000L);
+    assertThat(snapshot.getValueAtPercentile(50)).isBetween(500_000L, 562_500L);
+    assertThat(snapshot.getValueAtPercentile(99)).isBetween(990_000L, 1_113_750L);
+  }
+
+  @Test
+  void putsOutOfRangeValuesInTheFirstAndLastBuckets() {
+    assertThat(LatencyHistogram.bucket(0)).isZero();
+    assertThat(LatencyHistogram.bucket(1023)).isZero();
+    assertThat(LatencyHistogram.bucket(1024)).isEqualTo(1);
+    assertThat(LatencyHistogram.bucket(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKETS - 1);
+  }
+
+  @Test
+  void mergesSnapshots() {
+    LatencyHistogram first = new LatencyHistogram(1);
+    LatencyHistogram second = new LatencyHistogram(2);
+    first.record(2_000);
+    second.record(3_000_000);
+
+    LatencyHistogram.Snapshot merged =
+        LatencyHistogram.Snapshot.empty().merge(first.snapshot()).merge(second.snapshot());
+
+    assertThat(merged.getCount()).isEqualTo(2);
+    assertThat(merged.getSum()).isEqualTo(3_002_000L);
+    assertThat(merged.getValueAtPercentile(50)).isEqualTo(2_048L);
+  }
+
+  @Test
+  void rendersCumulativePrometheusBuckets() {
+    LatencyHistogram histogram = new LatencyHistogram(1);
+    histogram.record(1_500);
+    histogram.record(3_000);
+
+    String text = PrometheusTextFormat.render(Map.of("handleEntityNotFound", histogram.snapshot()));
+
+    assertThat(text)
+        .contains("# TYPE wms_exception_handler_latency_seconds histogram\n")
+        .contains(
+            "wms_exception_handler_latency_seconds_bucket"
+                + "{handler=\"handleEntityNotFound\",le=\"2.048E-6\"} 1\n")
+        .contains(
+            "wms_exception_handler_latency_seconds_bucket"
+                + "{handler=\"handleEntityNotFound\",le=\"+Inf\"} 2\n")
+        .contains(
+            "wms_exception_handler_latency_seconds_count{handler=\"handleEntityNotFound\"} 2\n");
+  }
+
+  @Test
+  void recordsNothingWhenDisabled() {
+    HandlerLatencies handlerLatencies = new HandlerLatencies(false);
+
+    handlerLatencies.record("handleEntityNotFound", handlerLatencies.start());
+
+    assertThat(handlerLatencies.start()).isZero();
+    assertThat(handlerLatencies.snapshot()).isEmpty();
+  }
+}
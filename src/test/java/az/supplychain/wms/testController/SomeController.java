@@ -20,6 +20,8 @@ import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 
 import az.supplychain.wms.dto.TestRequestDTO;
+import az.supplychain.wms.exceptions.ApplicationException;
+import az.supplychain.wms.exceptions.EntitiesNotFoundException;
 import az.supplychain.wms.exceptions.EntityNotFoundException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -65,6 +67,22 @@ public class SomeController {
     throw new EntityNotFoundException(getClass());
   }
 
+  @PostMapping(value = "/entities-not-found", consumes = "application/json")
+  public ResponseEntity<String> entities_not_found(
+      @RequestBody @Valid TestRequestDTO requestDto) {
+    EntitiesNotFoundException.Collector misses = EntitiesNotFoundException.collector();
+    misses.add(TestRequestDTO.class, "field1", requestDto.getField1());
+    misses.add(TestRequestDTO.class, "field2", requestDto.getField2());
+    misses.throwIfAny();
+    return ResponseEntity.ok("Request successfully processed");
+  }
+
+  @PostMapping(value = "/application-exception", consumes = "application/json")
+  public ResponseEntity<String> application_exception(
+      @RequestBody @Valid TestRequestDTO requestDto) {
+    throw new ApplicationException("WMS-001", "Dummy application exception raised!", "WARN");
+  }
+
   @PostMapping(value = "/entity-not-found", consumes = "application/json")
   public ResponseEntity<String> entity_not_found(@RequestBody @Valid TestRequestDTO requestDto) {
     throw new jakarta.persistence.EntityNotFoundException("Raised dummy entity not found exception.");
@@ -91,4 +109,9 @@ public class SomeController {
         "Dummy data integrity violation raised!",
         new ConstraintViolationException("Dummy constraint violation raised", null));
   }
+
+  @GetMapping("/unexpected-exception")
+  public void testUnexpectedException() {
+    throw new IllegalStateException("Dummy unexpected exception raised!");
+  }
 }
\ No newline at end of file
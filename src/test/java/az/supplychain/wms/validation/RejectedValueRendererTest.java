@@ -0,0 +1,50 @@
+/*
+ *  RejectedValueRendererTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import az.supplychain.wms.dto.TestRequestDTO;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class RejectedValueRendererTest {
+
+  private final RejectedValueRenderer renderer = new RejectedValueRenderer(10);
+
+  @Test
+  void rendersScalarsAsTheirStringRepresentation() {
+    String value = "short";
+
+    assertThat(renderer.render(null)).isEqualTo("null");
+    assertThat(renderer.render(value)).isSameAs(value);
+    assertThat(renderer.render(42L)).isEqualTo("42");
+  }
+
+  @Test
+  void cutsValuesLongerThanTheLimit() {
+    assertThat(renderer.render("0123456789ABC")).isEqualTo("0123456789...");
+    assertThat(renderer.render("012345678\uD83D\uDE00")).isEqualTo("012345678...");
+  }
+
+  @Test
+  void rendersContainersElementByElementUpToTheLimit() {
+    assertThat(renderer.render(List.of(1, 2))).isEqualTo("[1, 2]");
+    assertThat(renderer.render(new int[] {1, 2})).isEqualTo("[1, 2]");
+    assertThat(renderer.render(Map.of("k", "v"))).isEqualTo("{k=v}");
+    assertThat(renderer.render(IntStream.range(0, 1_000_000).boxed().toList()))
+        .isEqualTo("[0, 1, 2, ...");
+  }
+
+  @Test
+  void rendersOtherObjectsWithoutCallingToString() {
+    assertThat(renderer.render(new TestRequestDTO("person1", "")))
+        .isEqualTo("TestRequestDTO{...}");
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ *  ValidationDetailsTest.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ValidationDetailsTest {
+
+  @Test
+  void keepsEveryErrorInOrderByDefault() {
+    ValidationDetails validationDetails = new ValidationDetails(0, false);
+    for (int i = 0; i < 3; i++) {
+      validationDetails.add(
+          "putAwayRequest", "lines[" + i + "].locationId", "", "must not be blank");
+    }
+
+    assertThat(validationDetails.getDetails())
+        .extracting(ValidationDetails.Detail::getField)
+        .containsExactly("lines[0].locationId", "lines[1].locationId", "lines[2].locationId");
+    assertThat(validationDetails.getOmitted()).isZero();
+  }
+
+  @Test
+  void keepsTheFirstErrorsAndCountsTheOthers() {
+    ValidationDetails validationDetails = new ValidationDetails(2, false);
+    for (int i = 0; i < 5; i++) {
+      validationDetails.add(
+          "putAwayRequest", "lines[" + i + "].locationId", "", "must not be blank");
+    }
+
+    assertThat(validationDetails.getDetails())
+        .extracting(ValidationDetails.Detail::getField)
+        .containsExactly("lines[0].locationId", "lines[1].locationId");
+    assertThat(validationDetails.getOmitted()).isEqualTo(3);
+  }
+
+  @Test
+  void groupsErrorsOnTheSameFieldWithTheSameMessage() {
+    ValidationDetails validationDetails = new ValidationDetails(0, true);
+    validationDetails.add("putAwayRequest", "lines[0].locationId", "", "must not be blank");
+    validationDetails.add("putAwayRequest", "lines[0].quantity", -1, "must be positive");
+    validationDetails.add("putAwayRequest", "lines[3].locationId", "", "must not be blank");
+    validationDetails.add("putAwayRequest", "lines[4].locationId", "A-", "must match A-\\d+");
+    validationDetails.add("putAwayRequest", "lines[7].locationId", null, "must not be blank");
+
+    List<ValidationDetails.Detail> details = List.copyOf(validationDetails.getDetails());
+    assertThat(details)
+        .extracting(ValidationDetails.Detail::getNormalizedField)
+        .containsExactly("lines[].locationId", "lines[].quantity", "lines[].locationId");
+    assertThat(details.get(0).getCount()).isEqualTo(3);
+    assertThat(details.get(0).getSubscripts()).containsExactly("[0]", "[3]", "[7]");
+    assertThat(details.get(1).getCount()).isEqualTo(1);
+    assertThat(details.get(1).getField()).isEqualTo("lines[0].quantity");
+    assertThat(details.get(1).getRejectedValue()).isEqualTo(-1);
+  }
+
+  @Test
+  void countsTheErrorsOfGroupsBeyondTheLimit() {
+    ValidationDetails validationDetails = new ValidationDetails(1, true);
+    validationDetails.add("putAwayRequest", "lines[0].locationId", "", "must not be blank");
+    validationDetails.add("putAwayRequest", "lines[0].quantity", -1, "must be positive");
+    validationDetails.add("putAwayRequest", "lines[1].locationId", "", "must not be blank");
+    validationDetails.add("putAwayRequest", "lines[1].quantity", -1, "must be positive");
+
+    assertThat(validationDetails.getDetails()).hasSize(1);
+    assertThat(validationDetails.getDetails().iterator().next().getSubscripts())
+        .containsExactly("[0]", "[1]");
+    assertThat(validationDetails.getOmitted()).isEqualTo(2);
+  }
+
+  @Test
+  void listsTheFirstSubscriptsOfAGroupAndCountsTheOthers() {
+    ValidationDetails validationDetails = new ValidationDetails(0, true);
+    int errors = ValidationDetails.MAX_SUBSCRIPTS + 5;
+    for (int i = 0; i < errors; i++) {
+      validationDetails.add(
+          "putAwayRequest", "lines[" + i + "].locationId", "", "must not be blank");
+    }
+
+    ValidationDetails.Detail detail = validationDetails.getDetails().iterator().next();
+    assertThat(detail.getCount()).isEqualTo(errors);
+    assertThat(detail.getSubscripts())
+        .hasSize(ValidationDetails.MAX_SUBSCRIPTS)
+        .startsWith("[0]", "[1]")
+        .endsWith("[" + (ValidationDetails.MAX_SUBSCRIPTS - 1) + "]");
+    assertThat(detail.getOmittedSubscripts()).isEqualTo(5);
+  }
+
+  @Test
+  void normalizesNestedSubscripts() {
+    assertThat(ValidationDetails.normalize("orders[1].lines[22].quantity"))
+        .isEqualTo("orders[].lines[].quantity");
+    assertThat(ValidationDetails.subscripts("orders[1].lines[22].quantity")).isEqualTo("[1][22]");
+    assertThat(ValidationDetails.normalize("locationId")).isEqualTo("locationId");
+    assertThat(ValidationDetails.subscripts("locationId")).isNull();
+  }
+}
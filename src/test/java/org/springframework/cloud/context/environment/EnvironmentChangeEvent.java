@@ -0,0 +1,35 @@
+/*
+ *  EnvironmentChangeEvent.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package org.springframework.cloud.context.environment;
+
+import java.util.Set;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Stand-in for the {@code EnvironmentChangeEvent} of Spring Cloud Context, with the same name and
+ * constructors, so that the tests can publish it without Spring Cloud on the test class path. To be
+ * deleted if Spring Cloud Context is ever added to the test dependencies.
+ */
+public class EnvironmentChangeEvent extends ApplicationEvent {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Set<String> keys;
+
+  public EnvironmentChangeEvent(final Set<String> keys) {
+    this(keys, keys);
+  }
+
+  public EnvironmentChangeEvent(final Object context, final Set<String> keys) {
+    super(context);
+    this.keys = keys;
+  }
+
+  public Set<String> getKeys() {
+    return keys;
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ *  ApplicationErrorMappingBenchmark.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Measures the status and log level lookups of {@link ApplicationErrorMapping} for tables of 8
+ * and 512 error codes, on a hit and on a miss, and compares the status lookup with a {@link
+ * ConcurrentHashMap} holding the same table. The contended benchmarks run the lookups on eight
+ * threads, where an immutable table should scale linearly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ApplicationErrorMappingBenchmark {
+
+  @Param({"8", "512"})
+  private int errorCodes;
+
+  private ApplicationErrorMapping mapping;
+  private Map<String, HttpStatus> concurrentTable;
+  private String hitCode;
+  private String missCode;
+
+  @Setup
+  public void setup() {
+    final ExceptionProperties.Application application = new ExceptionProperties.Application();
+    concurrentTable = new ConcurrentHashMap<>();
+    final HttpStatus[] statuses = {
+      HttpStatus.BAD_REQUEST,
+      HttpStatus.NOT_FOUND,
+      HttpStatus.CONFLICT,
+      HttpStatus.UNPROCESSABLE_ENTITY
+    };
+    for (int i = 0; i < errorCodes; i++) {
+      final HttpStatus status = statuses[i % statuses.length];
+      application.getStatuses().put("WMS-" + (1000 + i), status.value());
+      concurrentTable.put("WMS-" + (1000 + i), status);
+    }
+    application.getLogLevels().put("WARN", LogLevel.WARN);
+    application.getLogLevels().put("CRITICAL", LogLevel.ERROR);
+    mapping = new ApplicationErrorMapping(application);
+    // Built at run time, as error codes read from exceptions are not interned constants.
+    hitCode = new StringBuilder("WMS-").append(1000 + errorCodes / 2).toString();
+    missCode = new StringBuilder("WMS-").append(9999).toString();
+  }
+
+  @Benchmark
+  public HttpStatus statusHit() {
+    return mapping.getStatus(hitCode);
+  }
+
+  @Benchmark
+  public HttpStatus statusMiss() {
+    return mapping.getStatus(missCode);
+  }
+
+  @Benchmark
+  public HttpStatus concurrentHashMapHit() {
+    return concurrentTable.getOrDefault(hitCode, HttpStatus.BAD_REQUEST);
+  }
+
+  @Benchmark
+  public LogLevel logLevel() {
+    return mapping.getLogLevel("warn");
+  }
+
+  @Benchmark
+  @Threads(8)
+  public HttpStatus statusHitContended() {
+    return mapping.getStatus(hitCode);
+  }
+}
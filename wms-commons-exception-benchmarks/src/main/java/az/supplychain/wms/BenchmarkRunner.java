@@ -0,0 +1,47 @@
+/*
+ *  BenchmarkRunner.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks the way the committed baselines are produced: throughput and average time
+ * in microseconds, with the GC profiler reporting the allocation per operation
+ * ({@code gc.alloc.rate.norm}), and the results written as JSON.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar az.supplychain.wms.BenchmarkRunner [include] [result file]
+ * </pre>
+ *
+ * <p>The include regular expression defaults to every benchmark, and the result file to {@code
+ * results/baseline.json}.
+ */
+public final class BenchmarkRunner {
+
+  private BenchmarkRunner() {}
+
+  public static void main(final String[] args) throws RunnerException {
+    final String include = args.length > 0 ? args[0] : ".*";
+    final String result = args.length > 1 ? args[1] : "results/baseline.json";
+    final Options options =
+        new OptionsBuilder()
+            .include(include)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(result)
+            .build();
+    new Runner(options).run();
+  }
+}
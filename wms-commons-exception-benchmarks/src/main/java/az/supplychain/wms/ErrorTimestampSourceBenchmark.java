@@ -0,0 +1,61 @@
+/*
+ *  ErrorTimestampSourceBenchmark.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the cached {@link ErrorTimestampSource} with formatting {@code OffsetDateTime.now()}
+ * for every error, on a single thread and on eight concurrent threads sharing the cache.
+ *
+ * <p>Run with {@code -prof gc} to compare the allocation rate of both approaches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ErrorTimestampSourceBenchmark {
+
+  private final ErrorTimestampSource timestampSource = new ErrorTimestampSource();
+
+  @Benchmark
+  public String formatPerCall() {
+    return OffsetDateTime.now(ZoneOffset.UTC).format(RestApiExceptionHandler.dateFormatter);
+  }
+
+  @Benchmark
+  public String cachedSource() {
+    return timestampSource.now();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public String formatPerCallContended() {
+    return OffsetDateTime.now(ZoneOffset.UTC).format(RestApiExceptionHandler.dateFormatter);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public String cachedSourceContended() {
+    return timestampSource.now();
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ *  ExceptionDispatchBenchmark.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms;
+
+import az.supplychain.wms.exceptions.EntityNotFoundException;
+import az.supplychain.wms.response.ErrorResponseWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExceptionResolver;
+
+/**
+ * Compares the resolution of an exception by the {@code @ExceptionHandler} dispatch of Spring MVC,
+ * an {@link ExceptionHandlerExceptionResolver} holding the {@link RestApiExceptionHandler} as its
+ * controller advice, with the {@link DirectExceptionResolver} calling the same handler.
+ *
+ * <p>Both resolvers answer the same exception into a fresh mock response, including the
+ * serialization of the body, so the difference is the cost of the dispatch: the handler lookup,
+ * the argument resolution, the reflective call and the content negotiation of Spring MVC. The
+ * exceptions cover a handler of the library, a subclass resolved to the handler of its superclass,
+ * and a Spring MVC exception reaching its handler through {@code handleException}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ExceptionDispatchBenchmark {
+
+  private static final String CORRELATION_ID = "3f0c8a52-4f1e-4b8e-9d5a";
+
+  @Param({"entityNotFound", "duplicateKey", "missingParameter"})
+  private String exceptionKind;
+
+  private StaticApplicationContext context;
+  private ExceptionHandlerExceptionResolver springResolver;
+  private DirectExceptionResolver directResolver;
+  private MockHttpServletRequest servletRequest;
+  private Exception exception;
+
+  @Setup
+  public void setup() {
+    final RestApiExceptionHandler handler = new RestApiExceptionHandler();
+    context = new StaticApplicationContext();
+    context.getBeanFactory().registerSingleton("restApiExceptionHandler", handler);
+    context.refresh();
+    springResolver = new ExceptionHandlerExceptionResolver();
+    springResolver.setApplicationContext(context);
+    springResolver.setMessageConverters(List.of(new MappingJackson2HttpMessageConverter()));
+    springResolver.afterPropertiesSet();
+    directResolver = new DirectExceptionResolver(handler, new ErrorResponseWriter());
+
+    servletRequest = new MockHttpServletRequest("GET", "/api/v1/put-away/tasks/17");
+    servletRequest.addHeader(RestApiExceptionHandler.CORRELATION_ID_HEADER, CORRELATION_ID);
+    exception =
+        switch (exceptionKind) {
+          case "entityNotFound" ->
+              new EntityNotFoundException(
+                  ExceptionDispatchBenchmark.class, "facilityId", "DC-42", "taskId", "17");
+          case "duplicateKey" ->
+              new DuplicateKeyException(
+                  "could not execute statement; SQL [n/a]; constraint [uk_location_sku]");
+          case "missingParameter" ->
+              new MissingServletRequestParameterException("facilityId", "String");
+          default -> throw new IllegalArgumentException(exceptionKind);
+        };
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public ModelAndView springDispatch() {
+    return springResolver.resolveException(
+        servletRequest, new MockHttpServletResponse(), null, exception);
+  }
+
+  @Benchmark
+  public ModelAndView directDispatch() {
+    return directResolver.resolveException(
+        servletRequest, new MockHttpServletResponse(), null, exception);
+  }
+}
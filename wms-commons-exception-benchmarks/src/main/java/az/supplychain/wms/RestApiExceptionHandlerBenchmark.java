@@ -0,0 +1,245 @@
+/*
+ *  RestApiExceptionHandlerBenchmark.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms;
+
+import az.supplychain.wms.exceptions.EntityNotFoundException;
+import jakarta.servlet.ServletException;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.NoHandlerFoundException;
+
+/**
+ * Calls every {@link RestApiExceptionHandler} path directly, with realistic exceptions, including
+ * a long Jackson parse error and the security entry points. Validation errors listing many fields
+ * are covered by {@link ValidationErrorBenchmark}.
+ *
+ * <p>The handler methods only build the {@code ResponseEntity}; the security entry points also
+ * serialize the response, into a reused mock response. Run through {@link BenchmarkRunner} to
+ * report throughput, average time and allocation per operation.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class RestApiExceptionHandlerBenchmark {
+
+  private static final String CORRELATION_ID = "3f0c8a52-4f1e-4b8e-9d5a";
+
+  private RestApiExceptionHandler handler;
+  private ServletWebRequest webRequest;
+  private MockHttpServletRequest servletRequest;
+  private MockHttpServletResponse servletResponse;
+
+  private MissingServletRequestParameterException missingParameter;
+  private HttpMediaTypeNotSupportedException mediaTypeNotSupported;
+  private jakarta.validation.ValidationException validation;
+  private ConstraintViolationException constraintViolation;
+  private EntityNotFoundException entityNotFound;
+  private jakarta.persistence.EntityNotFoundException jpaEntityNotFound;
+  private HttpMessageNotReadableException jacksonParseError;
+  private HttpMessageNotWritableException notWritable;
+  private NoHandlerFoundException noHandlerFound;
+  private DataIntegrityViolationException dataIntegrityViolation;
+  private MethodArgumentTypeMismatchException typeMismatch;
+  private BadCredentialsException badCredentials;
+  private AccessDeniedException accessDenied;
+
+  @Setup
+  public void setup() throws Exception {
+    handler = new RestApiExceptionHandler();
+    servletRequest = new MockHttpServletRequest("POST", "/api/v1/put-away/tasks");
+    servletRequest.addHeader(RestApiExceptionHandler.CORRELATION_ID_HEADER, CORRELATION_ID);
+    webRequest = new ServletWebRequest(servletRequest);
+    servletResponse = new MockHttpServletResponse();
+
+    missingParameter = new MissingServletRequestParameterException("facilityId", "String");
+    mediaTypeNotSupported =
+        new HttpMediaTypeNotSupportedException(
+            MediaType.APPLICATION_XML, List.of(MediaType.APPLICATION_JSON));
+    validation = new jakarta.validation.ValidationException("HV000028: Unexpected exception");
+
+    final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    final PutAwayLine line = new PutAwayLine();
+    line.locationId = "";
+    line.quantity = -4;
+    constraintViolation =
+        new ConstraintViolationException("Payload validation failed", validator.validate(line));
+
+    entityNotFound =
+        new EntityNotFoundException(PutAwayLine.class, "facilityId", "DC-42", "taskId", "17");
+    jpaEntityNotFound =
+        new jakarta.persistence.EntityNotFoundException(
+            "Unable to find az.supplychain.wms.PutAwayTask with id 17");
+    jacksonParseError =
+        new HttpMessageNotReadableException(
+            jacksonParseErrorMessage(), new MockHttpInputMessage(new byte[0]));
+    notWritable =
+        new HttpMessageNotWritableException(
+            "Could not write JSON: Infinite recursion (StackOverflowError)");
+    noHandlerFound =
+        new NoHandlerFoundException("GET", "/api/v1/put-away/taks/17", HttpHeaders.EMPTY);
+    dataIntegrityViolation =
+        new DataIntegrityViolationException(
+            "could not execute statement; SQL [n/a]; constraint [uk_location_sku]");
+    typeMismatch =
+        new MethodArgumentTypeMismatchException(
+            "abc",
+            Long.class,
+            "taskId",
+            new MethodParameter(
+                RestApiExceptionHandlerBenchmark.class.getDeclaredMethod("findTask", Long.class),
+                0),
+            new NumberFormatException("For input string: \"abc\""));
+    badCredentials = new BadCredentialsException("Bad credentials");
+    accessDenied = new AccessDeniedException("Access is denied");
+  }
+
+  /** Builds a parse error embedding part of the payload, as Jackson reports it. */
+  private static String jacksonParseErrorMessage() {
+    final StringBuilder builder =
+        new StringBuilder(
+            "JSON parse error: Cannot deserialize value of type `java.lang.Integer` from String"
+                + " \"four\": not a valid `java.lang.Integer` value");
+    for (int i = 0; i < 200; i++) {
+      builder
+          .append("\n at [Source: (org.springframework.util.StreamUtils$NonClosingInputStream);")
+          .append(" line: ")
+          .append(i)
+          .append(", column: 17] (through reference chain: PutAwayRequest[\"lines\"]->")
+          .append("java.util.ArrayList[")
+          .append(i)
+          .append("]->PutAwayLine[\"quantity\"])");
+    }
+    return builder.toString();
+  }
+
+  @Benchmark
+  public ResponseEntity<Object> missingServletRequestParameter() {
+    return handler.handleMissingServletRequestParameter(
+        missingParameter, HttpHeaders.EMPTY, HttpStatus.BAD_REQUEST, webRequest);
+  }
+
+  @Benchmark
+  public ResponseEntity<Object> httpMediaTypeNotSupported() {
+    return handler.handleHttpMediaTypeNotSupported(
+        mediaTypeNotSupported, HttpHeaders.EMPTY, HttpStatus.UNSUPPORTED_MEDIA_TYPE, webRequest);
+  }
+
+  @Benchmark
+  public ResponseEntity<Object> validationException() {
+    return handler.handleValidationException(validation, webRequest);
+  }
+
+  @Benchmark
+  public ResponseEntity<Object> constraintViolation() {
+    return handler.handleConstraintViolation(constraintViolation, webRequest);
+  }
+
+  @Benchmark
+  public ResponseEntity<Object> entityNotFound() {
+    return handler.handleEntityNotFound(entityNotFound, webRequest);
+  }
+
+  @Benchmark
+  public ResponseEntity<Object> jpaEntityNotFound() {
+    return handler.handleEntityNotFound(jpaEntityNotFound, webRequest);
+  }
+
+  @Benchmark
+  public ResponseEntity<Object> httpMessageNotReadableJackson() {
+    return handler.handleHttpMessageNotReadable(
+        jacksonParseError, HttpHeaders.EMPTY, HttpStatus.BAD_REQUEST, webRequest);
+  }
+
+  @Benchmark
+  public ResponseEntity<Object> httpMessageNotWritable() {
+    return handler.handleHttpMessageNotWritable(
+        notWritable, HttpHeaders.EMPTY, HttpStatus.INTERNAL_SERVER_ERROR, webRequest);
+  }
+
+  @Benchmark
+  public ResponseEntity<Object> noHandlerFound() {
+    return handler.handleNoHandlerFoundException(
+        noHandlerFound, HttpHeaders.EMPTY, HttpStatus.NOT_FOUND, webRequest);
+  }
+
+  @Benchmark
+  public ResponseEntity<Object> dataIntegrityViolation() {
+    return handler.handleDataIntegrityViolation(dataIntegrityViolation, webRequest);
+  }
+
+  @Benchmark
+  public ResponseEntity<Object> methodArgumentTypeMismatch() {
+    return handler.handleMethodArgumentTypeMismatch(typeMismatch, webRequest);
+  }
+
+  @Benchmark
+  public MockHttpServletResponse commence() throws IOException, ServletException {
+    resetResponse();
+    handler.commence(servletRequest, servletResponse, badCredentials);
+    return servletResponse;
+  }
+
+  @Benchmark
+  public MockHttpServletResponse accessDenied() throws IOException, ServletException {
+    resetResponse();
+    handler.handle(servletRequest, servletResponse, accessDenied);
+    return servletResponse;
+  }
+
+  private void resetResponse() {
+    servletResponse.setCommitted(false);
+    servletResponse.reset();
+  }
+
+  @SuppressWarnings("unused")
+  private void findTask(final Long taskId) {}
+
+  /** A put-away line violating two constraints. */
+  static class PutAwayLine {
+
+    @NotBlank String locationId;
+
+    @Positive int quantity;
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ *  ValidationErrorBenchmark.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms;
+
+import az.supplychain.wms.logging.StackTraceLogLimiter;
+import az.supplychain.wms.response.ErrorResponseWriter;
+import az.supplychain.wms.sanitizer.SensitiveDataSanitizer;
+import az.supplychain.wms.telemetry.ErrorCounters;
+import az.supplychain.wms.telemetry.ErrorFingerprints;
+import az.supplychain.wms.telemetry.ErrorHeavyHitters;
+import az.supplychain.wms.telemetry.ErrorStormDetector;
+import az.supplychain.wms.telemetry.HandlerLatencies;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Measures the handling and serialization of a validation error listing many invalid fields, with
+ * and without compact details.
+ *
+ * <p>Run with {@code -prof gc} to compare the allocation rate of both modes. The size of the
+ * serialized response of each configuration is printed once per fork.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ValidationErrorBenchmark {
+
+  @Param({"1", "50", "5000"})
+  private int fieldErrors;
+
+  @Param({"false", "true"})
+  private boolean compactDetails;
+
+  private RestApiExceptionHandler handler;
+  private ObjectWriter objectWriter;
+  private MethodArgumentNotValidException exception;
+  private ServletWebRequest webRequest;
+
+  @Setup
+  public void setup() throws Exception {
+    final ExceptionProperties properties = new ExceptionProperties();
+    properties.getRendering().setCompactDetails(compactDetails);
+    handler =
+        new RestApiExceptionHandler(
+            new SensitiveDataSanitizer(),
+            new ErrorResponseWriter(),
+            new ErrorTimestampSource(),
+            new ErrorCounters(),
+            new HandlerLatencies(),
+            new ErrorFingerprints(),
+            new ErrorHeavyHitters(),
+            new ErrorStormDetector(),
+            new StackTraceLogLimiter(),
+            properties);
+    objectWriter = new ObjectMapper().writer();
+
+    final BeanPropertyBindingResult bindingResult =
+        new BeanPropertyBindingResult(new Object(), "putAwayRequest");
+    for (int i = 0; i < fieldErrors; i++) {
+      bindingResult.addError(
+          new FieldError(
+              "putAwayRequest",
+              "lines[" + i + "].locationId",
+              "",
+              false,
+              null,
+              null,
+              "must not be blank"));
+    }
+    exception =
+        new MethodArgumentNotValidException(
+            new MethodParameter(
+                ValidationErrorBenchmark.class.getDeclaredMethod("putAway", Object.class), 0),
+            bindingResult);
+
+    final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/put-away");
+    request.addHeader(RestApiExceptionHandler.CORRELATION_ID_HEADER, "3f0c8a52-4f1e-4b8e-9d5a");
+    webRequest = new ServletWebRequest(request);
+
+    System.out.printf(
+        "%nResponse size with %d field errors, compactDetails=%s: %d bytes%n",
+        fieldErrors, compactDetails, handleAndSerialize().length);
+  }
+
+  @Benchmark
+  public byte[] handleAndSerialize() throws JsonProcessingException {
+    final ResponseEntity<Object> response =
+        handler.handleMethodArgumentNotValid(
+            exception, HttpHeaders.EMPTY, HttpStatus.BAD_REQUEST, webRequest);
+    return objectWriter.writeValueAsBytes(response.getBody());
+  }
+
+  @SuppressWarnings("unused")
+  private void putAway(final Object request) {}
+}
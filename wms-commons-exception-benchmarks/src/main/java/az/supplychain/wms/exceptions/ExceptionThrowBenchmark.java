@@ -0,0 +1,92 @@
+/*
+ *  ExceptionThrowBenchmark.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.exceptions;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.CompilerControl;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures throwing and catching the library's exceptions with and without a stack trace, from
+ * stacks of 20 and 200 frames, the latter being typical of a query handler called through Spring
+ * MVC, security filters and Hibernate.
+ *
+ * <p>The frames are built by a recursion the JIT is not allowed to inline, so that filling in the
+ * stack trace walks all of them. Run with {@code -prof gc} to compare the allocation of the stack
+ * traces.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ExceptionThrowBenchmark {
+
+  @Param({"20", "200"})
+  private int depth;
+
+  @Param({"CAPTURE", "OMIT"})
+  private StackTracePolicy stackTracePolicy;
+
+  @Benchmark
+  public Object entityNotFound() {
+    try {
+      return throwAt(depth, 0);
+    } catch (EntityNotFoundException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object applicationException() {
+    try {
+      return throwAt(depth, 1);
+    } catch (ApplicationException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object validationFailed() {
+    try {
+      return throwAt(depth, 2);
+    } catch (ValidationFailedException e) {
+      return e;
+    }
+  }
+
+  @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+  private Object throwAt(final int remaining, final int kind) throws ValidationFailedException {
+    if (remaining > 0) {
+      return throwAt(remaining - 1, kind);
+    }
+    switch (kind) {
+      case 0:
+        throw new EntityNotFoundException(
+            stackTracePolicy, Sku.class, "sku", "100234", "distributionCenter", "DC-42");
+      case 1:
+        throw new ApplicationException(
+            stackTracePolicy, "WMS-404", "SKU 100234 is not in DC-42", "WARN", null);
+      default:
+        throw new ValidationFailedException(stackTracePolicy, "Quantity must be positive");
+    }
+  }
+
+  /** The entity looked up. */
+  private static final class Sku {}
+}
@@ -0,0 +1,348 @@
+/*
+ *  ErrorPathLoadHarness.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.load;
+
+import az.supplychain.wms.ExceptionConfig;
+import az.supplychain.wms.RestApiExceptionHandler;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.annotation.Import;
+
+/**
+ * End-to-end load harness of the error paths.
+ *
+ * <p>The harness starts the {@code SomeController} of the library's tests on embedded Tomcat, on
+ * a random localhost port, with the exception handling library and without Spring Security. Many
+ * client threads then call every {@code /tests/exception/*} endpoint in turn, through keep-alive
+ * HTTP/1.1 connections, so that each measured request goes through Tomcat, the {@code
+ * DispatcherServlet}, the {@code ExceptionHandlerExceptionResolver}, the handler and the message
+ * converters.
+ *
+ * <p>After a warm-up, the latency of every request is recorded into an HdrHistogram per endpoint.
+ * The harness prints, for every endpoint and overall, the throughput of error responses and the
+ * p50, p99 and p99.9 latencies, followed by the overall percentile distribution, and writes the
+ * distribution of every endpoint as an {@code .hgrm} file.
+ *
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass=az.supplychain.wms.load.ErrorPathLoadHarness \
+ *     -Dexec.args="[threads=32] [warm-up seconds=10] [seconds=30] [output directory=results/load]"
+ * </pre>
+ *
+ * <p>The harness runs from the module's class path rather than from the shaded benchmark jar,
+ * whose merged resources do not preserve Spring Boot's auto-configuration metadata.
+ *
+ * <p>The clients are closed-loop: each thread sends its next request when it received the
+ * previous response. The latencies are therefore the service times under the resulting load, not
+ * the response times at a fixed arrival rate.
+ */
+public final class ErrorPathLoadHarness {
+
+  private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.SECONDS.toNanos(30);
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+  private static final String VALID_BODY = "{\"field1\":\"person1\",\"field2\":\"ABC\"}";
+
+  /** The endpoints of {@code SomeController}, each answering with an error. */
+  private static final List<Endpoint> ENDPOINTS =
+      List.of(
+          Endpoint.get("missing-parameters", "/tests/exception/missing-parameters", 400),
+          Endpoint.post(
+              "invalid-media-type",
+              "/tests/exception/invalid-media-type-for-json",
+              "application/xml",
+              "<field1>ABC</field1>",
+              415),
+          Endpoint.post(
+              "payload-constraint-violated",
+              "/tests/exception/payload-constraint-violated",
+              "application/json",
+              "{\"field1\":\"person1\",\"field2\":\"\"}",
+              400),
+          Endpoint.post(
+              "method-args-invalid",
+              "/tests/exception/method-args-invalid",
+              "application/json",
+              "{\"field2\":\"ABC\"}",
+              400),
+          Endpoint.post(
+              "custom-entity-not-found",
+              "/tests/exception/custom-entity-not-found",
+              "application/json",
+              VALID_BODY,
+              404),
+          Endpoint.post(
+              "entities-not-found",
+              "/tests/exception/entities-not-found",
+              "application/json",
+              VALID_BODY,
+              404),
+          Endpoint.post(
+              "application-exception",
+              "/tests/exception/application-exception",
+              "application/json",
+              VALID_BODY,
+              400),
+          Endpoint.post(
+              "entity-not-found",
+              "/tests/exception/entity-not-found",
+              "application/json",
+              VALID_BODY,
+              404),
+          Endpoint.get("type-mismatch", "/tests/exception/type-mismatch?param1=abc", 400),
+          Endpoint.post(
+              "malformed-json",
+              "/tests/exception/malformed-json",
+              "application/json",
+              "{\"field1\":",
+              400),
+          Endpoint.get("json-output-error", "/tests/exception/json-output-error", 500),
+          Endpoint.post(
+              "data-integrity-violation",
+              "/tests/exception/data-integrity-violation",
+              "application/json",
+              "",
+              409),
+          Endpoint.get("unexpected-exception", "/tests/exception/unexpected-exception", 500));
+
+  private ErrorPathLoadHarness() {}
+
+  public static void main(final String[] args) throws Exception {
+    final int threads = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+    final int warmUpSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+    final int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+    final Path outputDirectory = Path.of(args.length > 3 ? args[3] : "results/load");
+
+    final SpringApplication application = new SpringApplication(LoadHarnessApplication.class);
+    application.setWebApplicationType(WebApplicationType.SERVLET);
+    application.setDefaultProperties(
+        Map.of("server.port", "0", "server.address", "127.0.0.1"));
+    try (ServletWebServerApplicationContext context =
+        (ServletWebServerApplicationContext) application.run()) {
+      final String baseUrl = "http://127.0.0.1:" + context.getWebServer().getPort();
+      final HttpClient client =
+          HttpClient.newBuilder()
+              .version(HttpClient.Version.HTTP_1_1)
+              .connectTimeout(Duration.ofSeconds(5))
+              .build();
+
+      System.out.printf("Warming up for %d s with %d threads...%n", warmUpSeconds, threads);
+      run(client, baseUrl, threads, TimeUnit.SECONDS.toNanos(warmUpSeconds));
+      System.out.printf("Measuring for %d s with %d threads...%n", seconds, threads);
+      final Result result = run(client, baseUrl, threads, TimeUnit.SECONDS.toNanos(seconds));
+      report(result, seconds, outputDirectory, System.out);
+    }
+  }
+
+  private static Result run(
+      final HttpClient client, final String baseUrl, final int threads, final long durationNanos)
+      throws InterruptedException {
+    final List<HttpRequest> requests = new ArrayList<>();
+    for (Endpoint endpoint : ENDPOINTS) {
+      requests.add(endpoint.toRequest(baseUrl));
+    }
+    final Histogram[][] histograms = new Histogram[threads][ENDPOINTS.size()];
+    final LongAdder unexpected = new LongAdder();
+    final LongAdder failures = new LongAdder();
+    final CountDownLatch start = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(threads);
+    final long[] deadline = new long[1];
+
+    for (int t = 0; t < threads; t++) {
+      final Histogram[] threadHistograms = histograms[t];
+      for (int e = 0; e < threadHistograms.length; e++) {
+        threadHistograms[e] = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+      }
+      final int offset = t;
+      final Thread clientThread =
+          new Thread(
+              () -> {
+                try {
+                  start.await();
+                  int next = offset % requests.size();
+                  while (System.nanoTime() < deadline[0]) {
+                    final Endpoint endpoint = ENDPOINTS.get(next);
+                    final long begin = System.nanoTime();
+                    try {
+                      final HttpResponse<byte[]> response =
+                          client.send(requests.get(next), HttpResponse.BodyHandlers.ofByteArray());
+                      threadHistograms[next].recordValue(
+                          Math.min(System.nanoTime() - begin, HIGHEST_TRACKABLE_NANOS));
+                      if (response.statusCode() != endpoint.expectedStatus) {
+                        unexpected.increment();
+                      }
+                    } catch (IOException e) {
+                      failures.increment();
+                    }
+                    next = (next + 1) % requests.size();
+                  }
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                } finally {
+                  done.countDown();
+                }
+              },
+              "load-client-" + t);
+      clientThread.setDaemon(true);
+      clientThread.start();
+    }
+    deadline[0] = System.nanoTime() + durationNanos;
+    start.countDown();
+    done.await();
+
+    final List<Histogram> merged = new ArrayList<>();
+    for (int e = 0; e < ENDPOINTS.size(); e++) {
+      final Histogram histogram = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+      for (Histogram[] threadHistograms : histograms) {
+        histogram.add(threadHistograms[e]);
+      }
+      merged.add(histogram);
+    }
+    return new Result(merged, unexpected.sum(), failures.sum());
+  }
+
+  private static void report(
+      final Result result, final int seconds, final Path outputDirectory, final PrintStream out)
+      throws IOException {
+    final Histogram total = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+    out.printf(
+        "%n%-28s %10s %10s %10s %10s %10s %10s%n",
+        "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+    Files.createDirectories(outputDirectory);
+    for (int e = 0; e < ENDPOINTS.size(); e++) {
+      final Histogram histogram = result.histograms.get(e);
+      total.add(histogram);
+      printRow(ENDPOINTS.get(e).name, histogram, seconds, out);
+      try (PrintStream file =
+          new PrintStream(
+              Files.newOutputStream(outputDirectory.resolve(ENDPOINTS.get(e).name + ".hgrm")))) {
+        histogram.outputPercentileDistribution(file, NANOS_PER_MILLI);
+      }
+    }
+    printRow("all", total, seconds, out);
+    out.printf(
+        "%nUnexpected statuses: %d, I/O failures: %d%n", result.unexpected, result.failures);
+    out.printf("%nOverall latency distribution (ms):%n");
+    total.outputPercentileDistribution(out, NANOS_PER_MILLI);
+  }
+
+  private static void printRow(
+      final String name, final Histogram histogram, final int seconds, final PrintStream out) {
+    out.printf(
+        "%-28s %10d %10.0f %10.3f %10.3f %10.3f %10.3f%n",
+        name,
+        histogram.getTotalCount(),
+        histogram.getTotalCount() / (double) seconds,
+        histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+        histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+        histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+        histogram.getMaxValue() / NANOS_PER_MILLI);
+  }
+
+  /**
+   * Application serving {@code SomeController} with the exception handling library.
+   *
+   * <p>{@code SomeController} is picked up by the component scan of {@link ExceptionConfig}, since
+   * it lives in a sub-package of the library. Spring Security is left out so that the requests
+   * reach the controller.
+   */
+  @SpringBootApplication(
+      exclude = {
+        SecurityAutoConfiguration.class,
+        SecurityFilterAutoConfiguration.class,
+        UserDetailsServiceAutoConfiguration.class
+      })
+  @Import(ExceptionConfig.class)
+  static class LoadHarnessApplication {}
+
+  /** An endpoint of {@code SomeController} and the request sent to it. */
+  private static final class Endpoint {
+
+    private final String name;
+    private final String method;
+    private final String path;
+    private final String contentType;
+    private final String body;
+    private final int expectedStatus;
+
+    private Endpoint(
+        final String name,
+        final String method,
+        final String path,
+        final String contentType,
+        final String body,
+        final int expectedStatus) {
+      this.name = name;
+      this.method = method;
+      this.path = path;
+      this.contentType = contentType;
+      this.body = body;
+      this.expectedStatus = expectedStatus;
+    }
+
+    private static Endpoint get(final String name, final String path, final int expectedStatus) {
+      return new Endpoint(name, "GET", path, null, null, expectedStatus);
+    }
+
+    private static Endpoint post(
+        final String name,
+        final String path,
+        final String contentType,
+        final String body,
+        final int expectedStatus) {
+      return new Endpoint(name, "POST", path, contentType, body, expectedStatus);
+    }
+
+    private HttpRequest toRequest(final String baseUrl) {
+      final HttpRequest.Builder builder =
+          HttpRequest.newBuilder(URI.create(baseUrl + path))
+              .timeout(Duration.ofSeconds(10))
+              .header(RestApiExceptionHandler.CORRELATION_ID_HEADER, "load-" + name);
+      if (body == null) {
+        return builder.GET().build();
+      }
+      return builder
+          .header("Content-Type", contentType)
+          .method(method, HttpRequest.BodyPublishers.ofString(body))
+          .build();
+    }
+  }
+
+  /** The merged latencies of a run, per endpoint. */
+  private static final class Result {
+
+    private final List<Histogram> histograms;
+    private final long unexpected;
+    private final long failures;
+
+    private Result(final List<Histogram> histograms, final long unexpected, final long failures) {
+      this.histograms = histograms;
+      this.unexpected = unexpected;
+      this.failures = failures;
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ *  MessageTemplateBenchmark.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.message;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link MessageTemplate} with the {@code String.format} calls it replaces, for the
+ * message of each handler that used to format its message: no handler found, argument type
+ * mismatch and invalid field.
+ *
+ * <p>Run with {@code -prof gc} to compare the allocation rate of both approaches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MessageTemplateBenchmark {
+
+  @Param({"noHandlerFound", "typeMismatch", "invalidField"})
+  private String handler;
+
+  private String format;
+  private MessageTemplate template;
+  private Object[] args;
+
+  @Setup
+  public void setup() {
+    switch (handler) {
+      case "noHandlerFound":
+        format = "Could not find the %s method for URL %s: %s";
+        args =
+            new Object[] {
+              "GET", "/api/v1/put-away/tasks/42", "No endpoint GET /api/v1/put-away/tasks/42."
+            };
+        break;
+      case "typeMismatch":
+        format = "The parameter '%s' of value '%s' could not be converted to type '%s': %s";
+        args =
+            new Object[] {
+              "taskId",
+              "abc",
+              "Long",
+              "Failed to convert value of type 'java.lang.String' to required type 'java.lang.Long'"
+            };
+        break;
+      default:
+        format = "Invalid value %s on field %s for object %s: %s.";
+        args = new Object[] {"", "lines[17].locationId", "putAwayRequest", "must not be blank"};
+        break;
+    }
+    template = MessageTemplate.compile(format.replace("%s", "{}"));
+  }
+
+  @Benchmark
+  public String stringFormat() {
+    return String.format(format, args[0], args[1], args[2], args.length > 3 ? args[3] : null);
+  }
+
+  @Benchmark
+  public String messageTemplate() {
+    return args.length > 3
+        ? template.format(args[0], args[1], args[2], args[3])
+        : template.format(args[0], args[1], args[2]);
+  }
+}
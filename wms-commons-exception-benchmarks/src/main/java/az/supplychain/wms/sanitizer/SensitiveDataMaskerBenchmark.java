@@ -0,0 +1,90 @@
+/*
+ *  SensitiveDataMaskerBenchmark.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.sanitizer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the compiled {@link SensitiveDataMasker} with the per-call {@code replaceAll} based
+ * sanitization it replaces.
+ *
+ * <p>Run with {@code -prof gc} to compare the allocation rate of both approaches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SensitiveDataMaskerBenchmark {
+
+  private static final String[] LEGACY_PATTERNS = {
+    ".*password.*", ".*secret.*", ".*token.*", ".*connection string.*",
+  };
+
+  @Param({"clean", "sensitive", "jackson"})
+  private String message;
+
+  private String errorMessage;
+  private SensitiveDataMasker masker;
+
+  @Setup
+  public void setup() {
+    masker = SensitiveDataMasker.of(SensitiveDataMasker.DEFAULT_KEYWORDS);
+    switch (message) {
+      case "clean":
+        errorMessage =
+            "Required request parameter 'param1' for method parameter type String is not present";
+        break;
+      case "sensitive":
+        errorMessage =
+            "Could not open JDBC connection: password authentication failed for user wms";
+        break;
+      default:
+        StringBuilder builder =
+            new StringBuilder("JSON parse error: Unexpected character ('f' (code 102))");
+        for (int i = 0; i < 40; i++) {
+          builder
+              .append("\n at [Source: (PushbackInputStream); line: ")
+              .append(i)
+              .append(", column: 17] (through reference chain: ReceiptRequest[\"lines\"]")
+              .append("->ArrayList[")
+              .append(i)
+              .append("])");
+        }
+        builder.append("\n request header token=eyJhbGciOiJIUzI1NiJ9");
+        errorMessage = builder.toString();
+        break;
+    }
+  }
+
+  @Benchmark
+  public String legacyReplaceAll() {
+    String sanitized = errorMessage;
+    for (String pattern : LEGACY_PATTERNS) {
+      sanitized = sanitized.replaceAll(pattern, SensitiveDataMasker.MASK);
+    }
+    return sanitized;
+  }
+
+  @Benchmark
+  public String compiledMasker() {
+    return masker.mask(errorMessage);
+  }
+}
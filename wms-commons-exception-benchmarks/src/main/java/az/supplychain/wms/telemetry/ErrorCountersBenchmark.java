@@ -0,0 +1,77 @@
+/*
+ *  ErrorCountersBenchmark.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.telemetry;
+
+import az.supplychain.wms.exceptions.EntityNotFoundException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cost of counting a handled error with {@link ErrorCounters}, on a single thread
+ * and on eight threads counting the same exception class, handler and status, the worst case for
+ * contention.
+ *
+ * <p>At 20k errors per second a handler has 50 microseconds per error on a single core; the
+ * increment is expected to stay in the tens of nanoseconds even when contended, three orders of
+ * magnitude below that budget. The {@code baseline} benchmarks consume the same arguments without
+ * counting, so that the difference is the cost of the counter alone. {@code
+ * RestApiExceptionHandlerBenchmark} measures the handlers with counting included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ErrorCountersBenchmark {
+
+  private static final String HANDLER = "handleEntityNotFound";
+
+  private ErrorCounters errorCounters;
+
+  @Setup
+  public void setup() {
+    errorCounters = new ErrorCounters();
+    errorCounters.increment(EntityNotFoundException.class, HANDLER, 404);
+  }
+
+  @Benchmark
+  public void baseline(final Blackhole blackhole) {
+    blackhole.consume(EntityNotFoundException.class);
+    blackhole.consume(HANDLER);
+    blackhole.consume(404);
+  }
+
+  @Benchmark
+  public void increment() {
+    errorCounters.increment(EntityNotFoundException.class, HANDLER, 404);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void baselineContended(final Blackhole blackhole) {
+    baseline(blackhole);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void incrementContended() {
+    errorCounters.increment(EntityNotFoundException.class, HANDLER, 404);
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ *  RejectedValueRendererBenchmark.java
+ *  Copyright 2024 AutoZone, Inc.
+ *  Content is confidential to and proprietary information of AutoZone, Inc.,
+ *  its subsidiaries and affiliates.
+ */
+package az.supplychain.wms.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link RejectedValueRenderer} with the unbounded {@code toString} it replaces, for
+ * a long string, a large collection and an aggregate DTO.
+ *
+ * <p>Run with {@code -prof gc} to compare the allocation rate of both approaches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class RejectedValueRendererBenchmark {
+
+  @Param({"string", "collection", "aggregate"})
+  private String value;
+
+  private Object rejectedValue;
+  private RejectedValueRenderer renderer;
+
+  @Setup
+  public void setup() {
+    renderer = new RejectedValueRenderer();
+    final List<Line> lines = new ArrayList<>();
+    for (int i = 0; i < 2_000; i++) {
+      lines.add(new Line(i, "SKU-" + i, "A-" + (i % 40) + "-" + (i % 7), i % 12));
+    }
+    switch (value) {
+      case "string":
+        rejectedValue = "X".repeat(64 * 1024);
+        break;
+      case "collection":
+        rejectedValue = lines.stream().map(Line::sku).toList();
+        break;
+      default:
+        rejectedValue = new PutAway("PA-1", "DC-42", lines);
+        break;
+    }
+  }
+
+  @Benchmark
+  public String unboundedToString() {
+    return String.valueOf(rejectedValue);
+  }
+
+  @Benchmark
+  public String boundedRenderer() {
+    return renderer.render(rejectedValue);
+  }
+
+  /** An aggregate whose generated {@code toString} walks all of its lines. */
+  record PutAway(String id, String facility, List<Line> lines) {}
+
+  record Line(int number, String sku, String locationId, int quantity) {}
+}